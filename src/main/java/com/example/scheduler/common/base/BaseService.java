@@ -3,6 +3,7 @@ package com.example.scheduler.common.base;
 import com.example.scheduler.common.exception.NotFoundException;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.security.CurrentUserProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -18,21 +19,18 @@ public abstract class BaseService {
     @Autowired
     protected UserRepository userRepository;
 
+    @Autowired
+    protected CurrentUserProvider currentUserProvider;
+
     /**
      * 현재 인증된 사용자 조회
-     * SecurityContext에서 사용자 정보를 추출
+     * SecurityContext에서 사용자 정보를 추출 (요청 내에서는 한 번만 DB 조회)
      *
      * @return 현재 로그인한 User 엔티티
      * @throws NotFoundException 사용자를 찾을 수 없는 경우
      */
     protected User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) {
-            throw NotFoundException.user();
-        }
-
-        String username = auth.getName();
-        return userRepository.findByUsername(username)
+        return currentUserProvider.find()
                 .orElseThrow(NotFoundException::user);
     }
 
@@ -42,7 +40,11 @@ public abstract class BaseService {
      * @return 현재 로그인한 사용자의 ID
      */
     protected Long getCurrentUserId() {
-        return getCurrentUser().getId();
+        Long id = currentUserProvider.currentUserId();
+        if (id == null) {
+            throw NotFoundException.user();
+        }
+        return id;
     }
 
     /**
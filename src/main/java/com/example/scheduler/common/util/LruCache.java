@@ -0,0 +1,81 @@
+package com.example.scheduler.common.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * 크기 상한이 있는 메모리 캐시 (thread-safe).
+ * 상한을 넘으면 가장 오래 사용되지 않은 항목 하나만 제거한다(LRU). 상한에서 전체를 비우지 않으므로
+ * 자주 쓰이는 항목은 남는다. 모든 연산은 하나의 락으로 직렬화되므로 compute 계열 함수는 짧게 유지해야 한다.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> map;
+
+    public LruCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.map = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    public synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> fn) {
+        return map.compute(key, fn);
+    }
+
+    public synchronized V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> fn) {
+        return map.computeIfPresent(key, fn);
+    }
+
+    public synchronized V remove(K key) {
+        return map.remove(key);
+    }
+
+    public synchronized boolean remove(K key, V value) {
+        return map.remove(key, value);
+    }
+
+    public synchronized void removeIf(BiPredicate<? super K, ? super V> condition) {
+        map.entrySet().removeIf(e -> condition.test(e.getKey(), e.getValue()));
+    }
+
+    /** 복사본을 순회하므로 action 안에서 이 캐시를 변경해도 된다 */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        List<Map.Entry<K, V>> copy;
+        synchronized (this) {
+            copy = new ArrayList<>(map.size());
+            map.forEach((k, v) -> copy.add(Map.entry(k, v)));
+        }
+        copy.forEach(e -> action.accept(e.getKey(), e.getValue()));
+    }
+
+    public synchronized Set<K> keys() {
+        return Set.copyOf(map.keySet());
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.scheduler.common.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 이후 실행 유틸리티
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransactionHooks {
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 실행 (롤백되면 실행하지 않음, 트랜잭션 밖이면 즉시 실행).
+     * 커밋 이후 DB에 쓰는 작업은 REQUIRES_NEW 경계를 거쳐야 한다.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
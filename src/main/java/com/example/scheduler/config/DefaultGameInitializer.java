@@ -1,6 +1,7 @@
 package com.example.scheduler.config;
 
 import com.example.scheduler.domain.DefaultGame;
+import com.example.scheduler.domain.User;
 import com.example.scheduler.repository.DefaultGameRepository;
 import lombok.RequiredArgsConstructor;
 import com.example.scheduler.repository.UserRepository;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.util.List;
 
 @Component
 @ConditionalOnProperty(prefix = "app.default-games", name = "enabled", havingValue = "true")
@@ -44,11 +46,10 @@ public class DefaultGameInitializer implements ApplicationRunner {
         }
 
         // 2) 친구코드 없는 사용자 자동 보정
-        userRepository.findAll().forEach(u -> {
-            if (u.getFriendCode() == null || u.getFriendCode().isBlank()) {
-                u.setFriendCode(friendCodeService.generateUniqueFriendCode());
-                userRepository.save(u);
-            }
-        });
+        List<User> missing = userRepository.findAllWithoutFriendCode();
+        if (!missing.isEmpty()) {
+            missing.forEach(u -> u.setFriendCode(friendCodeService.generateUniqueFriendCode()));
+            userRepository.saveAll(missing);
+        }
     }
 }
@@ -156,6 +156,9 @@ public class DemoDataInitializer implements ApplicationRunner {
                                 .serverId(srv.getId())
                                 .userId(u.getId())
                                 .action("TIMETABLE_REGISTER")
+                                .gameId(g.getId())
+                                .gameName(g.getName())
+                                .slot(slot)
                                 .details("game=" + g.getName() + ";slot=" + slot)
                                 .occurredAt(slot)
                                 .build()
@@ -187,6 +190,9 @@ public class DemoDataInitializer implements ApplicationRunner {
                                 .serverId(srv.getId())
                                 .userId(testUser.getId())
                                 .action("TIMETABLE_REGISTER")
+                                .gameId(g0.getId())
+                                .gameName(g0.getName())
+                                .slot(tslot)
                                 .details("game=" + g0.getName() + ";slot=" + tslot)
                                 .occurredAt(tslot)
                                 .build()
@@ -1,34 +1,60 @@
 package com.example.scheduler.controller;
 
+import com.example.scheduler.common.util.KeysetCursor;
 import com.example.scheduler.domain.AuditLog;
 import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.TimetableEntry;
 import com.example.scheduler.domain.Party;
 import com.example.scheduler.dto.AdminDto;
+import com.example.scheduler.dto.CursorPageResponse;
 import com.example.scheduler.dto.PageResponse;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.ResetSchedule;
+import com.example.scheduler.service.AuditArchive;
+import com.example.scheduler.service.AuditExporter;
+import com.example.scheduler.service.AuthService;
+import com.example.scheduler.service.InviteCodeCache;
+import com.example.scheduler.service.TimetableSnapshots;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 @Tag(name = "Admin", description = "관리자 전용 API")
 public class AdminController {
+    private static final Comparator<AuditLog> CURSOR_ORDER =
+            Comparator.comparing(AuditLog::getOccurredAt).thenComparing(AuditLog::getId).reversed();
+
     private final AuditLogRepository auditRepo;
     private final ServerRepository serverRepo;
     private final UserRepository userRepo;
@@ -36,6 +62,13 @@ public class AdminController {
     private final PartyRepository partyRepo;
     private final DefaultGameRepository defaultGameRepo;
     private final CustomGameRepository customGameRepo;
+    private final TimetableReminderIndex reminderIndex;
+    private final ResetSchedule resetSchedule;
+    private final InviteCodeCache inviteCodeCache;
+    private final TimetableSnapshots timetableSnapshots;
+    private final AuditArchive auditArchive;
+    private final AuditExporter auditExporter;
+    private final AuthService authService;
 
     // ----- Audit logs -----
     @GetMapping("/audit-logs")
@@ -48,37 +81,48 @@ public class AdminController {
     ) {
         Pageable pageable = PageRequest.of(page, Math.min(size, 100));  // 최대 100개 제한
 
-        Set<String> actions = null;
-        if (action != null && !action.isBlank()) {
-            actions = Set.of(action);
-        } else if (category != null) {
-            actions = switch (category) {
-                case "server" -> Set.of("CREATE_SERVER", "JOIN_SERVER", "LEAVE_SERVER", "KICK_MEMBER", "CHANGE_ADMIN");
-                case "timetable" -> Set.of("TIMETABLE_REGISTER", "TIMETABLE_UPDATE", "TIMETABLE_DELETE", "TIMETABLE_RESET_DELETE");
-                case "party" -> Set.of("PARTY_CREATE", "PARTY_JOIN", "PARTY_LEAVE", "PARTY_DELETE");
-                default -> null;
-            };
-        }
-
+        Set<String> actions = auditActions(category, action);
         Page<AuditLog> auditPage;
-        if (serverId != null && actions != null && !actions.isEmpty()) {
+        if (serverId != null && actions != null) {
             auditPage = auditRepo.findByServerIdAndActionInOrderByOccurredAtDesc(serverId, actions, pageable);
         } else if (serverId != null) {
             auditPage = auditRepo.findByServerIdOrderByOccurredAtDesc(serverId, pageable);
-        } else if (actions != null && !actions.isEmpty()) {
+        } else if (actions != null) {
             auditPage = auditRepo.findByActionInOrderByOccurredAtDesc(actions, pageable);
         } else {
             auditPage = auditRepo.findAllByOrderByOccurredAtDesc(pageable);
         }
 
-        List<AdminDto.AuditLogItem> items = auditPage.getContent().stream()
-                .map(l -> new AdminDto.AuditLogItem(
-                        l.getId(), l.getServerId(), l.getUserId(),
-                        l.getUserId() != null ? userRepo.findById(l.getUserId()).map(u -> u.getNickname()).orElse(null) : null,
-                        l.getAction(), l.getDetails(), l.getOccurredAt()
-                )).toList();
+        return ResponseEntity.ok(PageResponse.of(auditPage, toAuditItems(auditPage.getContent())));
+    }
 
-        return ResponseEntity.ok(PageResponse.of(auditPage, items));
+    // keyset 모드: cursor 파라미터가 있으면(첫 페이지는 빈 값) OFFSET 없이 이전 페이지 마지막 행 다음부터 읽는다
+    @GetMapping(value = "/audit-logs", params = "cursor")
+    public ResponseEntity<CursorPageResponse<AdminDto.AuditLogItem>> listAuditLogsByCursor(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "serverId", required = false) Long serverId,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        KeysetCursor after = decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);  // 다음 페이지 존재 여부 확인용 1건 더
+
+        Set<String> actions = auditActions(category, action);
+        List<AuditLog> rows;
+        if (serverId != null && actions != null) {
+            rows = mergePages(actions, limit, a ->
+                    auditRepo.findPageByServerIdAndActionBefore(serverId, a, after.at(), after.id(), limit));
+        } else if (serverId != null) {
+            rows = auditRepo.findPageByServerIdBefore(serverId, after.at(), after.id(), limit);
+        } else if (actions != null) {
+            rows = mergePages(actions, limit, a ->
+                    auditRepo.findPageByActionBefore(a, after.at(), after.id(), limit));
+        } else {
+            rows = auditRepo.findPageBefore(after.at(), after.id(), limit);
+        }
+        return ResponseEntity.ok(cursorPage(rows, pageSize));
     }
 
     // 서버별 참가 기록(Join) 조회
@@ -91,14 +135,140 @@ public class AdminController {
         Pageable pageable = PageRequest.of(page, Math.min(size, 100));
         Page<AuditLog> auditPage = auditRepo.findByServerIdAndActionOrderByOccurredAtDesc(id, "JOIN_SERVER", pageable);
 
-        List<AdminDto.AuditLogItem> items = auditPage.getContent().stream()
+        return ResponseEntity.ok(PageResponse.of(auditPage, toAuditItems(auditPage.getContent())));
+    }
+
+    @GetMapping(value = "/servers/{id}/join-logs", params = "cursor")
+    public ResponseEntity<CursorPageResponse<AdminDto.AuditLogItem>> listServerJoinLogsByCursor(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        KeysetCursor after = decodeCursor(cursor);
+        List<AuditLog> rows = auditRepo.findPageByServerIdAndActionBefore(
+                id, "JOIN_SERVER", after.at(), after.id(), Limit.of(pageSize + 1));
+        return ResponseEntity.ok(cursorPage(rows, pageSize));
+    }
+
+    // 전체 내보내기 (csv / ndjson, gzip 선택). DB 커서로 읽어 바로 응답에 쓴다. 기간은 [from, to)
+    @GetMapping("/audit-logs/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "serverId", required = false) Long serverId,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        AuditExporter.Format fmt = switch (format.toLowerCase()) {
+            case "csv" -> AuditExporter.Format.CSV;
+            case "ndjson" -> AuditExporter.Format.NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported format");
+        };
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid range");
+        }
+        AuditExporter.Filter filter = new AuditExporter.Filter(serverId, auditActions(category, action), from, to);
+        String filename = "audit-logs." + fmt.extension + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = out -> auditExporter.export(filter, fmt, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : fmt.contentType + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    // 보존 기간이 지나 DB 에서 정리된 감사 로그 조회 (최신순, 최대 1년 범위)
+    @GetMapping("/audit-archive")
+    public ResponseEntity<List<AdminDto.AuditLogItem>> searchAuditArchive(
+            @RequestParam(value = "serverId", required = false) Long serverId,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) > 366) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid range");
+        }
+        // 보관소는 보관 노드의 로컬 디스크에만 있다
+        if (!auditArchive.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "audit archive is not enabled on this node");
+        }
+        String actionFilter = action != null && !action.isBlank() ? action : null;
+        try {
+            List<AuditLog> rows = auditArchive.query(serverId, actionFilter, from, to, Math.max(1, Math.min(size, 1000)));
+            return ResponseEntity.ok(toAuditItems(rows));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "archive read failed");
+        }
+    }
+
+    // action 이 있으면 그 액션만, 없으면 category 의 액션 묶음 (둘 다 없으면 null = 전체)
+    private static Set<String> auditActions(String category, String action) {
+        if (action != null && !action.isBlank()) return Set.of(action);
+        if (category == null) return null;
+        return switch (category) {
+            case "server" -> Set.of("CREATE_SERVER", "JOIN_SERVER", "LEAVE_SERVER", "KICK_MEMBER", "CHANGE_ADMIN");
+            case "timetable" -> Set.of("TIMETABLE_REGISTER", "TIMETABLE_UPDATE", "TIMETABLE_DELETE", "TIMETABLE_RESET_DELETE");
+            case "party" -> Set.of("PARTY_CREATE", "PARTY_JOIN", "PARTY_LEAVE", "PARTY_DELETE");
+            default -> null;
+        };
+    }
+
+    // 액션별 keyset 페이지(각각 인덱스 순서로 limit 건)를 (시각, id) 내림차순으로 합쳐 앞의 limit 건
+    private static List<AuditLog> mergePages(Set<String> actions, Limit limit, Function<String, List<AuditLog>> page) {
+        if (actions.size() == 1) return page.apply(actions.iterator().next());
+        return actions.stream()
+                .flatMap(a -> page.apply(a).stream())
+                .sorted(CURSOR_ORDER)
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+        }
+    }
+
+    private CursorPageResponse<AdminDto.AuditLogItem> cursorPage(List<AuditLog> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<AuditLog> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (hasNext) {
+            AuditLog last = page.get(page.size() - 1);
+            next = new KeysetCursor(last.getOccurredAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(toAuditItems(page), pageSize, next, hasNext);
+    }
+
+    // 닉네임은 페이지 전체 사용자 id 로 한 번에 조회
+    private List<AdminDto.AuditLogItem> toAuditItems(List<AuditLog> logs) {
+        Set<Long> userIds = logs.stream().map(AuditLog::getUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, String> nicknames = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (UserRepository.NicknameRow r : userRepo.findNicknamesByIdIn(userIds)) {
+                nicknames.put(r.getId(), r.getNickname());
+            }
+        }
+        return logs.stream()
                 .map(l -> new AdminDto.AuditLogItem(
                         l.getId(), l.getServerId(), l.getUserId(),
-                        l.getUserId() != null ? userRepo.findById(l.getUserId()).map(u -> u.getNickname()).orElse(null) : null,
+                        l.getUserId() != null ? nicknames.get(l.getUserId()) : null,
                         l.getAction(), l.getDetails(), l.getOccurredAt()
                 )).toList();
+    }
 
-        return ResponseEntity.ok(PageResponse.of(auditPage, items));
+    // ----- Users -----
+    @Operation(summary = "사용자 토큰 폐기", description = "해당 사용자의 모든 액세스/리프레시 토큰을 무효화합니다")
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable Long id) {
+        authService.revokeAllTokens(id);
+        return ResponseEntity.noContent().build();
     }
 
     // ----- Servers -----
@@ -107,16 +277,14 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by("id").descending());
-        Page<Server> serverPage = serverRepo.findAll(pageable);
+        // id 내림차순 (정렬은 쿼리에 고정)
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        Page<ServerRepository.AdminRow> serverPage = serverRepo.findAdminPage(pageable);
 
         List<AdminDto.ServerItem> items = serverPage.getContent().stream()
                 .map(s -> new AdminDto.ServerItem(
-                        s.getId(), s.getName(),
-                        s.getOwner() != null ? s.getOwner().getId() : null,
-                        s.getOwner() != null ? s.getOwner().getNickname() : null,
-                        s.getResetTime(),
-                        s.getMembers() != null ? s.getMembers().size() : 0
+                        s.getId(), s.getName(), s.getOwnerId(), s.getOwnerNickname(), s.getResetTime(),
+                        s.getMemberCount() != null ? s.getMemberCount() : 0
                 )).toList();
 
         return ResponseEntity.ok(PageResponse.of(serverPage, items));
@@ -125,6 +293,9 @@ public class AdminController {
     @DeleteMapping("/servers/{id}")
     public ResponseEntity<Void> deleteServer(@PathVariable Long id) {
         serverRepo.deleteById(id);
+        resetSchedule.remove(id);
+        inviteCodeCache.evictServer(id);
+        timetableSnapshots.evict(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -145,6 +316,8 @@ public class AdminController {
         server.setMaxMembers(req.getMaxMembers());
         server.setResetPaused(req.isResetPaused());
         serverRepo.save(server);
+        resetSchedule.update(server);
+        inviteCodeCache.evict(server.getInviteCode());
 
         return ResponseEntity.ok(new AdminDto.ServerItem(
                 server.getId(), server.getName(),
@@ -161,18 +334,14 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by("slot").descending());
-        Page<TimetableEntry> entryPage = entryRepo.findAll(pageable);
+        // 슬롯 내림차순 (정렬은 쿼리에 고정)
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        Page<TimetableEntryRepository.AdminRow> entryPage = entryRepo.findAdminPage(pageable);
 
         List<AdminDto.TimetableItem> items = entryPage.getContent().stream()
                 .map(e -> new AdminDto.TimetableItem(
-                        e.getId(),
-                        e.getServer() != null ? e.getServer().getId() : null,
-                        e.getServer() != null ? e.getServer().getName() : null,
-                        e.getUser() != null ? e.getUser().getId() : null,
-                        e.getUser() != null ? e.getUser().getNickname() : null,
-                        e.getSlot(),
-                        e.getCustomGame() != null ? e.getCustomGame().getName() : (e.getDefaultGame() != null ? e.getDefaultGame().getName() : null)
+                        e.getId(), e.getServerId(), e.getServerName(), e.getUserId(), e.getUserNickname(),
+                        e.getSlot(), e.getGameName()
                 )).toList();
 
         return ResponseEntity.ok(PageResponse.of(entryPage, items));
@@ -180,7 +349,11 @@ public class AdminController {
 
     @DeleteMapping("/timetables/{id}")
     public ResponseEntity<Void> deleteTimetable(@PathVariable Long id) {
+        // 서버 스냅샷/통계 캐시를 비우기 위해 삭제 전에 서버를 확인
+        Long serverId = entryRepo.findById(id).map(e -> e.getServer().getId()).orElse(null);
         entryRepo.deleteById(id);
+        reminderIndex.unschedule(id);
+        if (serverId != null) timetableSnapshots.evict(serverId);
         return ResponseEntity.noContent().build();
     }
 
@@ -201,6 +374,11 @@ public class AdminController {
         var user = userRepo.findById(req.getUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다"));
 
+        // 다른 서버로 옮기는 경우 이전 서버 스냅샷도 비움
+        if (entry.getServer() != null && !entry.getServer().getId().equals(server.getId())) {
+            timetableSnapshots.evict(entry.getServer().getId());
+        }
+
         // 허용된 필드만 업데이트
         entry.setServer(server);
         entry.setUser(user);
@@ -208,6 +386,8 @@ public class AdminController {
         entry.setDefaultGame(req.getDefaultGameId() != null ? defaultGameRepo.findById(req.getDefaultGameId()).orElse(null) : null);
         entry.setCustomGame(req.getCustomGameId() != null ? customGameRepo.findById(req.getCustomGameId()).orElse(null) : null);
         entryRepo.save(entry);
+        reminderIndex.schedule(entry);
+        timetableSnapshots.evict(server.getId());
 
         String gameName = entry.getCustomGame() != null ? entry.getCustomGame().getName() :
                 (entry.getDefaultGame() != null ? entry.getDefaultGame().getName() : null);
@@ -226,19 +406,15 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by("slot").descending());
-        Page<Party> partyPage = partyRepo.findAll(pageable);
+        // 슬롯 내림차순 (정렬은 쿼리에 고정)
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        Page<PartyRepository.AdminRow> partyPage = partyRepo.findAdminPage(pageable);
 
         List<AdminDto.PartyItem> items = partyPage.getContent().stream()
                 .map(p -> new AdminDto.PartyItem(
-                        p.getId(),
-                        p.getServer() != null ? p.getServer().getId() : null,
-                        p.getServer() != null ? p.getServer().getName() : null,
-                        p.getCreator() != null ? p.getCreator().getId() : null,
-                        p.getCreator() != null ? p.getCreator().getNickname() : null,
-                        p.getSlot(), p.getCapacity(),
-                        p.getCustomGame() != null ? p.getCustomGame().getName() : (p.getDefaultGame() != null ? p.getDefaultGame().getName() : null),
-                        p.getParticipants() != null ? p.getParticipants().size() : 0
+                        p.getId(), p.getServerId(), p.getServerName(), p.getCreatorId(), p.getCreatorNickname(),
+                        p.getSlot(), p.getCapacity() != null ? p.getCapacity() : 0, p.getGameName(),
+                        p.getParticipantCount() != null ? p.getParticipantCount() : 0
                 )).toList();
 
         return ResponseEntity.ok(PageResponse.of(partyPage, items));
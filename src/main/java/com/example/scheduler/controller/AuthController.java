@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CookieValue;
@@ -95,6 +96,25 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("message", "로그아웃되었습니다"));
     }
 
+    @Operation(summary = "모든 기기에서 로그아웃", description = "이전에 발급된 모든 액세스/리프레시 토큰을 무효화합니다")
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(Authentication auth, HttpServletRequest request, HttpServletResponse res) {
+        authService.logoutAll(auth.getName());
+        expireRefreshCookie(request, res);
+        return ResponseEntity.ok(Map.of("message", "모든 기기에서 로그아웃되었습니다"));
+    }
+
+    @Operation(summary = "비밀번호 변경", description = "비밀번호를 변경하고 기존 토큰을 모두 무효화합니다 (다시 로그인 필요)")
+    @PutMapping("/password")
+    public ResponseEntity<?> changePassword(Authentication auth,
+                                            @Valid @RequestBody AuthDto.ChangePasswordRequest req,
+                                            HttpServletRequest request,
+                                            HttpServletResponse res) {
+        authService.changePassword(auth.getName(), req);
+        expireRefreshCookie(request, res);
+        return ResponseEntity.ok(Map.of("message", "비밀번호가 변경되었습니다. 다시 로그인해 주세요"));
+    }
+
     private void addRefreshCookie(HttpServletRequest req, HttpServletResponse res, String refresh) {
         long maxAge = Math.max(0, (jwtProvider.getExpiry(refresh).getTime() - System.currentTimeMillis()) / 1000);
         boolean secure = req.isSecure() || (req.getHeader("X-Forwarded-Proto") != null && req.getHeader("X-Forwarded-Proto").startsWith("https"));
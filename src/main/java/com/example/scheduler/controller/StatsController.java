@@ -3,9 +3,12 @@ package com.example.scheduler.controller;
 import com.example.scheduler.dto.StatsDto;
 import com.example.scheduler.service.StatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/servers/{serverId}/stats")
 @RequiredArgsConstructor
@@ -16,9 +19,11 @@ public class StatsController {
     @GetMapping
     public ResponseEntity<StatsDto.AggregatedResponse> getAggregated(
             @PathVariable Long serverId,
-            @RequestParam(defaultValue = "weekly") String range
+            @RequestParam(defaultValue = "weekly") String range,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        return ResponseEntity.ok(statsService.aggregate(serverId, range));
+        return ResponseEntity.ok(statsService.aggregate(serverId, range, from, to));
     }
 
     @GetMapping("/today")
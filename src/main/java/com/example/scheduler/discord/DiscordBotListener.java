@@ -8,6 +8,9 @@ import com.example.scheduler.repository.PartyRepository;
 import com.example.scheduler.repository.ServerRepository;
 import com.example.scheduler.repository.TimetableEntryRepository;
 import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
+import com.example.scheduler.service.InviteCodeCache;
+import com.example.scheduler.service.TimetableSnapshots;
 import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.session.ReadyEvent;
@@ -30,15 +33,24 @@ public class DiscordBotListener extends ListenerAdapter {
     private final ServerRepository serverRepository;
     private final PartyRepository partyRepository;
     private final TimetableEntryRepository timetableEntryRepository;
+    private final TimetableReminderIndex reminderIndex;
+    private final InviteCodeCache inviteCodeCache;
+    private final TimetableSnapshots timetableSnapshots;
 
     public DiscordBotListener(UserRepository userRepository,
                               ServerRepository serverRepository,
                               PartyRepository partyRepository,
-                              TimetableEntryRepository timetableEntryRepository) {
+                              TimetableEntryRepository timetableEntryRepository,
+                              TimetableReminderIndex reminderIndex,
+                              InviteCodeCache inviteCodeCache,
+                              TimetableSnapshots timetableSnapshots) {
         this.userRepository = userRepository;
         this.serverRepository = serverRepository;
         this.partyRepository = partyRepository;
         this.timetableEntryRepository = timetableEntryRepository;
+        this.reminderIndex = reminderIndex;
+        this.inviteCodeCache = inviteCodeCache;
+        this.timetableSnapshots = timetableSnapshots;
     }
 
     @Override
@@ -133,6 +145,7 @@ public class DiscordBotListener extends ListenerAdapter {
         if (!server.getMembers().contains(user)) {
             server.getMembers().add(user);
             serverRepository.save(server);
+            inviteCodeCache.evict(server.getInviteCode());
         }
 
         Party party = Party.builder()
@@ -152,6 +165,8 @@ public class DiscordBotListener extends ListenerAdapter {
                 .slot(slot)
                 .build();
         timetableEntryRepository.save(entry);
+        reminderIndex.schedule(entry);
+        timetableSnapshots.evict(server.getId());
 
         String formattedTime = slot.format(DateTimeFormatter.ofPattern("MM/dd HH:mm"));
         event.reply("**파티가 생성되었습니다!**\n" +
@@ -196,6 +211,7 @@ public class DiscordBotListener extends ListenerAdapter {
         if (!server.getMembers().contains(user)) {
             server.getMembers().add(user);
             serverRepository.save(server);
+            inviteCodeCache.evict(server.getInviteCode());
         }
 
         party.getParticipants().add(user);
@@ -208,6 +224,8 @@ public class DiscordBotListener extends ListenerAdapter {
                 .slot(party.getSlot())
                 .build();
         timetableEntryRepository.save(entry);
+        reminderIndex.schedule(entry);
+        timetableSnapshots.evict(server.getId());
 
         String formattedTime = party.getSlot().format(DateTimeFormatter.ofPattern("MM/dd HH:mm"));
         event.reply("**참여 완료!**\n" +
@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_log")
+@Table(name = "audit_log", indexes = {
+        // 서버+액션 기간 조회/목록, 액션별 목록, 보존 기간 정리. 관리자 목록은 (occurred_at, id) keyset 으로 읽는다
+        @Index(name = "idx_audit_server_action_time", columnList = "server_id, action, occurred_at"),
+        @Index(name = "idx_audit_server_time", columnList = "server_id, occurred_at"),
+        @Index(name = "idx_audit_action_time", columnList = "action, occurred_at"),
+        @Index(name = "idx_audit_time", columnList = "occurred_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,5 +29,14 @@ public class AuditLog {
     private LocalDateTime occurredAt;
     @Lob
     @Column(columnDefinition = "TEXT")
-    private String details;       // 추가 정보
+    private String details;       // 추가 정보 (표시용)
+
+    // 집계용 구조화 컬럼 (details 문자열 파싱 없이 SQL로 필터/집계)
+    private Long gameId;
+    @Column(length = 100)
+    private String gameName;
+    private LocalDateTime slot;
+    @Column(length = 50)
+    private String reason;        // "SERVER_RESET", "USER_ACTION" 등
+    private Long targetUserId;
 }
@@ -13,7 +13,12 @@ public class BlacklistedToken {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
+    @Column(unique = true, length = 64)
+    private String jti;            // 폐기된 토큰의 jti (조회 키)
+
+    // 구버전 호환: 예전에는 토큰 원문을 키로 저장했음. 신규 행은 null.
+    // 기존 DB는 ALTER TABLE blacklisted_tokens MODIFY token VARCHAR(500) NULL 필요
+    @Column(unique = true, length = 500)
     private String token;
 
     @Column(nullable = false)
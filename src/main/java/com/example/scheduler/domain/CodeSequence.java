@@ -0,0 +1,21 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 코드 발급용 영속 카운터 (친구코드/초대코드 등).
+ * 각 노드는 비관적 락으로 구간을 예약해 가므로 노드 간에 같은 값을 쓰지 않는다.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "code_sequences")
+public class CodeSequence {
+
+    @Id
+    @Column(length = 64)
+    private String name;           // 시퀀스 이름 (예: user_friend_code)
+
+    @Column(nullable = false)
+    private long nextValue;        // 다음에 예약될 값
+}
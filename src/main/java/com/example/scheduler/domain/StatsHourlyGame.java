@@ -0,0 +1,39 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 서버 활동 롤업: (서버, 기록 시각의 정시 버킷, 게임)별 등록 수.
+ * userDays 는 (사용자, 날짜, 게임) 조합이 처음 나타난 버킷에만 1씩 더해 기간 합으로 사용자-날짜 중복 제거 집계를 낸다.
+ * 감사 로그 보존 기간과 무관하게 유지된다.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_hourly_game",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_hourly_game",
+                columnNames = {"server_id", "bucket", "game_name"}))
+public class StatsHourlyGame {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false)
+    private LocalDateTime bucket;      // 기록 시각을 시 단위로 자른 값
+
+    @Column(nullable = false, length = 100)
+    private String gameName;
+
+    private Long gameId;               // 마지막으로 기록된 게임 id (기본/커스텀 id가 겹칠 수 있어 키는 이름)
+
+    @Column(nullable = false)
+    private long registrations;
+
+    @Column(nullable = false)
+    private long userDays;
+}
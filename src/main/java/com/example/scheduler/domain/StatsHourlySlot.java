@@ -0,0 +1,40 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 서버 활동 롤업: (서버, 기록 시각의 정시 버킷, 슬롯 날짜, 슬롯 시)별 등록 수와 슬롯 시각(분) 합계.
+ * 시간대 분포/평균 시각/요일별 평균을 버킷 합산으로 계산한다.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_hourly_slot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_hourly_slot",
+                columnNames = {"server_id", "bucket", "slot_date", "slot_hour"}))
+public class StatsHourlySlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false)
+    private LocalDateTime bucket;
+
+    @Column(nullable = false)
+    private LocalDate slotDate;
+
+    @Column(nullable = false)
+    private int slotHour;              // 0..23
+
+    @Column(nullable = false)
+    private long registrations;
+
+    @Column(nullable = false)
+    private long minuteSum;            // 슬롯의 하루 중 분(hour*60+minute) 합계
+}
@@ -0,0 +1,41 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 마감된 날짜의 게임별 집계 (grain D: 하루, M: 한 달 - bucketDate 는 그 달 1일).
+ * 시간 롤업(stats_hourly_game)을 하루 단위로 압축해 만들며, 긴 기간 조회는 월 버킷 + 경계 일 버킷만 합산한다.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_period_game",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_period_game",
+                columnNames = {"server_id", "grain", "bucket_date", "game_name"}))
+public class StatsPeriodGame {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false, length = 1)
+    private String grain;              // "D" | "M"
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, length = 100)
+    private String gameName;
+
+    private Long gameId;
+
+    @Column(nullable = false)
+    private long registrations;
+
+    @Column(nullable = false)
+    private long userDays;
+}
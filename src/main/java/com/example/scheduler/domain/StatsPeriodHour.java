@@ -0,0 +1,35 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 마감된 날짜의 시간대 분포: 사용자-날짜마다 가장 이른 슬롯 시 기준 사용자-날짜 수 (grain D/M).
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_period_hour",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_period_hour",
+                columnNames = {"server_id", "grain", "bucket_date", "slot_hour"}))
+public class StatsPeriodHour {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false, length = 1)
+    private String grain;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private int slotHour;              // 0..23
+
+    @Column(nullable = false)
+    private long userDays;
+}
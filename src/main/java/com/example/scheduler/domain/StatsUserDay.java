@@ -0,0 +1,33 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 서버 활동 롤업: 사용자-날짜(기록 날짜) 마커와 그날 가장 이른 슬롯 시.
+ * 활동 일수와 사용자-날짜 단위 시간대 분포에 사용한다.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_user_day",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_user_day",
+                columnNames = {"server_id", "user_id", "activity_day"}))
+public class StatsUserDay {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false)
+    private Long userId;               // 익명 기록은 0
+
+    @Column(nullable = false)
+    private LocalDate activityDay;
+
+    @Column(nullable = false)
+    private int earliestSlotHour;      // 0..23
+}
@@ -0,0 +1,32 @@
+package com.example.scheduler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 서버 활동 롤업: 사용자-날짜-게임 마커 (처음 삽입될 때만 {@link StatsHourlyGame#getUserDays()} 증가).
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "stats_user_day_game",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stats_user_day_game",
+                columnNames = {"server_id", "user_id", "activity_day", "game_name"}))
+public class StatsUserDayGame {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long serverId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate activityDay;
+
+    @Column(nullable = false, length = 100)
+    private String gameName;
+}
@@ -13,6 +13,9 @@ import java.time.LocalDateTime;
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TimetableEntry {
+    /** 게임 미지정 엔트리의 게임명 (응답 표시, 메모리 스냅샷과 SQL 필터/정렬에서 같은 값 사용) */
+    public static final String NO_GAME_NAME = "미정";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; //테이블 기록 아이디
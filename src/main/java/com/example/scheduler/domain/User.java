@@ -102,4 +102,9 @@ public class User {
     @Builder.Default
     @Column(nullable = true)
     private Boolean admin = false;
+
+    /** 토큰 버전 (전체 로그아웃/비밀번호 변경/관리자 폐기 시 증가, 이전 버전으로 발급된 토큰은 거부. null은 0 취급) */
+    @Builder.Default
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
 }
@@ -47,4 +47,14 @@ public class AuthDto {
         private Long userId;
         private String nickname;
     }
+
+    @Data
+    public static class ChangePasswordRequest {
+        @NotBlank(message = "현재 비밀번호는 필수입니다")
+        private String currentPassword;
+
+        @NotBlank(message = "새 비밀번호는 필수입니다")
+        @Size(min = 8, max = 128, message = "비밀번호는 8~128자여야 합니다")
+        private String newPassword;
+    }
 }
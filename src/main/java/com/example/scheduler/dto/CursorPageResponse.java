@@ -0,0 +1,18 @@
+package com.example.scheduler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * keyset(커서) 페이지네이션 응답 DTO. 다음 페이지는 nextCursor 를 그대로 cursor 파라미터로 전달한다.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;   // 마지막 페이지면 null
+    private boolean hasNext;
+}
@@ -0,0 +1,113 @@
+package com.example.scheduler.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * 저장형 알림 message 에 JSON 으로 저장되는 payload (프론트는 kind 로 분기).
+ * 푸시 본문과 클릭 URL 도 여기서 만든다. 직렬화는 공용 ObjectMapper(JacksonConfig)로 한다.
+ * 필드 이름/순서는 기존 문자열 payload 와 같다 ("requestId":N, "inviteId":N 으로 알림 삭제).
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "kind")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = NotificationPayload.FriendRequest.class, name = "friend_request"),
+        @JsonSubTypes.Type(value = NotificationPayload.ServerInvite.class, name = "server_invite"),
+        @JsonSubTypes.Type(value = NotificationPayload.Timetable.class, name = "timetable"),
+        @JsonSubTypes.Type(value = NotificationPayload.Party.class, name = "party")
+})
+public sealed interface NotificationPayload {
+
+    /** 푸시 본문 */
+    String pushBody();
+
+    /** 푸시 클릭 시 이동 경로 (없으면 null) */
+    String clickUrl();
+
+    /** 감사 로그에 남길 서버 id (없으면 null) */
+    default Long auditServerId() {
+        return null;
+    }
+
+    // 친구 요청: 대시보드 진입 시 친구 패널 자동 오픈
+    @JsonTypeName("friend_request")
+    record FriendRequest(Long requestId, String fromNickname) implements NotificationPayload {
+        @Override
+        public String pushBody() {
+            return or(fromNickname, "상대방") + " 님이 친구 요청을 보냈습니다.";
+        }
+
+        @Override
+        public String clickUrl() {
+            return "/dashboard?friends=1";
+        }
+    }
+
+    // 서버 초대: 초대 확인 모달 페이지로 이동 (inviteId 기반)
+    @JsonTypeName("server_invite")
+    record ServerInvite(Long inviteId, String serverName, String fromNickname) implements NotificationPayload {
+        @Override
+        public String pushBody() {
+            return or(fromNickname, "상대방") + " → " + or(serverName, "");
+        }
+
+        @Override
+        public String clickUrl() {
+            return inviteId != null ? "/invite/by-id?inviteId=" + inviteId : null;
+        }
+    }
+
+    // 친구 스케줄 등록: 서버 상세로 이동. 이름이 없으면 기존 payload 처럼 "" 로 저장
+    @JsonTypeName("timetable")
+    record Timetable(Long serverId, String serverName, String fromNickname, String gameName) implements NotificationPayload {
+        public Timetable {
+            serverName = or(serverName, "");
+            fromNickname = or(fromNickname, "");
+            gameName = or(gameName, "");
+        }
+
+        @Override
+        public String pushBody() {
+            return String.format("%s님이 %s 서버에 %s 예약을 등록했습니다.", fromNickname, serverName, gameName);
+        }
+
+        @Override
+        public String clickUrl() {
+            return serverId != null ? "/server/" + serverId : null;
+        }
+
+        @Override
+        public Long auditServerId() {
+            return serverId;
+        }
+    }
+
+    // 파티 모집: 서버 상세 이동 (파티 탭/모달 암시 플래그). 이름이 없으면 기존 payload 처럼 "" 로 저장
+    @JsonTypeName("party")
+    record Party(Long serverId, String serverName, String fromNickname, String gameName, int capacity) implements NotificationPayload {
+        public Party {
+            serverName = or(serverName, "");
+            fromNickname = or(fromNickname, "");
+            gameName = or(gameName, "");
+        }
+
+        @Override
+        public String pushBody() {
+            return String.format("%s님이 %s에서 %s 파티를 모집합니다 (%d명)", fromNickname, serverName, gameName, capacity);
+        }
+
+        @Override
+        public String clickUrl() {
+            return serverId != null ? "/server/" + serverId + "?open=party" : null;
+        }
+
+        @Override
+        public Long auditServerId() {
+            return serverId;
+        }
+    }
+
+    private static String or(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -77,7 +77,7 @@ public class StatsDto {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class AggregatedResponse {
-        private String range; // weekly only
+        private String range; // weekly / monthly / custom
         private LocalDateTime start;
         private LocalDateTime end;
         private String topGame;
@@ -2,20 +2,22 @@
 package com.example.scheduler.repository;
 
 import com.example.scheduler.domain.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByServerIdAndActionAndOccurredAtBetween(Long serverId, String action, LocalDateTime start, LocalDateTime end);
-    AuditLog findFirstByServerIdAndActionOrderByOccurredAtAsc(Long serverId, String action);
-    long deleteByOccurredAtBefore(LocalDateTime cutoff);
 
     // 페이지네이션 지원
     Page<AuditLog> findAllByOrderByOccurredAtDesc(Pageable pageable);
@@ -32,4 +34,69 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             Pageable pageable);
 
     Page<AuditLog> findByServerIdAndActionOrderByOccurredAtDesc(Long serverId, String action, Pageable pageable);
+
+    /* ---- keyset 페이지: (occurredAt, id) 가 커서보다 작은 행을 내림차순으로. 깊은 페이지도 첫 페이지와 같은 비용 ---- */
+
+    @Query("SELECT a FROM AuditLog a WHERE (a.occurredAt < :at OR (a.occurredAt = :at AND a.id < :id)) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<AuditLog> findPageBefore(@Param("at") LocalDateTime at, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.serverId = :serverId " +
+            "AND (a.occurredAt < :at OR (a.occurredAt = :at AND a.id < :id)) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<AuditLog> findPageByServerIdBefore(@Param("serverId") Long serverId,
+                                            @Param("at") LocalDateTime at, @Param("id") Long id, Limit limit);
+
+    // 액션은 하나씩 등호로 거른다: (action, occurred_at) / (server_id, action, occurred_at) 인덱스를 그대로 역순으로 읽어
+    // 정렬(filesort) 없이 limit 건에서 멈춘다. 여러 액션은 호출 측에서 액션별 페이지를 합친다 (IN 조건은 filesort)
+    @Query("SELECT a FROM AuditLog a WHERE a.action = :action " +
+            "AND (a.occurredAt < :at OR (a.occurredAt = :at AND a.id < :id)) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<AuditLog> findPageByActionBefore(@Param("action") String action,
+                                          @Param("at") LocalDateTime at, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.serverId = :serverId AND a.action = :action " +
+            "AND (a.occurredAt < :at OR (a.occurredAt = :at AND a.id < :id)) " +
+            "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<AuditLog> findPageByServerIdAndActionBefore(@Param("serverId") Long serverId,
+                                                     @Param("action") String action,
+                                                     @Param("at") LocalDateTime at, @Param("id") Long id, Limit limit);
+
+    /** 구조화 컬럼 도입 전 행: details 에만 값이 있는 행을 id 순으로 (백필용) */
+    @Query("SELECT a FROM AuditLog a WHERE a.id > :afterId " +
+            "AND a.gameName IS NULL AND a.slot IS NULL AND a.reason IS NULL AND a.targetUserId IS NULL " +
+            "AND (a.details LIKE '%game=%' OR a.details LIKE '%Game=%' OR a.details LIKE '%slot=%' " +
+            "OR a.details LIKE '%Slot=%' OR a.details LIKE '%reason=%' OR a.details LIKE '%targetUserId=%' " +
+            "OR a.details LIKE '%_ADMIN:%') ORDER BY a.id")
+    List<AuditLog> findLegacyDetailRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** 등록 이벤트 스캔용 프로젝션 (details TEXT 등 불필요한 컬럼 제외) */
+    interface RegisterRow {
+        Long getId();
+        Long getServerId();
+        Long getUserId();
+        Long getGameId();
+        String getGameName();
+        LocalDateTime getSlot();
+        LocalDateTime getOccurredAt();
+    }
+
+    /**
+     * 롤업 재구성용: 지정 id 이하이면서 before 이전에 발생한 로그를 id 역순으로 커서에서 흘려 읽는다.
+     * 엔티티/영속성 컨텍스트에 쌓지 않으며, 호출자가 트랜잭션 안에서 try-with-resources 로 닫아야 한다.
+     * limit 으로 한 번에 읽는 행 수가 정해지므로 서버 커서(useCursorFetch) 없이도 메모리는 청크 크기로 제한되고,
+     * 결과를 다 받은 뒤라 읽는 도중 같은 커넥션에서 롤업 쓰기를 해도 된다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.serverId AS serverId, a.userId AS userId, a.gameId AS gameId, " +
+            "a.gameName AS gameName, a.slot AS slot, a.occurredAt AS occurredAt " +
+            "FROM AuditLog a WHERE a.action = :action AND a.id <= :maxId AND a.occurredAt < :before ORDER BY a.id DESC")
+    Stream<RegisterRow> streamByActionUpToId(@Param("action") String action, @Param("maxId") Long maxId,
+                                             @Param("before") LocalDateTime before, Limit limit);
+
+    @Query("SELECT MAX(a.id) FROM AuditLog a")
+    Long findMaxId();
 }
@@ -2,10 +2,31 @@ package com.example.scheduler.repository;
 
 import com.example.scheduler.domain.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
+import java.util.List;
 
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
     boolean existsByToken(String token);
-    void deleteAllByExpiryBefore(Date now);      // 만료된 블랙리스트 토큰 정리
+    boolean existsByJti(String jti);
+
+    /** 인메모리 필터 구성용: 아직 만료되지 않은 jti (id 오름차순) */
+    @Query("SELECT b.id AS id, b.jti AS jti FROM BlacklistedToken b " +
+            "WHERE b.jti IS NOT NULL AND b.expiry > :now ORDER BY b.id")
+    List<RevokedJti> findActiveJtis(@Param("now") Date now);
+
+    /** 다른 노드에서 추가된 폐기 토큰 동기화용 */
+    @Query("SELECT b.id AS id, b.jti AS jti FROM BlacklistedToken b " +
+            "WHERE b.id > :afterId AND b.jti IS NOT NULL ORDER BY b.id")
+    List<RevokedJti> findJtisAfter(@Param("afterId") Long afterId);
+
+    /** jti 컬럼 도입 이전에 저장된(토큰 원문만 있는) 행 */
+    List<BlacklistedToken> findByJtiIsNullAndExpiryAfter(Date now);
+
+    interface RevokedJti {
+        Long getId();
+        String getJti();
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.CodeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    /** 구간 예약용: SELECT ... FOR UPDATE */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CodeSequence s WHERE s.name = :name")
+    Optional<CodeSequence> findForUpdate(@Param("name") String name);
+}
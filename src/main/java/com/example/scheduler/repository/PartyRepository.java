@@ -3,11 +3,16 @@ package com.example.scheduler.repository;
 import com.example.scheduler.domain.Party;
 import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +32,38 @@ public interface PartyRepository extends JpaRepository<Party, Long> {
     @EntityGraph(attributePaths = {"server", "creator", "participants", "defaultGame", "customGame"})
     @Query("SELECT p FROM Party p WHERE p.id = :id")
     Optional<Party> findByIdWithDetails(@Param("id") Long id);
+
+    /** 관리자 목록: 참가자 수는 COUNT 서브쿼리, 서버/생성자/게임 이름은 조인으로 */
+    @Query(value = "SELECT p.id AS id, s.id AS serverId, s.name AS serverName, c.id AS creatorId, " +
+            "c.nickname AS creatorNickname, p.slot AS slot, p.capacity AS capacity, " +
+            "COALESCE(cg.name, dg.name) AS gameName, SIZE(p.participants) AS participantCount " +
+            "FROM Party p JOIN p.server s JOIN p.creator c " +
+            "LEFT JOIN p.customGame cg LEFT JOIN p.defaultGame dg " +
+            "ORDER BY p.slot DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Party p")
+    Page<AdminRow> findAdminPage(Pageable pageable);
+
+    interface AdminRow {
+        Long getId();
+        Long getServerId();
+        String getServerName();
+        Long getCreatorId();
+        String getCreatorNickname();
+        LocalDateTime getSlot();
+        Integer getCapacity();
+        String getGameName();
+        Integer getParticipantCount();
+    }
+
+    /** 벌크 리셋: 참가자 조인 테이블을 먼저 비운 뒤 파티를 단일 DELETE로 삭제 */
+    @Modifying
+    @Query(value = "DELETE FROM party_participants WHERE party_id IN " +
+            "(SELECT p.id FROM parties p WHERE p.server_id IN (:serverIds))", nativeQuery = true)
+    int deleteParticipantsByServerIdIn(@Param("serverIds") Collection<Long> serverIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Party p WHERE p.server.id IN :serverIds")
+    int deleteAllByServerIdIn(@Param("serverIds") Collection<Long> serverIds);
 }
 
 
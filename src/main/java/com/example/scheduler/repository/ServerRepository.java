@@ -30,10 +30,37 @@ public interface ServerRepository extends JpaRepository<Server, Long> {
     @EntityGraph(attributePaths = {"owner", "members", "admins"})
     Optional<Server> findByInviteCode(String inviteCode);
 
+    boolean existsByInviteCode(String inviteCode);
+
     Optional<Server> findByDiscordGuildId(String discordGuildId);
 
     // 서버 상세 조회 (N+1 방지)
     @EntityGraph(attributePaths = {"owner", "members", "admins"})
     @Query("SELECT s FROM Server s WHERE s.id = :id")
     Optional<Server> findByIdWithMembers(@Param("id") Long id);
+
+    /** 리셋 스케줄 인덱스 구성용: 일시정지되지 않은 서버의 id/리셋 시각만 조회 */
+    @Query("SELECT s.id AS id, s.resetTime AS resetTime FROM Server s WHERE s.resetPaused = false")
+    List<ResetSlot> findActiveResetSlots();
+
+    /** 관리자 서버 목록: 멤버 컬렉션 대신 COUNT 서브쿼리, 소유자는 조인으로 한 번에 */
+    @Query(value = "SELECT s.id AS id, s.name AS name, o.id AS ownerId, o.nickname AS ownerNickname, " +
+            "s.resetTime AS resetTime, SIZE(s.members) AS memberCount " +
+            "FROM Server s LEFT JOIN s.owner o ORDER BY s.id DESC",
+            countQuery = "SELECT COUNT(s) FROM Server s")
+    Page<AdminRow> findAdminPage(Pageable pageable);
+
+    interface AdminRow {
+        Long getId();
+        String getName();
+        Long getOwnerId();
+        String getOwnerNickname();
+        LocalTime getResetTime();
+        Integer getMemberCount();
+    }
+
+    interface ResetSlot {
+        Long getId();
+        LocalTime getResetTime();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.StatsHourlyGame;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StatsHourlyGameRepository extends JpaRepository<StatsHourlyGame, Long> {
+
+    /** 게임별 등록 수 */
+    @Query("SELECT g.gameName AS gameName, SUM(g.registrations) AS cnt FROM StatsHourlyGame g " +
+            "WHERE g.serverId = :serverId AND g.bucket BETWEEN :from AND :to GROUP BY g.gameName")
+    List<GameCountRow> sumRegistrationsByGame(@Param("serverId") Long serverId,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** 게임별 (사용자, 날짜) 수 */
+    @Query("SELECT g.gameName AS gameName, SUM(g.userDays) AS cnt FROM StatsHourlyGame g " +
+            "WHERE g.serverId = :serverId AND g.bucket BETWEEN :from AND :to GROUP BY g.gameName")
+    List<GameCountRow> sumUserDaysByGame(@Param("serverId") Long serverId,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** 기록 날짜 x 게임별 등록 수 */
+    @Query("SELECT cast(g.bucket AS LocalDate) AS occurredDay, g.gameName AS gameName, SUM(g.registrations) AS cnt " +
+            "FROM StatsHourlyGame g WHERE g.serverId = :serverId AND g.bucket BETWEEN :from AND :to " +
+            "GROUP BY cast(g.bucket AS LocalDate), g.gameName")
+    List<DayGameCountRow> sumRegistrationsByDayAndGame(@Param("serverId") Long serverId,
+                                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** 일 압축용: 하루치 버킷을 서버/게임별로 합산 */
+    @Query("SELECT g.serverId AS serverId, g.gameName AS gameName, MAX(g.gameId) AS gameId, " +
+            "SUM(g.registrations) AS registrations, SUM(g.userDays) AS userDays FROM StatsHourlyGame g " +
+            "WHERE g.bucket >= :from AND g.bucket < :to GROUP BY g.serverId, g.gameName")
+    List<DayTotalRow> sumDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(g.bucket) FROM StatsHourlyGame g")
+    LocalDateTime findFirstBucket();
+
+    interface DayTotalRow {
+        Long getServerId();
+        String getGameName();
+        Long getGameId();
+        Long getRegistrations();
+        Long getUserDays();
+    }
+
+    interface GameCountRow {
+        String getGameName();
+        Long getCnt();
+    }
+
+    interface DayGameCountRow {
+        LocalDate getOccurredDay();
+        String getGameName();
+        Long getCnt();
+    }
+}
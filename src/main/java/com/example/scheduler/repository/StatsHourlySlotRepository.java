@@ -0,0 +1,43 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.StatsHourlySlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StatsHourlySlotRepository extends JpaRepository<StatsHourlySlot, Long> {
+
+    /** 서버의 가장 이른 기록 버킷 (수집 시작 시점) */
+    @Query("SELECT MIN(s.bucket) FROM StatsHourlySlot s WHERE s.serverId = :serverId")
+    LocalDateTime findFirstBucket(@Param("serverId") Long serverId);
+
+    /** 슬롯 시별 등록 수와 분 합계 */
+    @Query("SELECT s.slotHour AS slotHour, SUM(s.registrations) AS cnt, SUM(s.minuteSum) AS minuteSum " +
+            "FROM StatsHourlySlot s WHERE s.serverId = :serverId AND s.bucket BETWEEN :from AND :to " +
+            "GROUP BY s.slotHour")
+    List<HourCountRow> sumBySlotHour(@Param("serverId") Long serverId,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** 슬롯 날짜별 등록 수와 분 합계 */
+    @Query("SELECT s.slotDate AS slotDay, SUM(s.registrations) AS cnt, SUM(s.minuteSum) AS minuteSum " +
+            "FROM StatsHourlySlot s WHERE s.serverId = :serverId AND s.bucket BETWEEN :from AND :to " +
+            "GROUP BY s.slotDate")
+    List<DayCountRow> sumBySlotDate(@Param("serverId") Long serverId,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface HourCountRow {
+        Integer getSlotHour();
+        Long getCnt();
+        Long getMinuteSum();
+    }
+
+    interface DayCountRow {
+        LocalDate getSlotDay();
+        Long getCnt();
+        Long getMinuteSum();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.StatsPeriodGame;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatsPeriodGameRepository extends JpaRepository<StatsPeriodGame, Long> {
+
+    /** 게임별 (사용자, 날짜) 수: 월 버킷 + 앞/뒤 경계 일 버킷 합산 (StatsPeriods.Split) */
+    @Query("SELECT p.gameName AS gameName, SUM(p.userDays) AS cnt FROM StatsPeriodGame p " +
+            "WHERE p.serverId = :serverId AND (" +
+            "(p.grain = 'M' AND p.bucketDate BETWEEN :monthFrom AND :monthTo) OR " +
+            "(p.grain = 'D' AND (p.bucketDate BETWEEN :headFrom AND :headTo OR p.bucketDate BETWEEN :tailFrom AND :tailTo))) " +
+            "GROUP BY p.gameName")
+    List<StatsHourlyGameRepository.GameCountRow> sumUserDaysByGame(
+            @Param("serverId") Long serverId,
+            @Param("monthFrom") LocalDate monthFrom, @Param("monthTo") LocalDate monthTo,
+            @Param("headFrom") LocalDate headFrom, @Param("headTo") LocalDate headTo,
+            @Param("tailFrom") LocalDate tailFrom, @Param("tailTo") LocalDate tailTo);
+}
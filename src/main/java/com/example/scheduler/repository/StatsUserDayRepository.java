@@ -0,0 +1,48 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.StatsUserDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatsUserDayRepository extends JpaRepository<StatsUserDay, Long> {
+
+    /** 사용자-날짜마다 가장 이른 슬롯 시 기준 시간대 분포 */
+    @Query("SELECT d.earliestSlotHour AS slotHour, COUNT(d) AS cnt FROM StatsUserDay d " +
+            "WHERE d.serverId = :serverId AND d.activityDay BETWEEN :from AND :to GROUP BY d.earliestSlotHour")
+    List<HourCountRow> countByEarliestHour(@Param("serverId") Long serverId,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** 사용자별 활동 일수 */
+    @Query("SELECT d.userId AS userId, COUNT(d) AS activeDays FROM StatsUserDay d " +
+            "WHERE d.serverId = :serverId AND d.activityDay BETWEEN :from AND :to GROUP BY d.userId")
+    List<UserDaysRow> countActiveDaysByUser(@Param("serverId") Long serverId,
+                                            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** 일 압축용: 하루치 사용자-날짜를 서버/가장 이른 슬롯 시별로 */
+    @Query("SELECT d.serverId AS serverId, d.earliestSlotHour AS slotHour, COUNT(d) AS cnt FROM StatsUserDay d " +
+            "WHERE d.activityDay = :day GROUP BY d.serverId, d.earliestSlotHour")
+    List<ServerHourRow> countDayByServerAndHour(@Param("day") LocalDate day);
+
+    @Query("SELECT MIN(d.activityDay) FROM StatsUserDay d")
+    LocalDate findFirstDay();
+
+    interface ServerHourRow {
+        Long getServerId();
+        Integer getSlotHour();
+        Long getCnt();
+    }
+
+    interface HourCountRow {
+        Integer getSlotHour();
+        Long getCnt();
+    }
+
+    interface UserDaysRow {
+        Long getUserId();
+        Long getActiveDays();
+    }
+}
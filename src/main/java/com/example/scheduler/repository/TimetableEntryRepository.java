@@ -5,18 +5,59 @@ import com.example.scheduler.domain.CustomGame;
 import com.example.scheduler.domain.TimetableEntry;
 import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TimetableEntryRepository extends JpaRepository<TimetableEntry, Long> {
+    /** 관리자 목록: 서버/사용자/게임 이름을 조인 한 번으로 (연관 엔티티 로드 없음) */
+    @Query(value = "SELECT e.id AS id, s.id AS serverId, s.name AS serverName, u.id AS userId, " +
+            "u.nickname AS userNickname, e.slot AS slot, COALESCE(cg.name, dg.name) AS gameName " +
+            "FROM TimetableEntry e JOIN e.server s JOIN e.user u " +
+            "LEFT JOIN e.customGame cg LEFT JOIN e.defaultGame dg " +
+            "ORDER BY e.slot DESC, e.id DESC",
+            countQuery = "SELECT COUNT(e) FROM TimetableEntry e")
+    Page<AdminRow> findAdminPage(Pageable pageable);
+
+    interface AdminRow {
+        Long getId();
+        Long getServerId();
+        String getServerName();
+        Long getUserId();
+        String getUserNickname();
+        LocalDateTime getSlot();
+        String getGameName();
+    }
+
     // 타임테이블 목록 조회 (N+1 방지)
     @EntityGraph(attributePaths = {"user", "defaultGame", "customGame"})
     List<TimetableEntry> findByServerOrderBySlot(Server server);
 
+    /** 게임명 필터를 SQL에서 처리 (커스텀 게임 이름 우선, 미지정은 스냅샷과 같은 이름으로 취급) */
+    @Query("SELECT e FROM TimetableEntry e JOIN FETCH e.user " +
+            "LEFT JOIN FETCH e.customGame cg LEFT JOIN FETCH e.defaultGame dg " +
+            "WHERE e.server = :server " +
+            "AND COALESCE(cg.name, dg.name, '" + TimetableEntry.NO_GAME_NAME + "') = :gameName " +
+            "ORDER BY e.slot, e.id")
+    List<TimetableEntry> findByServerAndGameNameOrderBySlot(@Param("server") Server server,
+                                                            @Param("gameName") String gameName);
+
+    /** 게임명 정렬을 SQL에서 처리 (같은 게임 안에서는 슬롯 순) */
+    @Query("SELECT e FROM TimetableEntry e JOIN FETCH e.user " +
+            "LEFT JOIN FETCH e.customGame cg LEFT JOIN FETCH e.defaultGame dg " +
+            "WHERE e.server = :server " +
+            "ORDER BY COALESCE(cg.name, dg.name, '" + TimetableEntry.NO_GAME_NAME + "'), e.slot, e.id")
+    List<TimetableEntry> findByServerOrderByGameName(@Param("server") Server server);
+
     @EntityGraph(attributePaths = {"user", "defaultGame", "customGame"})
     List<TimetableEntry> findByServerAndSlot(Server server, LocalDateTime slot);
 
@@ -32,4 +73,33 @@ public interface TimetableEntryRepository extends JpaRepository<TimetableEntry,
     void deleteAllByCustomGame(CustomGame customGame);
 
     void deleteAllByServerAndUser(Server server, User user);
+
+    /** 리마인더 인덱스 재구성용: 지정 시각 이후 슬롯 범위 조회 (idx_entry_slot) */
+    @EntityGraph(attributePaths = {"user"})
+    List<TimetableEntry> findBySlotGreaterThanEqual(LocalDateTime from);
+
+    /** 도래한 리마인더 대상 엔트리만 조회 */
+    @EntityGraph(attributePaths = {"user", "defaultGame", "customGame"})
+    List<TimetableEntry> findByIdIn(Collection<Long> ids);
+
+    /** 리셋 스냅샷용: 감사 로그에 필요한 컬럼만 한 번에 조회 (엔티티 로딩 없음) */
+    @Query("SELECT e.id AS entryId, e.server.id AS serverId, e.user.id AS userId, e.slot AS slot, " +
+            "COALESCE(cg.id, dg.id) AS gameId, COALESCE(cg.name, dg.name, '') AS gameName " +
+            "FROM TimetableEntry e LEFT JOIN e.customGame cg LEFT JOIN e.defaultGame dg " +
+            "WHERE e.server.id IN :serverIds")
+    List<ResetRow> findResetRowsByServerIdIn(@Param("serverIds") Collection<Long> serverIds);
+
+    /** 여러 서버의 엔트리를 단일 DELETE로 삭제 */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM TimetableEntry e WHERE e.server.id IN :serverIds")
+    int deleteAllByServerIdIn(@Param("serverIds") Collection<Long> serverIds);
+
+    interface ResetRow {
+        Long getEntryId();
+        Long getServerId();
+        Long getUserId();
+        LocalDateTime getSlot();
+        Long getGameId();
+        String getGameName();
+    }
 }
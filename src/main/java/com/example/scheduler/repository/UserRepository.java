@@ -3,6 +3,11 @@ package com.example.scheduler.repository;
 
 import com.example.scheduler.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -21,4 +26,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
       // 친구코드 조회/중복체크
       Optional<User> findByFriendCode(String friendCode);
       boolean existsByFriendCode(String friendCode);
+
+    /** 친구코드가 없는(null/공백) 사용자만 조회 (기동 시 보정용) */
+    @Query("SELECT u FROM User u WHERE u.friendCode IS NULL OR TRIM(u.friendCode) = ''")
+    List<User> findAllWithoutFriendCode();
+
+    /** 토큰 claims 검증용: 현재 토큰 버전과 관리자 여부만 조회 */
+    @Query("SELECT u.tokenVersion AS tokenVersion, u.admin AS admin FROM User u WHERE u.id = :id")
+    Optional<AuthState> findAuthStateById(@Param("id") Long id);
+
+    /** 목록 화면 닉네임 일괄 조회 (IN 한 번) */
+    @Query("SELECT u.id AS id, u.nickname AS nickname FROM User u WHERE u.id IN :ids")
+    List<NicknameRow> findNicknamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface NicknameRow {
+        Long getId();
+        String getNickname();
+    }
+
+    interface AuthState {
+        Integer getTokenVersion();
+        Boolean getAdmin();
+    }
 }
\ No newline at end of file
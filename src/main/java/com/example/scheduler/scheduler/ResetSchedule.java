@@ -0,0 +1,99 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.Server;
+import com.example.scheduler.repository.ServerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 서버 리셋 시각 인덱스 (하루 중 분 → serverId).
+ * 일시정지된 서버는 인덱스에 넣지 않으므로, 매 분 스케줄러는 도래한 서버가 있을 때만 DB를 조회한다.
+ * 다른 노드에서 바뀐 설정은 주기적 재동기화로 따라잡고, 실제 리셋 전에는 DB 값으로 다시 확인한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResetSchedule {
+
+    private final ServerRepository serverRepo;
+
+    // 분(0~1439) → serverId
+    private final NavigableMap<Integer, Set<Long>> byMinute = new TreeMap<>();
+    // serverId → 분 (변경/삭제용 역인덱스)
+    private final Map<Long, Integer> minuteOf = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ServerRepository.ResetSlot> slots = serverRepo.findActiveResetSlots();
+        synchronized (this) {
+            byMinute.clear();
+            minuteOf.clear();
+            for (ServerRepository.ResetSlot s : slots) {
+                put(s.getId(), s.getResetTime());
+            }
+            log.debug("Reset schedule rebuilt: {} servers in {} minutes", minuteOf.size(), byMinute.size());
+        }
+    }
+
+    // 다중 노드 환경에서 다른 노드의 변경을 반영하기 위한 주기적 재구성
+    @Scheduled(fixedDelayString = "${app.reset-schedule.resync-ms:900000}",
+            initialDelayString = "${app.reset-schedule.resync-ms:900000}")
+    public void resync() {
+        rebuild();
+    }
+
+    /** 서버 생성/리셋 시각 변경/일시정지 토글 시 호출 */
+    public void update(Server server) {
+        if (server == null || server.getId() == null) return;
+        update(server.getId(), server.getResetTime(), server.isResetPaused());
+    }
+
+    public synchronized void update(Long serverId, LocalTime resetTime, boolean paused) {
+        remove(serverId);
+        if (!paused) put(serverId, resetTime);
+    }
+
+    public synchronized void remove(Long serverId) {
+        Integer old = minuteOf.remove(serverId);
+        if (old == null) return;
+        Set<Long> ids = byMinute.get(old);
+        if (ids == null) return;
+        ids.remove(serverId);
+        if (ids.isEmpty()) byMinute.remove(old);
+    }
+
+    /** 해당 분에 리셋 예정인 서버 id (없으면 빈 목록) */
+    public synchronized List<Long> dueAt(LocalTime time) {
+        Set<Long> ids = byMinute.get(minuteOfDay(time));
+        return ids == null ? List.of() : new ArrayList<>(ids);
+    }
+
+    public synchronized int size() {
+        return minuteOf.size();
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private void put(Long serverId, LocalTime resetTime) {
+        if (serverId == null || resetTime == null) return;
+        int minute = minuteOfDay(resetTime);
+        byMinute.computeIfAbsent(minute, k -> new HashSet<>()).add(serverId);
+        minuteOf.put(serverId, minute);
+    }
+}
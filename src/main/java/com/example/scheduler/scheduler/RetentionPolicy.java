@@ -0,0 +1,30 @@
+package com.example.scheduler.scheduler;
+
+import java.time.Duration;
+
+/**
+ * 테이블별 보존 정책.
+ * timeColumn 이 (현재 - maxAge) 이전이고 condition 을 만족하는 행을 삭제하고,
+ * perUserColumn 이 있으면 사용자별로 최신 maxRowsPerUser 건(id 기준)만 남긴다.
+ * 테이블/컬럼/조건은 코드 상수로만 구성한다 (SQL 에 그대로 들어감).
+ */
+public record RetentionPolicy(String name,
+                              String table,
+                              String timeColumn,
+                              Duration maxAge,
+                              String condition,
+                              String perUserColumn,
+                              int maxRowsPerUser) {
+
+    public static RetentionPolicy byAge(String table, String timeColumn, Duration maxAge) {
+        return new RetentionPolicy(table, table, timeColumn, maxAge, null, null, 0);
+    }
+
+    public RetentionPolicy where(String condition) {
+        return new RetentionPolicy(name, table, timeColumn, maxAge, condition, perUserColumn, maxRowsPerUser);
+    }
+
+    public RetentionPolicy maxRowsPer(String perUserColumn, int maxRowsPerUser) {
+        return new RetentionPolicy(name, table, timeColumn, maxAge, condition, perUserColumn, maxRowsPerUser);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import com.example.scheduler.security.RevokedTokenRegistry;
+import com.example.scheduler.service.AuditArchive;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 보존 기간이 지난 행 정리 (감사 로그, 만료된 블랙리스트 토큰, 알림, 처리된 서버 초대).
+ * 통계 롤업(stats_*)은 별도 테이블이라 감사 로그 정리와 무관하게 유지된다.
+ * 마지막으로 끝까지 실행한 시각을 code_sequences 에 남겨, 실행이 빠졌거나 중단됐으면 기동 시 이어서 정리한다.
+ * <p>
+ * 배치 사이 대기(pause-ms)가 공용 스케줄러 스레드를 붙잡지 않도록 전용 스레드에서 실행한다.
+ * 여러 노드 중 한 노드만 실행하도록 code_sequences 의 잠금 행에 임대 만료 시각을 기록하고,
+ * 최근에 다른 노드가 끝낸 실행은 다시 하지 않는다.
+ * <p>
+ * 감사 로그만 보관 설정을 따른다. 보관소(AuditArchive)는 로컬 디스크라 지정된 한 노드에서만 켜며,
+ * 그 노드가 임대와 무관하게 자기 완료 시각(retention_audit_last_run)으로 보관 후 보관한 id 까지만 지운다.
+ * 보관에 실패하면 그 실행에서는 지우지 않는다. 보관 노드가 없는 환경은
+ * app.retention.audit-purge-without-archive=true 로 임대를 잡은 노드가 보관 없이 지운다.
+ */
+@Slf4j
+@Component
+public class RetentionScheduler {
+
+    // nextValue = 마지막으로 모든 정책을 끝낸 시각 (epoch seconds)
+    private static final String LAST_RUN = "retention_last_run";
+    // nextValue = 보관 노드가 마지막으로 감사 로그를 보관/정리한 시각 (epoch seconds)
+    static final String AUDIT_LAST_RUN = "retention_audit_last_run";
+    // nextValue = 실행 중인 노드의 임대 만료 시각 (epoch seconds, 0 이면 비어 있음). 노드가 죽어도 만료 후 다른 노드가 실행
+    static final String LOCK = "retention_lock";
+    private static final Duration LEASE = Duration.ofHours(6);
+    // 정기 실행은 전날 실행이 조금 늦게 끝났어도 돌도록 하루보다 짧게, 기동 시 따라잡기는 하루
+    private static final Duration SCHEDULED_INTERVAL = Duration.ofHours(12);
+    private static final Duration CATCH_UP_INTERVAL = Duration.ofDays(1);
+    private static final String BLACKLIST = "blacklisted_tokens";
+    private static final String AUDIT = "audit_log";
+
+    private final RetentionEngine engine;
+    private final RevokedTokenRegistry revokedTokens;
+    private final CodeSequenceRepository sequenceRepo;
+    private final AuditArchive auditArchive;
+    private final TransactionTemplate tx;
+    private final boolean purgeWithoutArchive;
+    // 감사 로그를 제외한 정책 (임대를 잡은 노드가 실행)
+    private final List<RetentionPolicy> policies;
+    private final RetentionPolicy auditPolicy;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "retention");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RetentionScheduler(RetentionEngine engine,
+                              RevokedTokenRegistry revokedTokens,
+                              CodeSequenceRepository sequenceRepo,
+                              AuditArchive auditArchive,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.retention.audit-purge-without-archive:false}") boolean purgeWithoutArchive,
+                              @Value("${app.retention.audit-days:90}") int auditDays,
+                              @Value("${app.retention.notification-days:90}") int notificationDays,
+                              @Value("${app.retention.notification-max-per-user:200}") int notificationMaxPerUser,
+                              @Value("${app.retention.invite-days:30}") int inviteDays) {
+        this.engine = engine;
+        this.revokedTokens = revokedTokens;
+        this.sequenceRepo = sequenceRepo;
+        this.auditArchive = auditArchive;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.purgeWithoutArchive = purgeWithoutArchive;
+        this.auditPolicy = RetentionPolicy.byAge(AUDIT, "occurred_at", Duration.ofDays(auditDays));
+        this.policies = List.of(
+                RetentionPolicy.byAge(BLACKLIST, "expiry", Duration.ZERO),
+                RetentionPolicy.byAge("notifications", "created_at", Duration.ofDays(notificationDays))
+                        .maxRowsPer("user_id", notificationMaxPerUser),
+                RetentionPolicy.byAge("server_invites", "created_at", Duration.ofDays(inviteDays))
+                        .where("status <> 'PENDING'"));
+    }
+
+    // 매일 새벽 3시 30분: 전용 스레드에서 정책을 순서대로 실행
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}", zone = "Asia/Seoul")
+    public void run() {
+        executor.execute(() -> runAll(SCHEDULED_INTERVAL));
+    }
+
+    /** 마지막 완료가 하루 이상 전이면(노드 중단 등으로 빠진 실행) 기동 시 비동기로 정리 */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    public void catchUp() {
+        executor.execute(() -> runAll(CATCH_UP_INTERVAL));
+    }
+
+    @PreDestroy
+    void stop() {
+        // 삭제 배치 사이에서 중단되고 남은 행은 다음 실행이 이어서 지운다
+        executor.shutdownNow();
+    }
+
+    void runAll(Duration minInterval) {
+        runExclusive(minInterval);
+        if (auditArchive.isEnabled()) archiveAndPurgeAudit(minInterval);
+    }
+
+    private void runExclusive(Duration minInterval) {
+        if (!acquire(minInterval)) return;
+        try {
+            purgeAll();
+        } finally {
+            release();
+        }
+    }
+
+    // 임대가 비어 있고 마지막 완료 후 minInterval 이 지났으면 임대를 잡는다
+    private boolean acquire(Duration minInterval) {
+        try {
+            return Boolean.TRUE.equals(tx.execute(status -> {
+                CodeSequence lock = sequenceRepo.findForUpdate(LOCK)
+                        .orElseGet(() -> sequenceRepo.saveAndFlush(
+                                CodeSequence.builder().name(LOCK).nextValue(0L).build()));
+                long now = Instant.now().getEpochSecond();
+                if (lock.getNextValue() > now) return false;
+                long last = sequenceRepo.findById(LAST_RUN).map(CodeSequence::getNextValue).orElse(0L);
+                if (now - last < minInterval.toSeconds()) return false;
+                lock.setNextValue(now + LEASE.toSeconds());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 잠금 행을 만든 경우: 그 노드가 실행
+            log.info("Retention run is handled by another node");
+            return false;
+        }
+    }
+
+    private void release() {
+        try {
+            tx.executeWithoutResult(status -> sequenceRepo.findForUpdate(LOCK).ifPresent(l -> l.setNextValue(0L)));
+        } catch (DataAccessException e) {
+            log.warn("Retention lock release failed, it expires in {}: {}", LEASE, e.getMessage());
+        }
+    }
+
+    private void purgeAll() {
+        LocalDateTime now = LocalDateTime.now();
+        long purged = 0;
+        boolean complete = true;
+        // 보관 노드가 없는 환경에서만 임대 노드가 감사 로그를 보관 없이 지운다
+        List<RetentionPolicy> targets = purgeWithoutArchive && !auditArchive.isEnabled()
+                ? concat(auditPolicy, policies) : policies;
+        for (RetentionPolicy p : targets) {
+            if (Thread.currentThread().isInterrupted()) {
+                complete = false;
+                break;
+            }
+            try {
+                purged += engine.purge(p, now).purged();
+            } catch (DataAccessException e) {
+                complete = false;
+                log.warn("Retention {} failed: {}", p.name(), e.getMessage());
+            }
+            // 블룸 필터는 삭제를 지원하지 않으므로 만료 토큰 정리 후 재구성
+            if (BLACKLIST.equals(p.name())) revokedTokens.rebuild();
+        }
+        if (complete && !Thread.currentThread().isInterrupted()) markCompleted();
+        log.info("Retention run finished: {} rows purged", purged);
+    }
+
+    // 보관 노드: 삭제 대상 감사 로그를 먼저 보관하고, 보관을 마친 id 까지만 지운다. 보관에 실패하면 지우지 않음
+    private void archiveAndPurgeAudit(Duration minInterval) {
+        if (Thread.currentThread().isInterrupted()) return;
+        long last = sequenceRepo.findById(AUDIT_LAST_RUN).map(CodeSequence::getNextValue).orElse(0L);
+        if (Instant.now().getEpochSecond() - last < minInterval.toSeconds()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(auditPolicy.maxAge());
+        try {
+            long archived = auditArchive.archiveBefore(cutoff);
+            log.info("Archived {} audit log rows before {}", archived, cutoff);
+            // 보관 도중 들어온 행(더 큰 id)은 다음 실행에서 보관한 뒤 지운다
+            long purged = engine.purge(auditPolicy.where("id <= " + auditArchive.archivedThroughId()), now).purged();
+            if (!Thread.currentThread().isInterrupted()) markCompleted(AUDIT_LAST_RUN);
+            log.info("Audit retention finished: {} rows purged", purged);
+        } catch (IOException e) {
+            log.warn("Audit archive failed, audit_log purge skipped: {}", e.getMessage());
+        } catch (DataAccessException e) {
+            log.warn("Retention {} failed: {}", AUDIT, e.getMessage());
+        }
+    }
+
+    private static List<RetentionPolicy> concat(RetentionPolicy first, List<RetentionPolicy> rest) {
+        List<RetentionPolicy> all = new ArrayList<>(rest.size() + 1);
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+
+    private void markCompleted() {
+        markCompleted(LAST_RUN);
+    }
+
+    private void markCompleted(String name) {
+        CodeSequence mark = sequenceRepo.findById(name)
+                .orElseGet(() -> CodeSequence.builder().name(name).build());
+        mark.setNextValue(Instant.now().getEpochSecond());
+        sequenceRepo.save(mark);
+    }
+}
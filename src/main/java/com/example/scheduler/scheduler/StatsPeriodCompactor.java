@@ -0,0 +1,141 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import com.example.scheduler.repository.StatsHourlyGameRepository;
+import com.example.scheduler.repository.StatsUserDayRepository;
+import com.example.scheduler.service.StatsPeriods;
+import com.example.scheduler.service.StatsRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 마감된 날짜의 시간 롤업을 일/월 버킷(stats_period_*)으로 압축한다.
+ * 등록 시각(occurredAt)은 항상 현재 시각이므로 지난 날짜의 롤업은 더 바뀌지 않는다.
+ * 어디까지 압축했는지는 code_sequences 행(비관적 락)에 두어 여러 노드가 같은 날짜를 중복 압축하지 않는다.
+ * 롤업 재구성(StatsRollupService.rebuildFromAudit)이 끝나기 전에는 지난 날짜의 시간 롤업이 덜 채워져 있으므로
+ * 압축하지 않는다. 압축한 날짜는 다시 읽지 않기 때문에 먼저 압축하면 그 날짜의 버킷이 계속 적게 남는다.
+ */
+@Slf4j
+@Component
+public class StatsPeriodCompactor {
+
+    // nextValue = 다음에 압축할 날짜의 epochDay (0 = 아직 압축한 날짜 없음)
+    private static final String WATERMARK = "stats_period_compacted";
+
+    private static final String UPSERT_GAME =
+            "INSERT INTO stats_period_game (server_id, grain, bucket_date, game_name, game_id, registrations, user_days) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE registrations = registrations + VALUES(registrations), " +
+            "user_days = user_days + VALUES(user_days), game_id = VALUES(game_id)";
+    private static final String UPSERT_HOUR =
+            "INSERT INTO stats_period_hour (server_id, grain, bucket_date, slot_hour, user_days) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE user_days = user_days + VALUES(user_days)";
+
+    private final CodeSequenceRepository sequenceRepo;
+    private final StatsHourlyGameRepository hourlyGameRepo;
+    private final StatsUserDayRepository userDayRepo;
+    private final StatsRollupService rollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    public StatsPeriodCompactor(CodeSequenceRepository sequenceRepo,
+                                StatsHourlyGameRepository hourlyGameRepo,
+                                StatsUserDayRepository userDayRepo,
+                                StatsRollupService rollupService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.sequenceRepo = sequenceRepo;
+        this.hourlyGameRepo = hourlyGameRepo;
+        this.userDayRepo = userDayRepo;
+        this.rollupService = rollupService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 일/월 버킷에 반영이 끝난 마지막 날짜, 없으면 null. 이후 날짜는 시간 롤업에서 읽는다. */
+    public LocalDate compactedThrough() {
+        return sequenceRepo.findById(WATERMARK)
+                .filter(s -> s.getNextValue() > 0)
+                .map(s -> LocalDate.ofEpochDay(s.getNextValue() - 1))
+                .orElse(null);
+    }
+
+    // 기동 시(롤업 재구성 이후) 밀린 날짜를 따라잡고, 매일 자정 직후 전날을 압축
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    @Scheduled(cron = "0 10 0 * * *")
+    public void compactClosedDays() {
+        // 다른 노드가 재구성 중이면 건너뛰고 다음 주기에 따라잡는다 (그 사이 지난 날짜는 시간 롤업에서 읽힘)
+        if (!rollupService.rebuildComplete()) {
+            log.info("Stats period compaction deferred until the rollup rebuild completes");
+            return;
+        }
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        int days = 0;
+        try {
+            while (Boolean.TRUE.equals(tx.execute(status -> compactNextDay(yesterday)))) {
+                days++;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 워터마크 행을 만든 경우: 다음 주기에 이어서 처리
+            log.info("Stats period compaction is handled by another node");
+        }
+        if (days > 0) log.info("Stats period buckets compacted for {} days", days);
+    }
+
+    private boolean compactNextDay(LocalDate lastClosedDay) {
+        CodeSequence mark = sequenceRepo.findForUpdate(WATERMARK)
+                .orElseGet(() -> sequenceRepo.saveAndFlush(
+                        CodeSequence.builder().name(WATERMARK).nextValue(0L).build()));
+        LocalDate day = mark.getNextValue() > 0 ? LocalDate.ofEpochDay(mark.getNextValue()) : firstDataDay();
+        if (day == null || day.isAfter(lastClosedDay)) return false;
+
+        compact(day);
+        mark.setNextValue(day.plusDays(1).toEpochDay());
+        return true;
+    }
+
+    private LocalDate firstDataDay() {
+        LocalDateTime firstBucket = hourlyGameRepo.findFirstBucket();
+        LocalDate firstUserDay = userDayRepo.findFirstDay();
+        if (firstBucket == null) return firstUserDay;
+        if (firstUserDay == null) return firstBucket.toLocalDate();
+        return firstUserDay.isBefore(firstBucket.toLocalDate()) ? firstUserDay : firstBucket.toLocalDate();
+    }
+
+    private void compact(LocalDate day) {
+        Date dayBucket = Date.valueOf(day);
+        Date monthBucket = Date.valueOf(day.withDayOfMonth(1));
+
+        List<Object[]> games = new ArrayList<>();
+        for (var r : hourlyGameRepo.sumDay(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            for (Object[] grain : new Object[][]{{StatsPeriods.DAY, dayBucket}, {StatsPeriods.MONTH, monthBucket}}) {
+                games.add(new Object[]{r.getServerId(), grain[0], grain[1], r.getGameName(), r.getGameId(),
+                        r.getRegistrations(), r.getUserDays()});
+            }
+        }
+        List<Object[]> hours = new ArrayList<>();
+        for (var r : userDayRepo.countDayByServerAndHour(day)) {
+            for (Object[] grain : new Object[][]{{StatsPeriods.DAY, dayBucket}, {StatsPeriods.MONTH, monthBucket}}) {
+                hours.add(new Object[]{r.getServerId(), grain[0], grain[1], r.getSlotHour(), r.getCnt()});
+            }
+        }
+        if (!games.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_GAME, games);
+        if (!hours.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_HOUR, hours);
+    }
+}
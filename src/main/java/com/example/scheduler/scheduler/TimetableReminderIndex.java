@@ -0,0 +1,134 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 내 스케줄 리마인더 인덱스.
+ * 발송 시각(slot - 사용자 설정 분)을 미리 계산해 분 단위 버킷으로 보관하고,
+ * 매 분 스케줄러는 해당 분에 도래한 버킷만 꺼내 처리한다.
+ * 인덱스는 힌트일 뿐이며, 발송 직전에 DB의 엔트리와 대조해 오래된 항목은 버린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimetableReminderIndex {
+
+    public static final int DEFAULT_REMINDER_MINUTES = 10;
+
+    private final TimetableEntryRepository entryRepo;
+
+    // 발송 시각 → (entryId → 리마인더)
+    private final NavigableMap<LocalDateTime, Map<Long, Reminder>> buckets = new TreeMap<>();
+    // entryId → 리마인더 (취소/재예약용 역인덱스)
+    private final Map<Long, Reminder> byEntry = new HashMap<>();
+
+    public record Reminder(Long entryId, Long userId, LocalDateTime slot, LocalDateTime fireAt) {}
+
+    /** 기동 시 현재 이후 슬롯만 범위 조회(idx_entry_slot)로 읽어 인덱스 재구성 */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime now = currentMinute();
+        List<TimetableEntry> upcoming = entryRepo.findBySlotGreaterThanEqual(now);
+        synchronized (this) {
+            buckets.clear();
+            byEntry.clear();
+            for (TimetableEntry e : upcoming) {
+                put(e.getId(), e.getUser(), e.getSlot(), now);
+            }
+            log.info("Timetable reminder index rebuilt: {} reminders from {} upcoming entries", byEntry.size(), upcoming.size());
+        }
+    }
+
+    /** 엔트리 등록/변경 시 호출: 기존 예약을 지우고 현재 슬롯/사용자 설정 기준으로 재예약 */
+    public synchronized void schedule(TimetableEntry entry) {
+        if (entry == null || entry.getId() == null) return;
+        remove(entry.getId());
+        put(entry.getId(), entry.getUser(), entry.getSlot(), currentMinute());
+    }
+
+    public synchronized void unschedule(Long entryId) {
+        if (entryId == null) return;
+        remove(entryId);
+    }
+
+    /** 사용자 리마인더 설정 변경 시 해당 사용자의 예약 전체를 다시 계산 */
+    public synchronized void rescheduleUser(User user) {
+        if (user == null || user.getId() == null) return;
+        List<Reminder> mine = new ArrayList<>();
+        for (Reminder r : byEntry.values()) {
+            if (user.getId().equals(r.userId())) mine.add(r);
+        }
+        LocalDateTime now = currentMinute();
+        for (Reminder r : mine) {
+            remove(r.entryId());
+            put(r.entryId(), user, r.slot(), now);
+        }
+    }
+
+    /** now 이하로 도래한 리마인더를 꺼내 반환(꺼낸 항목은 인덱스에서 제거) */
+    public synchronized List<Reminder> pollDue(LocalDateTime now) {
+        NavigableMap<LocalDateTime, Map<Long, Reminder>> due = buckets.headMap(now, true);
+        if (due.isEmpty()) return Collections.emptyList();
+        List<Reminder> out = new ArrayList<>();
+        for (Map<Long, Reminder> bucket : due.values()) {
+            for (Reminder r : bucket.values()) {
+                byEntry.remove(r.entryId());
+                out.add(r);
+            }
+        }
+        due.clear();
+        return out;
+    }
+
+    public synchronized int size() {
+        return byEntry.size();
+    }
+
+    public static LocalDateTime fireAt(User user, LocalDateTime slot) {
+        if (user == null || slot == null) return null;
+        if (Boolean.FALSE.equals(user.getPushMyTimetableReminderEnabled())) return null;
+        Integer minutes = user.getMyTimetableReminderMinutes();
+        if (minutes == null) minutes = DEFAULT_REMINDER_MINUTES;
+        return slot.minusMinutes(minutes).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private void put(Long entryId, User user, LocalDateTime slot, LocalDateTime now) {
+        LocalDateTime fireAt = fireAt(user, slot);
+        if (fireAt == null || fireAt.isBefore(now)) return;
+        Reminder r = new Reminder(entryId, user.getId(), slot, fireAt);
+        buckets.computeIfAbsent(fireAt, k -> new HashMap<>()).put(entryId, r);
+        byEntry.put(entryId, r);
+    }
+
+    private void remove(Long entryId) {
+        Reminder old = byEntry.remove(entryId);
+        if (old == null) return;
+        Map<Long, Reminder> bucket = buckets.get(old.fireAt());
+        if (bucket == null) return;
+        bucket.remove(entryId);
+        if (bucket.isEmpty()) buckets.remove(old.fireAt());
+    }
+
+    private static LocalDateTime currentMinute() {
+        return LocalDateTime.now().withSecond(0).withNano(0);
+    }
+}
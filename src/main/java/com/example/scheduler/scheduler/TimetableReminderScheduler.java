@@ -10,42 +10,47 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class TimetableReminderScheduler {
 
     private final TimetableEntryRepository entryRepo;
     private final NotificationService notificationService;
+    private final TimetableReminderIndex reminderIndex;
 
     public TimetableReminderScheduler(TimetableEntryRepository entryRepo,
-                                      NotificationService notificationService) {
+                                      NotificationService notificationService,
+                                      TimetableReminderIndex reminderIndex) {
         this.entryRepo = entryRepo;
         this.notificationService = notificationService;
+        this.reminderIndex = reminderIndex;
     }
 
-    // 1분마다 체크
+    // 1분마다 체크: 인덱스에서 이번 분에 도래한 리마인더만 꺼내 처리
     @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
     public void sendReminders() {
         LocalDateTime now = LocalDateTime.now().withSecond(0).withNano(0);
-        // 오늘과 내일 사이 전체 엔트리 조회 후, 각 유저의 설정을 기준으로 now + offset 일치 여부 확인
-        // 간단화를 위해 전체 엔트리 가져와 필터링
-        // 실제 서비스에서는 시간 인덱싱/범위 조회로 최적화 권장
-        List<TimetableEntry> all = entryRepo.findAll();
-        for (TimetableEntry e : all) {
+        List<TimetableReminderIndex.Reminder> due = reminderIndex.pollDue(now);
+        if (due.isEmpty()) return;
+
+        // 도래한 엔트리만 조회해 인덱스 이후 변경(삭제/슬롯 변경/설정 변경)된 항목은 건너뜀
+        Map<Long, TimetableEntry> entries = entryRepo.findByIdIn(
+                due.stream().map(TimetableReminderIndex.Reminder::entryId).toList()
+        ).stream().collect(Collectors.toMap(TimetableEntry::getId, Function.identity()));
+
+        for (TimetableReminderIndex.Reminder r : due) {
+            TimetableEntry e = entries.get(r.entryId());
+            if (e == null || !e.getSlot().equals(r.slot()) || e.getSlot().isBefore(now)) continue;
             User u = e.getUser();
-            Boolean enabled = u.getPushMyTimetableReminderEnabled();
-            if (Boolean.FALSE.equals(enabled)) continue;
-            Integer minutes = u.getMyTimetableReminderMinutes();
-            if (minutes == null) minutes = 10;
-            LocalDateTime target = e.getSlot().minusMinutes(minutes).withSecond(0).withNano(0);
-            if (target.equals(now)) {
-                String title = "곧 합류 시간입니다";
-                String body = e.getCustomGame() != null ? e.getCustomGame().getName() : e.getDefaultGame().getName();
-                body = body + " · " + e.getSlot().toLocalTime().toString();
-                notificationService.notifyPushOnly(u, NotificationType.TIMETABLE, title, body);
-            }
+            if (!r.fireAt().equals(TimetableReminderIndex.fireAt(u, e.getSlot()))) continue;
+            String title = "곧 합류 시간입니다";
+            String body = e.getCustomGame() != null ? e.getCustomGame().getName()
+                    : (e.getDefaultGame() != null ? e.getDefaultGame().getName() : TimetableEntry.NO_GAME_NAME);
+            body = body + " · " + e.getSlot().toLocalTime().toString();
+            notificationService.notifyPushOnly(u, NotificationType.TIMETABLE, title, body);
         }
     }
 }
-
-
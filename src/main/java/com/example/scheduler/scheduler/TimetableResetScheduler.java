@@ -1,58 +1,81 @@
 package com.example.scheduler.scheduler;
 
 import com.example.scheduler.domain.Server;
-import com.example.scheduler.domain.TimetableEntry;
-import com.example.scheduler.service.AuditService;
 import com.example.scheduler.repository.ServerRepository;
-import com.example.scheduler.repository.TimetableEntryRepository;
-import com.example.scheduler.repository.PartyRepository;
-import org.springframework.transaction.annotation.Transactional;
+import com.example.scheduler.service.TimetableResetService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TimetableResetScheduler {
     private final ServerRepository serverRepo;
-    private final TimetableEntryRepository entryRepo;
-    private final PartyRepository partyRepo;
-    private final AuditService auditService;
+    private final TimetableResetService resetService;
+    private final MeterRegistry meterRegistry;
+    private final ResetSchedule resetSchedule;
+
+    // 한 트랜잭션에서 처리할 서버 수 (00:00/06:00 등 몰리는 분의 락 범위 제한)
+    @Value("${app.reset.chunk-size:50}")
+    private int chunkSize;
 
     @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
-    @Transactional
     public void resetTimetables() {
         LocalTime now = LocalTime.now().withSecond(0).withNano(0);
-        List<Server> servers = serverRepo.findByResetTime(now);
-        for (Server srv : servers) {
-            if (srv.isResetPaused()) continue;
-            // 감사 로그를 위해 삭제 전 엔트리 조회 후 기록
-            try {
-                java.util.List<TimetableEntry> entries = entryRepo.findByServerOrderBySlot(srv);
-                for (TimetableEntry e : entries) {
-                    Long userId = (e.getUser() != null) ? e.getUser().getId() : null;
-                    String gameName = (e.getCustomGame() != null)
-                            ? e.getCustomGame().getName()
-                            : (e.getDefaultGame() != null ? e.getDefaultGame().getName() : "");
-                    String details = String.format("reason=SERVER_RESET;game=%s;slot=%s", safe(gameName), e.getSlot());
-                    auditService.log(srv.getId(), userId, "TIMETABLE_RESET_DELETE", details);
-                }
-            } catch (Exception ignored) {}
-            entryRepo.deleteAllByServer(srv);
+        // 인덱스에 도래한 서버가 없으면 DB를 건드리지 않음
+        List<Long> candidates = resetSchedule.dueAt(now);
+        if (candidates.isEmpty()) return;
+        // 다른 노드에서 변경되었을 수 있으므로 실제 값으로 재확인하고, 어긋난 항목은 인덱스도 바로잡음
+        int minute = ResetSchedule.minuteOfDay(now);
+        List<Server> loaded = serverRepo.findAllById(candidates);
+        Set<Long> found = new HashSet<>();
+        List<Long> due = new ArrayList<>();
+        for (Server s : loaded) {
+            found.add(s.getId());
+            if (!s.isResetPaused() && s.getResetTime() != null
+                    && ResetSchedule.minuteOfDay(s.getResetTime()) == minute) {
+                due.add(s.getId());
+            } else {
+                resetSchedule.update(s);
+            }
+        }
+        candidates.stream().filter(id -> !found.contains(id)).forEach(resetSchedule::remove);
+        if (due.isEmpty()) return;
 
-            // 파티도 함께 초기화
+        long started = System.nanoTime();
+        int size = Math.max(1, chunkSize);
+        int servers = 0, entries = 0, parties = 0, failed = 0;
+        for (int i = 0; i < due.size(); i += size) {
+            List<Long> chunk = due.subList(i, Math.min(i + size, due.size()));
             try {
-                auditService.log(srv.getId(), null, "PARTY_RESET_DELETE", "reason=SERVER_RESET");
-            } catch (Exception ignored) {}
-            partyRepo.deleteAllByServer(srv);
+                TimetableResetService.ChunkResult r = resetService.resetChunk(chunk);
+                servers += r.servers();
+                entries += r.entries();
+                parties += r.parties();
+            } catch (Exception e) {
+                failed += chunk.size();
+                log.warn("Timetable reset chunk failed (servers={}): {}", chunk, e.getMessage());
+            }
         }
-    }
+        long elapsed = System.nanoTime() - started;
 
-    private String safe(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+        meterRegistry.counter("timetable.reset.servers").increment(servers);
+        meterRegistry.counter("timetable.reset.entries").increment(entries);
+        meterRegistry.counter("timetable.reset.parties").increment(parties);
+        meterRegistry.counter("timetable.reset.failed.servers").increment(failed);
+        meterRegistry.timer("timetable.reset.duration").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Timetable reset at {}: servers={}, entries={}, parties={}, failedServers={}, took={}ms",
+                now, servers, entries, parties, failed, TimeUnit.NANOSECONDS.toMillis(elapsed));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.repository.ServerRepository;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import com.example.scheduler.service.TimetableSnapshots;
+import com.example.scheduler.service.TimetableStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 통계 카운터 정합성 점검.
+ * 메모리에 올라간 서버별 카운터를 테이블에서 다시 계산한 값과 비교하고, 다르면 교체한다.
+ * (다른 노드의 변경, 디스코드 봇 등 카운터를 거치지 않은 변경 보정)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimetableStatsVerifier {
+    private final TimetableStats timetableStats;
+    private final ServerRepository serverRepo;
+    private final TimetableEntryRepository entryRepo;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${app.timetable.stats-verify-ms:600000}",
+            initialDelayString = "${app.timetable.stats-verify-ms:600000}")
+    public void verify() {
+        int rebuilt = 0;
+        for (Long serverId : timetableStats.loadedServers()) {
+            long version = timetableStats.version(serverId);
+            List<TimetableSnapshots.EntryView> views = serverRepo.findById(serverId)
+                    .map(srv -> entryRepo.findByServerOrderBySlot(srv).stream()
+                            .map(TimetableSnapshots.EntryView::of)
+                            .toList())
+                    .orElse(List.of());
+            if (timetableStats.verify(serverId, version, views)) rebuilt++;
+        }
+        if (rebuilt > 0) {
+            meterRegistry.counter("timetable.stats.rebuilt").increment(rebuilt);
+            log.warn("Timetable stats rebuilt for {} servers after mismatch", rebuilt);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.scheduler.security;
 
 import com.example.scheduler.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component("adminGuard")
@@ -13,6 +15,11 @@ public class AdminGuard {
 
     public boolean isAdmin(String username) {
         if (username == null) return false;
+        // 현재 요청의 인증 주체라면 이미 검증된 권한으로 판단 (DB 조회 생략)
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser principal && username.equals(principal.getUsername())) {
+            return principal.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        }
         return userRepository.findByUsername(username)
                 .map(u -> Boolean.TRUE.equals(u.getAdmin()))
                 .orElse(false);
@@ -0,0 +1,33 @@
+package com.example.scheduler.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 인증 주체. username 외에 사용자 id를 함께 들고 있어
+ * 토큰 claims만으로 만든 경우에도 서비스가 DB 조회 없이 id를 사용할 수 있다.
+ */
+@Getter
+public class AuthUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+
+    public AuthUser(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password == null ? "" : password, authorities);
+        this.id = id;
+    }
+
+    public static List<GrantedAuthority> authorities(boolean admin) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+        if (admin) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return authorities;
+    }
+}
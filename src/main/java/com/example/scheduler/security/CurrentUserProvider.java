@@ -0,0 +1,101 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 현재 인증 사용자 조회를 요청 단위로 한 번만 수행한다.
+ * 조회한 User 는 요청 attribute 에 보관하고, 요청이 없는 스레드(스케줄러/디스코드 봇)에서는 매번 조회한다.
+ * 서비스마다 기존 예외 동작이 달라 Optional 로 돌려주고, 예외 변환은 호출 측에서 한다.
+ */
+@Slf4j
+@Component
+public class CurrentUserProvider {
+
+    private static final String USER_ATTR = CurrentUserProvider.class.getName() + ".user";
+    private static final String REUSED_ATTR = CurrentUserProvider.class.getName() + ".reused";
+
+    private final UserRepository userRepo;
+    private final Counter loaded;
+    private final Counter reused;
+
+    // 개발 환경에서 요청별로 절약된 중복 조회 수를 로그로 남김
+    @Value("${app.dev.current-user-stats:false}")
+    private boolean devStats;
+
+    public CurrentUserProvider(UserRepository userRepo, MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.loaded = Counter.builder("current.user.lookups")
+                .tag("result", "loaded")
+                .description("현재 사용자 DB 조회 수")
+                .register(meterRegistry);
+        this.reused = Counter.builder("current.user.lookups")
+                .tag("result", "reused")
+                .description("요청 내 재사용으로 생략된 현재 사용자 조회 수")
+                .register(meterRegistry);
+    }
+
+    /** 현재 인증 사용자. 인증 정보가 없거나 사용자가 없으면 empty */
+    public Optional<User> find() {
+        String username = currentUsername();
+        if (username == null) return Optional.empty();
+
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            loaded.increment();
+            return userRepo.findByUsername(username);
+        }
+        Object cached = attrs.getAttribute(USER_ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof User u && username.equals(u.getUsername())) {
+            reused.increment();
+            countReuse(attrs);
+            return Optional.of(u);
+        }
+        loaded.increment();
+        Optional<User> user = userRepo.findByUsername(username);
+        user.ifPresent(u -> attrs.setAttribute(USER_ATTR, u, RequestAttributes.SCOPE_REQUEST));
+        return user;
+    }
+
+    /** 현재 사용자 id. 토큰 claims 로 만든 principal 이면 DB 조회 없이 반환, 없으면 null */
+    public Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser au && au.getId() != null) {
+            return au.getId();
+        }
+        return find().map(User::getId).orElse(null);
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) return null;
+        return auth.getName();
+    }
+
+    private void countReuse(RequestAttributes attrs) {
+        if (!devStats) return;
+        Object counter = attrs.getAttribute(REUSED_ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (counter instanceof AtomicInteger c) {
+            c.incrementAndGet();
+            return;
+        }
+        AtomicInteger c = new AtomicInteger(1);
+        attrs.setAttribute(REUSED_ATTR, c, RequestAttributes.SCOPE_REQUEST);
+        attrs.registerDestructionCallback(REUSED_ATTR,
+                () -> log.debug("Current user lookups reused in request: {}", c.get()),
+                RequestAttributes.SCOPE_REQUEST);
+    }
+}
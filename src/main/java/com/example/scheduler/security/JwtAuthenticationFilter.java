@@ -4,6 +4,7 @@ package com.example.scheduler.security;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,11 +15,17 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+
+    // 토큰 없이 호출하는 인증 엔드포인트 (logout-all/password 는 인증 주체가 필요하므로 제외)
+    private static final Set<String> PUBLIC_AUTH_PATHS = Set.of(
+            "/api/auth/signup", "/api/auth/login", "/api/auth/refresh", "/api/auth/logout");
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -27,7 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws IOException, ServletException {
         String path = request.getServletPath();
         // 인증이 필요 없는 엔드포인트는 필터링하지 않음
-        if (path.startsWith("/api/auth/")) {
+        if (PUBLIC_AUTH_PATHS.contains(path)) {
             chain.doFilter(request, response);
             return;
         }
@@ -36,19 +43,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             if (tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                UserDetails userDetails = resolvePrincipal(token);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(String token) {
+        // 1) claims의 버전/권한이 현재 값과 같으면 DB 조회 없이 주체 구성
+        JwtTokenProvider.AuthClaims claims = tokenProvider.getAuthClaims(token);
+        if (claims != null && tokenVersionCache.isCurrent(claims.userId(), claims.version(), claims.admin())) {
+            return new AuthUser(claims.userId(), claims.username(), "", AuthUser.authorities(claims.admin()));
+        }
+        // 2) 구버전 토큰이거나 권한/버전 변경, 탈퇴 → DB 기준
+        try {
+            return userDetailsService.loadUserByUsername(tokenProvider.getUsername(token));
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
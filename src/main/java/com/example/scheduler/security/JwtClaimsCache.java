@@ -0,0 +1,82 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.common.util.LruCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서명 검증이 끝난 JWT claims 캐시.
+ * 토큰 원문 대신 SHA-256 해시를 키로 쓰고, 항목은 토큰의 exp 시각에 만료된다.
+ * 크기 상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거(LRU).
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final LruCache<String, CachedClaims> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CachedClaims(Claims claims, long expiresAtMs) {}
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-entries:10000}") int maxEntries,
+                          MeterRegistry meterRegistry) {
+        this.entries = new LruCache<>(maxEntries);
+        FunctionCounter.builder("jwt.claims.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("검증된 JWT claims 캐시 적중 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.claims.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("검증된 JWT claims 캐시 미스 수(서명 검증 수행)")
+                .register(meterRegistry);
+        Gauge.builder("jwt.claims.cache.size", this, JwtClaimsCache::size)
+                .register(meterRegistry);
+    }
+
+    /** 캐시된 claims 반환. 없거나 exp가 지났으면 null */
+    public Claims get(String token) {
+        String key = keyOf(token);
+        CachedClaims cached = entries.get(key);
+        if (cached != null && cached.expiresAtMs() > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return cached.claims();
+        }
+        if (cached != null) entries.remove(key, cached);
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String token, Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) return; // 만료 없는 토큰은 캐시하지 않음
+        entries.put(keyOf(token), new CachedClaims(claims, exp.getTime()));
+    }
+
+    public void evict(String token) {
+        entries.remove(keyOf(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String keyOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.scheduler.security;
 
-import com.example.scheduler.repository.BlacklistedTokenRepository;
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -24,6 +25,10 @@ public class JwtTokenProvider {
     private static final String TOKEN_TYPE_ACCESS = "access";
     private static final String TOKEN_TYPE_REFRESH = "refresh";
     private static final String ISSUER = "gamesync";
+    // 무상태 인증용 claims (발급 시점 기준)
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ADMIN = "adm";
+    private static final String CLAIM_VERSION = "ver";
 
     @Value("${jwt.secret}")
     private String secretBase64;
@@ -34,9 +39,13 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration-ms:1209600000}") // 기본 14일
     private long refreshValidityInMs;
 
-    private final BlacklistedTokenRepository blacklistRepo;
+    private final RevokedTokenRegistry revokedTokens;
+    private final JwtClaimsCache claimsCache;
+    private final UserRepository userRepo;
+    private final TokenVersionCache tokenVersionCache;
 
     private Key key;
+    private JwtParser parser; // 불변·thread-safe 이므로 한 번만 생성
 
     @PostConstruct
     public void init() {
@@ -52,28 +61,45 @@ public class JwtTokenProvider {
             log.warn("JWT secret key length is less than 256 bits. Consider using a stronger key.");
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(ISSUER)  // issuer 검증
+                .build();
     }
 
+    /** 인증 주체 구성용 claims. 구버전 토큰(uid 없음)은 null */
+    public record AuthClaims(Long userId, String username, boolean admin, int version) {}
+
     /* ---------- 발행 ---------- */
     public String createToken(String username) {
-        return createToken(username, validityInMs, TOKEN_TYPE_ACCESS);
+        // 액세스 토큰에는 사용자 id/관리자 여부/버전을 넣어 요청마다 사용자 조회를 생략
+        User user = userRepo.findByUsername(username).orElse(null);
+        return createToken(username, validityInMs, TOKEN_TYPE_ACCESS, user);
     }
 
     public String createRefreshToken(String username) {
-        return createToken(username, refreshValidityInMs, TOKEN_TYPE_REFRESH);
+        // 리프레시 토큰에도 버전을 넣어 전체 로그아웃/비밀번호 변경 시 함께 무효화
+        User user = userRepo.findByUsername(username).orElse(null);
+        return createToken(username, refreshValidityInMs, TOKEN_TYPE_REFRESH, user);
     }
 
-    private String createToken(String username, long ttlMs, String tokenType) {
+    private String createToken(String username, long ttlMs, String tokenType, User user) {
         Date now    = new Date();
         Date expiry = new Date(now.getTime() + ttlMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setId(UUID.randomUUID().toString())  // 고유 토큰 ID
                 .setSubject(username)
                 .setIssuer(ISSUER)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .claim(CLAIM_TOKEN_TYPE, tokenType)
+                .claim(CLAIM_TOKEN_TYPE, tokenType);
+        if (user != null) {
+            builder.claim(CLAIM_USER_ID, user.getId())
+                    .claim(CLAIM_ADMIN, Boolean.TRUE.equals(user.getAdmin()))
+                    .claim(CLAIM_VERSION, TokenVersionCache.versionOf(user.getTokenVersion()));
+        }
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)  // HS256 → HS512
                 .compact();
     }
@@ -95,15 +121,22 @@ public class JwtTokenProvider {
         return getClaims(token).get(CLAIM_TOKEN_TYPE, String.class);
     }
 
-    private Claims getClaims(String token) {
-        return parser().parseClaimsJws(token).getBody();
+    public AuthClaims getAuthClaims(String token) {
+        Claims claims = getClaims(token);
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null) return null;
+        Boolean admin = claims.get(CLAIM_ADMIN, Boolean.class);
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        return new AuthClaims(userId, claims.getSubject(), Boolean.TRUE.equals(admin), TokenVersionCache.versionOf(version));
     }
 
-    private JwtParser parser() {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .requireIssuer(ISSUER)  // issuer 검증
-                .build();
+    // 토큰 수명 동안 서명 검증은 한 번만: 검증된 claims를 exp까지 캐시
+    private Claims getClaims(String token) {
+        Claims cached = claimsCache.get(token);
+        if (cached != null) return cached;
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(token, claims);
+        return claims;
     }
 
     /* ---------- 검증 ---------- */
@@ -126,12 +159,20 @@ public class JwtTokenProvider {
                 return false;
             }
 
-            // 블랙리스트 검사
-            if (blacklistRepo.existsByToken(token)) {
+            // 블랙리스트 검사 (jti 기준, 대부분 인메모리 필터에서 종료)
+            if (revokedTokens.isRevoked(claims.getId())) {
                 log.debug("Token is blacklisted");
                 return false;
             }
 
+            // 토큰 버전 검사: 발급 이후 전체 로그아웃/비밀번호 변경/관리자 폐기가 있었으면 거부 (ver 없는 구버전 토큰은 제외)
+            Long userId = claims.get(CLAIM_USER_ID, Long.class);
+            Integer version = claims.get(CLAIM_VERSION, Integer.class);
+            if (userId != null && version != null && tokenVersionCache.isRevoked(userId, version)) {
+                log.debug("Token version is revoked");
+                return false;
+            }
+
             return true;
         } catch (ExpiredJwtException e) {
             log.debug("Token expired: {}", e.getMessage());
@@ -0,0 +1,154 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.common.util.BloomFilter;
+import com.example.scheduler.domain.BlacklistedToken;
+import com.example.scheduler.repository.BlacklistedTokenRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 폐기(로그아웃)된 토큰의 jti 레지스트리.
+ * Bloom filter 가 "없음"이라고 답하면 DB를 조회하지 않고, "있을 수도 있음"일 때만 existsByJti 로 확정한다.
+ * 필터는 삭제를 지원하지 않으므로 만료 행 정리 후 rebuild() 로 새로 만든다.
+ * 재구성 중에 들어온 revoke() 는 따로 모아 두었다가 새 필터에도 넣은 뒤 교체한다.
+ * 다른 노드에서 폐기된 토큰은 syncNew 주기(app.blacklist.sync-ms, 기본 30초)가 지나야 이 노드의 필터에 반영된다.
+ * 그 사이 필터가 "없음"이라고 답하면 해당 토큰은 이 노드에서 최대 한 주기 동안 유효하게 처리된다.
+ * IDENTITY id 는 커밋 순서와 다를 수 있으므로(작은 id 가 나중에 커밋) 동기화는 워터마크보다
+ * sync-overlap 개 앞의 id 부터 다시 읽는다. 이미 넣은 jti 를 다시 넣는 것은 무해하다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenRegistry {
+
+    private final BlacklistedTokenRepository blacklistRepo;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.blacklist.expected-size:100000}")
+    private int expectedSize;
+
+    @Value("${app.blacklist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.blacklist.sync-overlap:1000}")
+    private long syncOverlap;
+
+    // 기동 직후 구성 전에는 null → 항상 DB 확인
+    private volatile BloomFilter filter;
+    private volatile long lastSeenId;
+
+    // 재구성 중 revoke() 된 jti (재구성 중이 아니면 null). revokeLock 으로 보호
+    private final Object revokeLock = new Object();
+    private Set<String> revokedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public synchronized void rebuild() {
+        Date now = new Date();
+        synchronized (revokeLock) {
+            revokedDuringRebuild = new HashSet<>();
+        }
+        try {
+            swapIn(build(now));
+        } finally {
+            synchronized (revokeLock) {
+                revokedDuringRebuild = null;
+            }
+        }
+    }
+
+    private BloomFilter build(Date now) {
+        migrateLegacyRows(now);
+
+        List<BlacklistedTokenRepository.RevokedJti> active = blacklistRepo.findActiveJtis(now);
+        BloomFilter next = new BloomFilter(Math.max(expectedSize, active.size() * 2), falsePositiveRate);
+        long maxId = lastSeenId;
+        for (BlacklistedTokenRepository.RevokedJti r : active) {
+            next.put(r.getJti());
+            maxId = Math.max(maxId, r.getId());
+        }
+        this.lastSeenId = maxId;
+        log.info("Revoked token filter rebuilt: {} active jti, {} bits", active.size(), next.bitSize());
+        return next;
+    }
+
+    // DB 조회 이후에 들어온 revoke 를 새 필터에 합친 뒤 교체 (revoke 와 같은 락 안에서)
+    private void swapIn(BloomFilter next) {
+        synchronized (revokeLock) {
+            revokedDuringRebuild.forEach(next::put);
+            this.filter = next;
+        }
+    }
+
+    // 다른 노드의 로그아웃 반영 (id 워터마크 - overlap 이후 행 조회: 늦게 커밋된 작은 id 도 다시 읽힘)
+    @Scheduled(fixedDelayString = "${app.blacklist.sync-ms:30000}",
+            initialDelayString = "${app.blacklist.sync-ms:30000}")
+    public synchronized void syncNew() {
+        BloomFilter f = filter;
+        if (f == null) return;
+        long maxId = lastSeenId;
+        for (BlacklistedTokenRepository.RevokedJti r : blacklistRepo.findJtisAfter(Math.max(0, maxId - syncOverlap))) {
+            f.put(r.getJti());
+            maxId = Math.max(maxId, r.getId());
+        }
+        lastSeenId = maxId;
+    }
+
+    /** 로그아웃 시 호출 (DB 저장과 함께) */
+    public void revoke(String jti) {
+        if (jti == null) return;
+        synchronized (revokeLock) {
+            BloomFilter f = filter;
+            if (f != null) f.put(jti);
+            if (revokedDuringRebuild != null) revokedDuringRebuild.add(jti);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) return false;
+        BloomFilter f = filter;
+        if (f != null && !f.mightContain(jti)) return false;
+        return blacklistRepo.existsByJti(jti);
+    }
+
+    // jti 컬럼 도입 전 행: 토큰 payload에서 jti를 꺼내 채워 둔다 (자체 발급 토큰이므로 서명 검증 생략)
+    private void migrateLegacyRows(Date now) {
+        List<BlacklistedToken> legacy = blacklistRepo.findByJtiIsNullAndExpiryAfter(now);
+        for (BlacklistedToken b : legacy) {
+            String jti = extractJti(b.getToken());
+            if (jti != null) b.setJti(jti);
+        }
+        if (!legacy.isEmpty()) {
+            blacklistRepo.saveAll(legacy);
+            log.info("Backfilled jti for {} legacy blacklisted tokens", legacy.size());
+        }
+    }
+
+    private String extractJti(String token) {
+        if (token == null) return null;
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) return null;
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode node = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+            return node.hasNonNull("jti") ? node.get("jti").asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
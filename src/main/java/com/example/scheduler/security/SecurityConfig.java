@@ -1,6 +1,7 @@
 package com.example.scheduler.security;
 
 import com.example.scheduler.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.ObjectProvider;
@@ -35,14 +36,17 @@ public class SecurityConfig {
     private final CustomOAuth2UserService oauth2UserService;
     private final OAuth2LoginSuccessHandler oauth2SuccessHandler;
     private final ObjectProvider<ClientRegistrationRepository> clientRegistrationRepositoryProvider;
+    private final TokenVersionCache tokenVersionCache;
 
     public SecurityConfig(JwtTokenProvider tokenProvider,
                           org.springframework.security.core.userdetails.UserDetailsService userDetailsService,
                           CustomOAuth2UserService oauth2UserService,
                           OAuth2LoginSuccessHandler oauth2SuccessHandler,
-                          ObjectProvider<ClientRegistrationRepository> clientRegistrationRepositoryProvider) {
+                          ObjectProvider<ClientRegistrationRepository> clientRegistrationRepositoryProvider,
+                          TokenVersionCache tokenVersionCache) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
         this.oauth2UserService = oauth2UserService;
         this.oauth2SuccessHandler = oauth2SuccessHandler;
         this.clientRegistrationRepositoryProvider = clientRegistrationRepositoryProvider;
@@ -52,7 +56,7 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         // JWT 필터
         JwtAuthenticationFilter jwtFilter =
-                new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+                new JwtAuthenticationFilter(tokenProvider, userDetailsService, tokenVersionCache);
 
         http
                 // CORS
@@ -63,6 +67,10 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // URL 별 인가 설정
                 .authorizeHttpRequests(auth -> auth
+                        // 스트리밍 응답 완료 시의 ASYNC 디스패치 (최초 요청에서 이미 인가됨, JWT 필터는 다시 돌지 않음)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // 인증된 사용자 자신의 토큰을 폐기하는 엔드포인트
+                        .requestMatchers("/api/auth/logout-all", "/api/auth/password").authenticated()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/oauth2/**",
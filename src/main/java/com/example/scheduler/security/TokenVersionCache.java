@@ -0,0 +1,68 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.common.util.LruCache;
+import com.example.scheduler.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 사용자별 현재 토큰 버전/관리자 여부 캐시.
+ * 토큰 claims(ver, adm)와 비교해 일치하면 claims만으로 인증 주체를 만들고,
+ * 다르면(권한 변경, 버전 증가, 탈퇴) 필터가 DB 기반 인증으로 폴백한다.
+ * 버전은 전체 로그아웃/비밀번호 변경/관리자 토큰 폐기 시 증가하며, 그 이전 버전으로 발급된 토큰은 isRevoked 로 거부된다.
+ * 다른 노드/DB 직접 수정은 TTL 안에 반영된다.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final UserRepository userRepo;
+    private final long ttlMs;
+    private final LruCache<Long, Snapshot> cache;
+
+    private record Snapshot(int version, boolean admin, long loadedAtMs) {}
+
+    public TokenVersionCache(UserRepository userRepo,
+                             @Value("${app.auth.version-cache-ttl-ms:300000}") long ttlMs,
+                             @Value("${app.auth.version-cache-max-entries:50000}") int maxEntries) {
+        this.userRepo = userRepo;
+        this.ttlMs = ttlMs;
+        this.cache = new LruCache<>(maxEntries);
+    }
+
+    public boolean isCurrent(Long userId, int version, boolean admin) {
+        Snapshot s = snapshot(userId);
+        return s != null && s.version() == version && s.admin() == admin;
+    }
+
+    /** 토큰 발급 이후 사용자 토큰 버전이 올라갔으면 true (없는 사용자는 이후 사용자 조회에서 걸러지므로 false) */
+    public boolean isRevoked(Long userId, int version) {
+        Snapshot s = snapshot(userId);
+        return s != null && s.version() > version;
+    }
+
+    private Snapshot snapshot(Long userId) {
+        if (userId == null) return null;
+        long now = System.currentTimeMillis();
+        Snapshot s = cache.get(userId);
+        if (s == null || now - s.loadedAtMs() > ttlMs) {
+            Optional<UserRepository.AuthState> state = userRepo.findAuthStateById(userId);
+            if (state.isEmpty()) {
+                cache.remove(userId);
+                return null;
+            }
+            s = new Snapshot(versionOf(state.get().getTokenVersion()), Boolean.TRUE.equals(state.get().getAdmin()), now);
+            cache.put(userId, s);
+        }
+        return s;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) cache.remove(userId);
+    }
+
+    public static int versionOf(Integer version) {
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 보존 기간이 지난 감사 로그의 로컬 디스크 보관소.
+ * 하루당 세그먼트 파일(audit-yyyy-MM-dd.seg) 하나에 (occurredAt, id) 순으로 block-rows 행씩 압축(deflate)한 블록을
+ * 덧붙이고, 블록마다 고정 크기 항목을 인덱스 파일(.idx)에 남긴다.
+ * 인덱스 항목: offset, 압축 길이, 원본 길이, 행 수, 최소/최대 시각(epoch micros), 마지막 id, 서버 비트맵(serverId mod 64).
+ * 조회는 두 파일을 memory-map 해서 인덱스로 블록을 거른 뒤 해당 블록만 풀어 읽는다.
+ * 블록 데이터를 먼저 쓰고 인덱스를 나중에 쓰므로, 중간에 끊겨도 인덱스에 없는 꼬리 바이트만 남는다.
+ * 어디까지 보관했는지는 가장 최근 날짜 인덱스의 항목 중 가장 뒤 (occurredAt, id) 에서 복원한다.
+ * <p>
+ * 커밋이 늦어 이미 지나간 위치보다 이른 occurredAt 으로 들어온 행은 위치만으로는 다시 읽히지 않는다.
+ * 그래서 실행마다 audit_log 의 최대 id 를 high-water mark(audit.hwm)로 남기고, 다음 실행에서 그 이후 id 중
+ * 위치보다 앞선 행을 먼저 보관한다(해당 날짜 세그먼트 끝에 덧붙이므로 그 날의 조회 순서는 보관 순서를 따른다).
+ * 보존 정리는 {@link #archivedThroughId()} 이하의 id 만 지운다.
+ * 블록을 쓴 뒤 high-water mark 를 쓰기 전에 끊기면 다음 실행이 늦게 들어온 행을 한 번 더 보관할 수 있다(at-least-once).
+ * 파일이 로컬에 있으므로 기본값은 꺼짐이며, 지정한 한 노드에서만 켠다 (보관 조회도 그 노드로 보내야 한다).
+ */
+@Slf4j
+@Component
+public class AuditArchive {
+
+    private static final int INDEX_ENTRY_BYTES = 52;
+    private static final String HIGH_WATER_FILE = "audit.hwm";
+    private static final String COLUMNS =
+            "SELECT id, server_id, user_id, action, occurred_at, details, game_id, game_name, slot, reason, target_user_id ";
+    private static final String SELECT_CHUNK = COLUMNS +
+            "FROM audit_log WHERE occurred_at < ? AND (occurred_at > ? OR (occurred_at = ? AND id > ?)) AND id <= ? " +
+            "ORDER BY occurred_at, id LIMIT ?";
+    // 지난 실행 이후 들어왔지만 (occurredAt, id) 가 이미 보관한 위치 이하인 행. PK 범위로 읽는다
+    private static final String SELECT_LATE_CHUNK = COLUMNS +
+            "FROM audit_log WHERE id > ? AND id <= ? AND (occurred_at < ? OR (occurred_at = ? AND id <= ?)) " +
+            "ORDER BY id LIMIT ?";
+    private static final String SELECT_MAX_ID = "SELECT MAX(id) FROM audit_log";
+    private static final Comparator<AuditLog> ARCHIVE_ORDER =
+            Comparator.comparing(AuditLog::getOccurredAt).thenComparing(AuditLog::getId);
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, i) -> AuditLog.builder()
+            .id(rs.getLong("id"))
+            .serverId(rs.getObject("server_id", Long.class))
+            .userId(rs.getObject("user_id", Long.class))
+            .action(rs.getString("action"))
+            .occurredAt(rs.getTimestamp("occurred_at").toLocalDateTime())
+            .details(rs.getString("details"))
+            .gameId(rs.getObject("game_id", Long.class))
+            .gameName(rs.getString("game_name"))
+            .slot(rs.getTimestamp("slot") != null ? rs.getTimestamp("slot").toLocalDateTime() : null)
+            .reason(rs.getString("reason"))
+            .targetUserId(rs.getObject("target_user_id", Long.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path dir;
+    private final int blockRows;
+    private final int chunkSize;
+    private volatile long archivedThroughId;
+
+    private record Position(LocalDateTime at, long id) {}
+
+    public AuditArchive(JdbcTemplate jdbcTemplate,
+                        @Value("${app.audit.archive.enabled:false}") boolean enabled,
+                        @Value("${app.audit.archive.dir:./audit-archive}") String dir,
+                        @Value("${app.audit.archive.block-rows:512}") int blockRows,
+                        @Value("${app.audit.archive.chunk-size:2000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.blockRows = Math.max(1, blockRows);
+        this.chunkSize = Math.max(this.blockRows, chunkSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * cutoff 이전 행 중 아직 보관하지 않은 행을 세그먼트에 덧붙인다. 보존 정리(삭제) 전에 호출된다.
+     * 실행 시작 시점의 최대 id 까지만 읽으며, 끝나면 그 id 를 {@link #archivedThroughId()} 로 돌려준다.
+     * @return 보관한 행 수
+     */
+    public synchronized long archiveBefore(LocalDateTime cutoff) throws IOException {
+        if (!enabled) return 0;
+        Files.createDirectories(dir);
+        Position pos = lastArchived();
+        long prevHighWater = readHighWater();
+        Long maxId = jdbcTemplate.queryForObject(SELECT_MAX_ID, Long.class);
+        long highWater = Math.max(Math.max(prevHighWater, 0L), maxId != null ? maxId : 0L);
+        long total = 0;
+
+        // high-water mark 가 없으면(첫 실행) 위치 이하의 행은 모두 보관된 것으로 본다
+        long afterId = prevHighWater;
+        while (prevHighWater >= 0 && afterId < highWater) {
+            List<AuditLog> rows = jdbcTemplate.query(SELECT_LATE_CHUNK, ROW_MAPPER, afterId, highWater,
+                    Timestamp.valueOf(pos.at()), Timestamp.valueOf(pos.at()), pos.id(), chunkSize);
+            if (rows.isEmpty()) break;
+            afterId = rows.get(rows.size() - 1).getId();
+            List<AuditLog> sorted = new ArrayList<>(rows);
+            sorted.sort(ARCHIVE_ORDER);
+            appendBlocks(sorted);
+            total += rows.size();
+            if (rows.size() < chunkSize) break;
+        }
+
+        while (true) {
+            List<AuditLog> rows = jdbcTemplate.query(SELECT_CHUNK, ROW_MAPPER, Timestamp.valueOf(cutoff),
+                    Timestamp.valueOf(pos.at()), Timestamp.valueOf(pos.at()), pos.id(), highWater, chunkSize);
+            if (rows.isEmpty()) break;
+            appendBlocks(rows);
+            total += rows.size();
+            AuditLog last = rows.get(rows.size() - 1);
+            pos = new Position(last.getOccurredAt(), last.getId());
+            if (rows.size() < chunkSize) break;
+        }
+        writeHighWater(highWater);
+        archivedThroughId = highWater;
+        return total;
+    }
+
+    /** 마지막 {@link #archiveBefore} 가 cutoff 이전 행을 빠짐없이 보관한 id 상한. 보존 정리는 이 id 이하만 지운다 */
+    public long archivedThroughId() {
+        return archivedThroughId;
+    }
+
+    /**
+     * 보관된 로그 검색 (최신순). 날짜 범위의 세그먼트만 열고, 인덱스로 서버가 없는 블록은 건너뛴다.
+     * @param serverId/action null 이면 조건 없음
+     */
+    public List<AuditLog> query(Long serverId, String action, LocalDate from, LocalDate to, int limit) throws IOException {
+        List<AuditLog> out = new ArrayList<>();
+        for (LocalDate day = to; !day.isBefore(from) && out.size() < limit; day = day.minusDays(1)) {
+            Path seg = segment(day);
+            Path idx = index(day);
+            if (!Files.exists(seg) || !Files.exists(idx)) continue;
+            try (FileChannel ic = FileChannel.open(idx, StandardOpenOption.READ);
+                 FileChannel sc = FileChannel.open(seg, StandardOpenOption.READ)) {
+                long entries = ic.size() / INDEX_ENTRY_BYTES;
+                if (entries == 0) continue;
+                MappedByteBuffer index = ic.map(FileChannel.MapMode.READ_ONLY, 0, entries * INDEX_ENTRY_BYTES);
+                MappedByteBuffer data = sc.map(FileChannel.MapMode.READ_ONLY, 0, sc.size());
+                for (long e = entries - 1; e >= 0 && out.size() < limit; e--) {
+                    int base = (int) (e * INDEX_ENTRY_BYTES);
+                    long offset = index.getLong(base);
+                    int length = index.getInt(base + 8);
+                    int rawLength = index.getInt(base + 12);
+                    long serverBits = index.getLong(base + 44);
+                    if (serverId != null && (serverBits & serverBit(serverId)) == 0) continue;
+                    if (offset + length > data.capacity()) continue;
+
+                    List<AuditLog> rows = decode(inflate(data.slice((int) offset, length), rawLength));
+                    for (int r = rows.size() - 1; r >= 0 && out.size() < limit; r--) {
+                        AuditLog a = rows.get(r);
+                        if (serverId != null && !serverId.equals(a.getServerId())) continue;
+                        if (action != null && !action.equals(a.getAction())) continue;
+                        out.add(a);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /* ---------- 쓰기 ---------- */
+
+    // (occurredAt, id) 순으로 정렬된 행을 블록으로 나눠 덧붙인다. 블록은 하루를 넘지 않게 자른다
+    private void appendBlocks(List<AuditLog> rows) throws IOException {
+        int i = 0;
+        while (i < rows.size()) {
+            LocalDate day = rows.get(i).getOccurredAt().toLocalDate();
+            int j = i;
+            while (j < rows.size() && j - i < blockRows && rows.get(j).getOccurredAt().toLocalDate().equals(day)) j++;
+            appendBlock(day, rows.subList(i, j));
+            i = j;
+        }
+    }
+
+    private void appendBlock(LocalDate day, List<AuditLog> rows) throws IOException {
+        byte[] raw = encode(rows);
+        byte[] packed = deflate(raw);
+        long serverBits = 0;
+        for (AuditLog a : rows) {
+            if (a.getServerId() != null) serverBits |= serverBit(a.getServerId());
+        }
+
+        long offset;
+        try (FileChannel ch = FileChannel.open(segment(day), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = ch.size();
+            ch.position(offset);
+            writeFully(ch, ByteBuffer.wrap(packed));
+            ch.force(true);
+        }
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+                .putLong(offset)
+                .putInt(packed.length)
+                .putInt(raw.length)
+                .putInt(rows.size())
+                .putLong(micros(rows.get(0).getOccurredAt()))
+                .putLong(micros(rows.get(rows.size() - 1).getOccurredAt()))
+                .putLong(rows.get(rows.size() - 1).getId())
+                .putLong(serverBits);
+        entry.flip();
+        try (FileChannel ch = FileChannel.open(index(day), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // 이전에 쓰다 끊긴 불완전한 항목은 잘라낸다
+            long size = ch.size() - ch.size() % INDEX_ENTRY_BYTES;
+            ch.truncate(size);
+            ch.position(size);
+            writeFully(ch, entry);
+            ch.force(true);
+        }
+    }
+
+    // 가장 최근 날짜 인덱스 항목 중 가장 뒤의 (occurredAt, id) = 마지막으로 보관한 위치.
+    // 늦게 들어온 행의 블록이 뒤에 붙을 수 있으므로 마지막 항목이 아니라 전체의 최댓값을 쓴다
+    private Position lastArchived() throws IOException {
+        List<Path> indexes;
+        try (Stream<Path> files = Files.list(dir)) {
+            indexes = files.filter(p -> p.getFileName().toString().matches("audit-\\d{4}-\\d{2}-\\d{2}\\.idx"))
+                    .sorted((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()))
+                    .toList();
+        }
+        for (Path idx : indexes) {
+            try (FileChannel ch = FileChannel.open(idx, StandardOpenOption.READ)) {
+                long entries = ch.size() / INDEX_ENTRY_BYTES;
+                if (entries == 0) continue;
+                MappedByteBuffer index = ch.map(FileChannel.MapMode.READ_ONLY, 0, entries * INDEX_ENTRY_BYTES);
+                long maxMicros = Long.MIN_VALUE;
+                long maxId = 0;
+                for (long e = 0; e < entries; e++) {
+                    int base = (int) (e * INDEX_ENTRY_BYTES);
+                    long at = index.getLong(base + 28);
+                    long id = index.getLong(base + 36);
+                    if (at > maxMicros || (at == maxMicros && id > maxId)) {
+                        maxMicros = at;
+                        maxId = id;
+                    }
+                }
+                return new Position(fromMicros(maxMicros), maxId);
+            }
+        }
+        return new Position(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    }
+
+    // 파일이 없으면 -1 (high-water mark 도입 전 보관소이거나 첫 실행)
+    private long readHighWater() throws IOException {
+        Path file = dir.resolve(HIGH_WATER_FILE);
+        if (!Files.exists(file)) return -1;
+        return Long.parseLong(Files.readString(file).trim());
+    }
+
+    private void writeHighWater(long id) throws IOException {
+        Path tmp = dir.resolve(HIGH_WATER_FILE + ".tmp");
+        Files.writeString(tmp, Long.toString(id));
+        Files.move(tmp, dir.resolve(HIGH_WATER_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segment(LocalDate day) {
+        return dir.resolve("audit-" + day + ".seg");
+    }
+
+    private Path index(LocalDate day) {
+        return dir.resolve("audit-" + day + ".idx");
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    private static long serverBit(long serverId) {
+        return 1L << Math.floorMod(serverId, 64);
+    }
+
+    /* ---------- 블록 인코딩 ---------- */
+
+    private static byte[] encode(List<AuditLog> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (AuditLog a : rows) {
+            out.writeLong(a.getId());
+            writeLong(out, a.getServerId());
+            writeLong(out, a.getUserId());
+            writeString(out, a.getAction());
+            out.writeLong(micros(a.getOccurredAt()));
+            writeString(out, a.getDetails());
+            writeLong(out, a.getGameId());
+            writeString(out, a.getGameName());
+            writeLong(out, a.getSlot() != null ? micros(a.getSlot()) : null);
+            writeString(out, a.getReason());
+            writeLong(out, a.getTargetUserId());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<AuditLog> decode(byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<AuditLog> rows = new ArrayList<>();
+        while (in.available() > 0) {
+            AuditLog a = new AuditLog();
+            a.setId(in.readLong());
+            a.setServerId(readLong(in));
+            a.setUserId(readLong(in));
+            a.setAction(readString(in));
+            a.setOccurredAt(fromMicros(in.readLong()));
+            a.setDetails(readString(in));
+            a.setGameId(readLong(in));
+            a.setGameName(readString(in));
+            Long slot = readLong(in);
+            a.setSlot(slot != null ? fromMicros(slot) : null);
+            a.setReason(readString(in));
+            a.setTargetUserId(readLong(in));
+            rows.add(a);
+        }
+        return rows;
+    }
+
+    private static void writeLong(DataOutputStream out, Long v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) out.writeLong(v);
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String v) throws IOException {
+        if (v == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = v.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        return new String(in.readNBytes(len), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer packed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(packed);
+            byte[] raw = new byte[rawLength];
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawLength - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                n += read;
+            }
+            if (n != rawLength) throw new IOException("corrupt archive block");
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // LocalDateTime 은 존(zone) 없이 저장되므로 UTC 기준 epoch micros 로만 변환
+    private static long micros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + t.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
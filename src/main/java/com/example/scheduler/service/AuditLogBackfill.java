@@ -0,0 +1,131 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.AuditLogRepository;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 구조화 컬럼(gameId/gameName/slot/reason/targetUserId) 도입 전 감사 로그 변환.
+ * details 문자열("game=...;slot=..." 등)을 한 번만 파싱해 컬럼을 채운다. 이후 집계는 컬럼만 사용한다.
+ * id 순 청크 단위로 각각 별도 트랜잭션에서 처리하며, 진행 위치(마지막 id)는 code_sequences 의 마커 행에 남긴다.
+ * 청크마다 마커 행을 잠그므로 여러 노드가 동시에 기동해도 한 청크는 한 노드만 처리하고,
+ * 끝까지 처리하면 완료로 표시해 이후 기동에서는 마커 조회 한 번으로 끝난다(details LIKE 스캔 없음).
+ * 파싱할 값이 없는 행은 컬럼을 NULL 로 둔다. 진행 위치가 그 행을 지나가므로 다시 읽지 않는다.
+ */
+@Slf4j
+@Component
+public class AuditLogBackfill {
+
+    // code_sequences 마커 행: nextValue = 마지막으로 처리한 id, 완료 시 DONE
+    static final String MARKER = "audit_log_backfill";
+    static final long DONE = Long.MAX_VALUE;
+
+    private final AuditLogRepository auditRepo;
+    private final CodeSequenceRepository sequenceRepo;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public AuditLogBackfill(AuditLogRepository auditRepo,
+                            CodeSequenceRepository sequenceRepo,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.audit.backfill-enabled:true}") boolean enabled,
+                            @Value("${app.audit.backfill-chunk-size:500}") int chunkSize) {
+        this.auditRepo = auditRepo;
+        this.sequenceRepo = sequenceRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void run() {
+        if (!enabled) return;
+        int converted = 0;
+        try {
+            Integer n;
+            while ((n = tx.execute(status -> convertNextChunk())) != null && n > 0) {
+                converted += n;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 마커 행을 만든 경우: 그 노드가 이어서 처리
+            log.info("Audit log backfill is handled by another node");
+        }
+        if (converted > 0) log.info("Audit log backfill converted {} rows", converted);
+    }
+
+    /** 마커 위치 다음 청크를 변환하고 변환한 행 수를 돌려준다. 남은 행이 없으면 완료로 표시하고 0 */
+    private int convertNextChunk() {
+        CodeSequence mark = sequenceRepo.findForUpdate(MARKER)
+                .orElseGet(() -> sequenceRepo.saveAndFlush(
+                        CodeSequence.builder().name(MARKER).nextValue(0L).build()));
+        if (mark.getNextValue() == DONE) return 0;
+
+        List<AuditLog> chunk = auditRepo.findLegacyDetailRows(mark.getNextValue(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            mark.setNextValue(DONE);
+            return 0;
+        }
+        chunk.forEach(AuditLogBackfill::fill);
+        mark.setNextValue(chunk.get(chunk.size() - 1).getId());
+        return chunk.size();
+    }
+
+    /** details 문자열을 구조화 컬럼으로 옮긴다 (비어 있는 컬럼만) */
+    static void fill(AuditLog a) {
+        String d = a.getDetails();
+        if (d == null) return;
+        // CHANGE_ADMIN: "GRANT_ADMIN:<userId>" / "REVOKE_ADMIN:<userId>"
+        int colon = d.indexOf("_ADMIN:");
+        if (colon > 0 && !d.contains("=")) {
+            a.setReason(d.substring(0, colon + "_ADMIN".length()));
+            a.setTargetUserId(parseLong(d.substring(colon + "_ADMIN:".length())));
+            return;
+        }
+        String game = null, slot = null, toGame = null, toSlot = null;
+        for (String p : d.split(";")) {
+            int idx = p.indexOf('=');
+            if (idx <= 0) continue;
+            String k = p.substring(0, idx).trim();
+            String v = p.substring(idx + 1).trim();
+            switch (k) {
+                case "game" -> game = v;
+                case "slot" -> slot = v;
+                case "toGame" -> toGame = v;   // TIMETABLE_UPDATE: 변경 후 값 기준
+                case "toSlot" -> toSlot = v;
+                case "reason" -> a.setReason(v);
+                case "targetUserId" -> a.setTargetUserId(parseLong(v));
+                default -> { }
+            }
+        }
+        String g = game != null ? game : toGame;
+        String s = slot != null ? slot : toSlot;
+        if (g != null) a.setGameName(g);
+        if (s != null) {
+            try { a.setSlot(LocalDateTime.parse(s)); } catch (Exception ignored) {}
+        }
+    }
+
+    private static Long parseLong(String v) {
+        try {
+            return Long.valueOf(v.trim());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.scheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 액션별 감사 로그 기록 정책.
+ * - ALWAYS: 매번 기록
+ * - SAMPLED:N: N건 중 1건만 기록 (나머지는 건수만 집계)
+ * - COUNT: 기록하지 않고 건수만 집계 (주기적으로 요약 행 1건)
+ * - OFF: 기록/집계 모두 하지 않음
+ * 설정 형식: app.audit.policy.actions=PUSH_NOTIFY=SAMPLED:20,FOO=COUNT / app.audit.policy.details-max=PUSH_NOTIFY=300
+ * 서버 멤버십·관리 기록과 통계 재구성 원본(TIMETABLE_REGISTER)은 설정과 무관하게 항상 기록한다.
+ */
+@Slf4j
+@Component
+public class AuditPolicy {
+
+    public enum Mode { ALWAYS, SAMPLED, COUNT, OFF }
+
+    public enum Decision { WRITE, COUNT, DROP }
+
+    static final Set<String> PROTECTED = Set.of(
+            "CREATE_SERVER", "JOIN_SERVER", "LEAVE_SERVER", "KICK_MEMBER", "CHANGE_ADMIN", "TIMETABLE_REGISTER");
+
+    private record Rule(Mode mode, int sampleRate) {}
+
+    private static final Rule ALWAYS = new Rule(Mode.ALWAYS, 1);
+
+    private final Map<String, Rule> rules;
+    private final Map<String, Integer> detailsMax;
+    private final int defaultDetailsMax;
+    private final Map<String, AtomicLong> sampleCounters = new ConcurrentHashMap<>();
+
+    public AuditPolicy(@Value("${app.audit.policy.actions:PUSH_NOTIFY=SAMPLED:20}") String actions,
+                       @Value("${app.audit.policy.details-max:PUSH_NOTIFY=300}") String detailsMax,
+                       @Value("${app.audit.policy.default-details-max:2000}") int defaultDetailsMax) {
+        this.rules = parseRules(actions);
+        this.detailsMax = parseDetailsMax(detailsMax);
+        this.defaultDetailsMax = Math.max(0, defaultDetailsMax);
+    }
+
+    public Decision decide(String action) {
+        if (action == null) return Decision.WRITE;
+        Rule rule = rules.getOrDefault(action, ALWAYS);
+        return switch (rule.mode()) {
+            case ALWAYS -> Decision.WRITE;
+            case OFF -> Decision.DROP;
+            case COUNT -> Decision.COUNT;
+            case SAMPLED -> {
+                long n = sampleCounters.computeIfAbsent(action, a -> new AtomicLong()).getAndIncrement();
+                yield n % rule.sampleRate() == 0 ? Decision.WRITE : Decision.COUNT;
+            }
+        };
+    }
+
+    public int maxDetails(String action) {
+        return action != null ? detailsMax.getOrDefault(action, defaultDetailsMax) : defaultDetailsMax;
+    }
+
+    private static Map<String, Rule> parseRules(String spec) {
+        Map<String, Rule> rules = new HashMap<>();
+        for (Map.Entry<String, String> e : entries(spec).entrySet()) {
+            String[] parts = e.getValue().split(":");
+            Mode mode = Mode.valueOf(parts[0].trim().toUpperCase());
+            int rate = 1;
+            if (mode == Mode.SAMPLED) {
+                if (parts.length < 2) throw new IllegalArgumentException("SAMPLED needs a rate: " + e.getKey());
+                rate = Integer.parseInt(parts[1].trim());
+                if (rate < 1) throw new IllegalArgumentException("sample rate must be >= 1: " + e.getKey());
+            }
+            if (PROTECTED.contains(e.getKey()) && mode != Mode.ALWAYS) {
+                log.warn("Audit action {} is always recorded; configured mode {} ignored", e.getKey(), mode);
+                continue;
+            }
+            rules.put(e.getKey(), new Rule(mode, rate));
+        }
+        return Map.copyOf(rules);
+    }
+
+    private static Map<String, Integer> parseDetailsMax(String spec) {
+        Map<String, Integer> max = new HashMap<>();
+        entries(spec).forEach((action, value) -> max.put(action, Math.max(0, Integer.parseInt(value.trim()))));
+        return Map.copyOf(max);
+    }
+
+    // "A=x,B=y" → {A: x, B: y}
+    private static Map<String, String> entries(String spec) {
+        Map<String, String> out = new HashMap<>();
+        if (spec == null || spec.isBlank()) return out;
+        for (String item : spec.split(",")) {
+            if (item.isBlank()) continue;
+            int eq = item.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("invalid audit policy entry: " + item);
+            out.put(item.substring(0, eq).trim(), item.substring(eq + 1).trim());
+        }
+        return out;
+    }
+}
@@ -2,47 +2,119 @@
 package com.example.scheduler.service;
 
 import com.example.scheduler.domain.AuditLog;
-import com.example.scheduler.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.interceptor.TransactionAspectSupport;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 감사 로그 기록. 단건 기록은 {@link AuditWriter} 큐에 넣고 호출 스레드에서는 DB에 쓰지 않는다.
+ * (호출자 트랜잭션 결과와 무관하게 기록되며, 백그라운드에서 배치 insert)
+ * 액션별 기록 여부/샘플링/details 길이는 {@link AuditPolicy} 를 따르고, 기록하지 않은 건수는
+ * 주기적으로 AUDIT_SUMMARY 행 1건으로 남긴다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuditService {
-    private final AuditLogRepository auditLogRepo;
-    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
-    private static final int MAX_DETAILS_LENGTH = 2000;
+    static final String SUMMARY_ACTION = "AUDIT_SUMMARY";
 
+    private final AuditWriter auditWriter;
+    private final AuditPolicy auditPolicy;
+    private final ObjectMapper objectMapper;
+
+    // 요약 구간 동안 기록하지 않은(집계만 한) 건수
+    private final Map<String, AtomicLong> suppressed = new ConcurrentHashMap<>();
+    private volatile LocalDateTime windowStart = LocalDateTime.now();
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void log(Long serverId, Long userId, String action, String details) {
+        log(AuditLog.builder()
+                .serverId(serverId)
+                .userId(userId)
+                .action(action)
+                .details(details)
+                .build());
+    }
+
+    /**
+     * 구조화 컬럼(game/slot/reason/targetUserId)을 채운 이벤트 기록.
+     * occurredAt 이 비어 있으면 현재 시각으로 채운다.
+     */
+    public void log(AuditLog entry) {
+        if (accept(entry)) auditWriter.enqueue(normalize(entry));
+    }
+
+    /**
+     * 대량 기록용 JDBC 배치 insert (큐를 거치지 않음).
+     * 별도 트랜잭션으로 기록하므로 실패해도 호출자 트랜잭션을 rollback-only 로 만들지 않는다 (커밋 이후 호출 가능).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void logAll(List<AuditLog> entries) {
+        if (entries == null || entries.isEmpty()) return;
+        List<AuditLog> accepted = entries.stream().filter(this::accept).map(this::normalize).toList();
+        auditWriter.insert(accepted);
+    }
+
+    /** 구간 동안 집계만 한 건수를 요약 행으로 기록 (건수가 없으면 생략) */
+    @Scheduled(fixedDelayString = "${app.audit.policy.summary-interval-ms:60000}")
+    @PreDestroy
+    public void flushSummary() {
+        LocalDateTime start = windowStart;
+        windowStart = LocalDateTime.now();
+        Map<String, Long> counts = new TreeMap<>();
+        suppressed.forEach((action, n) -> {
+            long c = n.getAndSet(0);
+            if (c > 0) counts.put(action, c);
+        });
+        if (counts.isEmpty()) return;
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("since", start.toString());
+        details.put("counts", counts);
         try {
-            AuditLog entry = AuditLog.builder()
-                    .serverId(serverId)
-                    .userId(userId)
-                    .action(action)
-                    .details(safeDetails(details))
-                    .occurredAt(LocalDateTime.now())
-                    .build();
-            auditLogRepo.save(entry);
-        } catch (Exception e) {
-            // Roll back only the audit transaction and do not affect caller
-            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-            log.warn("Audit log write failed (action={}): {}", action, e.getMessage());
+            auditWriter.enqueue(normalize(AuditLog.builder()
+                    .action(SUMMARY_ACTION)
+                    .details(objectMapper.writeValueAsString(details))
+                    .build()));
+        } catch (JsonProcessingException e) {
+            log.warn("Audit summary serialization failed: {}", e.getMessage());
         }
     }
 
-    private String safeDetails(String details) {
+    private boolean accept(AuditLog entry) {
+        return switch (auditPolicy.decide(entry.getAction())) {
+            case WRITE -> true;
+            case COUNT -> {
+                suppressed.computeIfAbsent(entry.getAction(), a -> new AtomicLong()).incrementAndGet();
+                yield false;
+            }
+            case DROP -> false;
+        };
+    }
+
+    private AuditLog normalize(AuditLog entry) {
+        entry.setDetails(safeDetails(entry.getDetails(), auditPolicy.maxDetails(entry.getAction())));
+        if (entry.getOccurredAt() == null) entry.setOccurredAt(LocalDateTime.now());
+        return entry;
+    }
+
+    private static String safeDetails(String details, int max) {
         if (details == null) return null;
-        return (details.length() > MAX_DETAILS_LENGTH)
-                ? details.substring(0, MAX_DETAILS_LENGTH)
+        return (details.length() > max)
+                ? details.substring(0, max)
                 : details;
     }
 }
@@ -0,0 +1,262 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감사 로그 비동기 기록기.
+ * AuditService.log() 는 큐에 넣기만 하고, 백그라운드 스레드가 flush-size 건 또는 flush-interval 마다 JDBC 배치로 insert 한다.
+ * 큐가 가득 차면 overflow 정책에 따라 호출자를 대기(BLOCK)시키거나, 버리거나(DROP), 로컬 파일에 기록(SPILL)한다.
+ * 기록된 파일은 다음 기동 때 다시 insert 한다. 종료 시 남은 큐를 모두 기록한다.
+ * 지표: audit.writer.queue.depth, audit.writer.write(배치 insert 시간), audit.writer.dropped/spilled/failed
+ */
+@Slf4j
+@Component
+public class AuditWriter {
+
+    public enum Overflow { BLOCK, DROP, SPILL }
+
+    private static final int JDBC_BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_log (server_id, user_id, action, occurred_at, details, game_id, game_name, slot, reason, target_user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditLog> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final Overflow overflow;
+    private final Path spillFile;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final Timer writeTimer;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    public AuditWriter(JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.audit.writer.queue-capacity:10000}") int queueCapacity,
+                       @Value("${app.audit.writer.flush-size:200}") int flushSize,
+                       @Value("${app.audit.writer.flush-interval-ms:500}") long flushIntervalMs,
+                       @Value("${app.audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                       @Value("${app.audit.writer.overflow:SPILL}") Overflow overflow,
+                       @Value("${app.audit.writer.spill-file:./audit-spill.ndjson}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.overflow = overflow;
+        this.spillFile = Path.of(spillFile);
+        this.worker = new Thread(this::drainLoop, "audit-writer");
+        this.worker.setDaemon(true);
+
+        Gauge.builder("audit.writer.queue.depth", queue, Collection::size).register(meterRegistry);
+        this.writeTimer = meterRegistry.timer("audit.writer.write");
+        this.dropped = meterRegistry.counter("audit.writer.dropped");
+        this.spilled = meterRegistry.counter("audit.writer.spilled");
+        this.failed = meterRegistry.counter("audit.writer.failed");
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    /** 기록 예약. 호출자 트랜잭션과 무관하게 기록된다. 종료 이후에는 호출 스레드에서 바로 기록한다. */
+    public void enqueue(AuditLog entry) {
+        if (!running) {
+            flush(List.of(entry));
+            return;
+        }
+        switch (overflow) {
+            case BLOCK -> {
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+            case DROP -> {
+                if (!queue.offer(entry)) dropped.increment();
+            }
+            case SPILL -> {
+                if (!queue.offer(entry)) spill(List.of(entry));
+            }
+        }
+        // 큐에 넣는 사이 종료됐으면 stop() 의 마지막 비우기 이후일 수 있으므로 직접 비운다
+        if (!running) flushRemaining();
+    }
+
+    /**
+     * 배치 insert. IDENTITY 키라 JPA 배치가 동작하지 않으므로 직접 묶는다.
+     * 현재 트랜잭션이 있으면 참여한다.
+     */
+    public void insert(List<AuditLog> entries) {
+        if (entries.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, JDBC_BATCH_SIZE, (ps, a) -> {
+            if (a.getServerId() != null) ps.setLong(1, a.getServerId()); else ps.setNull(1, Types.BIGINT);
+            if (a.getUserId() != null) ps.setLong(2, a.getUserId()); else ps.setNull(2, Types.BIGINT);
+            ps.setString(3, a.getAction());
+            ps.setTimestamp(4, Timestamp.valueOf(a.getOccurredAt() != null ? a.getOccurredAt() : LocalDateTime.now()));
+            ps.setString(5, a.getDetails());
+            if (a.getGameId() != null) ps.setLong(6, a.getGameId()); else ps.setNull(6, Types.BIGINT);
+            ps.setString(7, a.getGameName());
+            if (a.getSlot() != null) ps.setTimestamp(8, Timestamp.valueOf(a.getSlot())); else ps.setNull(8, Types.TIMESTAMP);
+            ps.setString(9, a.getReason());
+            if (a.getTargetUserId() != null) ps.setLong(10, a.getTargetUserId()); else ps.setNull(10, Types.BIGINT);
+        });
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // flush-size 가 찰 때까지 최대 flush-interval 만큼 더 모은다
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                queue.drainTo(batch, flushSize - batch.size());
+                while (running && batch.size() < flushSize) {
+                    AuditLog next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) flush(batch);
+                return;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            insert(batch);
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Audit log batch write failed ({} rows): {}", batch.size(), e.getMessage());
+            if (overflow == Overflow.SPILL) spill(batch);
+        } finally {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void spill(List<AuditLog> entries) {
+        try (BufferedWriter w = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditLog a : entries) {
+                w.write(objectMapper.writeValueAsString(a));
+                w.newLine();
+            }
+            spilled.increment(entries.size());
+        } catch (IOException e) {
+            dropped.increment(entries.size());
+            log.error("Audit log spill failed ({} rows): {}", entries.size(), e.getMessage());
+        }
+    }
+
+    /** 이전 실행에서 파일로 넘긴 기록을 다시 insert. 실패하면 파일을 남겨 다음 기동 때 재시도한다. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(-1)
+    public void replaySpill() {
+        // .replaying 이 남아 있으면 이전 재시도가 중간에 실패한 것: 그 파일부터 처리
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        if (!Files.exists(spillFile) && !Files.exists(replaying)) return;
+        try {
+            synchronized (this) {
+                if (!Files.exists(replaying)) {
+                    Files.move(spillFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            List<AuditLog> batch = new ArrayList<>(flushSize);
+            int total = 0;
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                AuditLog a = objectMapper.readValue(line, AuditLog.class);
+                a.setId(null);
+                batch.add(a);
+                if (batch.size() >= flushSize) {
+                    insert(batch);
+                    total += batch.size();
+                    batch.clear();
+                }
+            }
+            insert(batch);
+            total += batch.size();
+            Files.delete(replaying);
+            log.info("Replayed {} spilled audit log rows", total);
+        } catch (Exception e) {
+            log.warn("Audit log spill replay failed, will retry on next start: {}", e.getMessage());
+        }
+    }
+
+    /** 종료 시 남은 큐를 기록. 제한 시간 안에 끝나지 않으면 SPILL 정책일 때 파일로 넘긴다. */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (worker.isAlive()) worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive() && overflow == Overflow.SPILL) {
+            List<AuditLog> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            if (!rest.isEmpty()) spill(rest);
+        } else {
+            flushRemaining();
+        }
+    }
+
+    // 큐에 남은 기록을 호출 스레드에서 배치로 기록 (drainTo 는 원소 단위로 원자적이라 여러 스레드가 불러도 중복 기록되지 않음)
+    private void flushRemaining() {
+        List<AuditLog> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += flushSize) {
+            flush(rest.subList(i, Math.min(rest.size(), i + flushSize)));
+        }
+    }
+}
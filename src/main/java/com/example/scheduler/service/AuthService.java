@@ -2,12 +2,16 @@ package com.example.scheduler.service;
 
 import com.example.scheduler.common.exception.BadRequestException;
 import com.example.scheduler.common.exception.ErrorCode;
+import com.example.scheduler.common.exception.NotFoundException;
+import com.example.scheduler.common.util.TransactionHooks;
 import com.example.scheduler.domain.BlacklistedToken;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.AuthDto;
 import com.example.scheduler.repository.BlacklistedTokenRepository;
 import com.example.scheduler.repository.UserRepository;
 import com.example.scheduler.security.JwtTokenProvider;
+import com.example.scheduler.security.RevokedTokenRegistry;
+import com.example.scheduler.security.TokenVersionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,7 +33,8 @@ public class AuthService {
     private final FriendCodeService friendCodeService;
 
     private final BlacklistedTokenRepository blacklistRepo;
-    
+    private final RevokedTokenRegistry revokedTokens;
+    private final TokenVersionCache tokenVersionCache;
 
     /* ---------- 회원가입 & 로그인 ---------- */
 
@@ -79,15 +84,58 @@ public class AuthService {
 
         String username = jwtProvider.getUsername(token);
         Date expiry = jwtProvider.getExpiry(token);
+        String jti = jwtProvider.getTokenId(token);
 
+        // 토큰 원문 대신 jti로 폐기 기록
         blacklistRepo.save(
                 BlacklistedToken.builder()
-                        .token(token)
+                        .jti(jti)
                         .expiry(expiry)
                         .build());
+        revokedTokens.revoke(jti);
 
         log.info("Logout successful: username={}", username);
     }
 
-    
+    /* ---------- 전체 토큰 폐기 ---------- */
+
+    /** 모든 기기에서 로그아웃: 토큰 버전을 올려 이전에 발급된 액세스/리프레시 토큰을 모두 무효화 */
+    @org.springframework.transaction.annotation.Transactional
+    public void logoutAll(String username) {
+        User user = userRepo.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        bumpTokenVersion(user);
+        log.info("Logout from all devices: userId={}", user.getId());
+    }
+
+    /** 비밀번호 변경 (소셜 로그인 전용 계정은 불가). 변경 후 기존 토큰은 모두 무효화 */
+    @org.springframework.transaction.annotation.Transactional
+    public void changePassword(String username, AuthDto.ChangePasswordRequest req) {
+        User user = userRepo.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        if (user.getPassword() == null || !encoder.matches(req.getCurrentPassword(), user.getPassword())) {
+            log.warn("Password change failed - current password mismatch: userId={}", user.getId());
+            throw new BadRequestException(ErrorCode.INVALID_CREDENTIALS, "현재 비밀번호가 올바르지 않습니다");
+        }
+        user.setPassword(encoder.encode(req.getNewPassword()));
+        bumpTokenVersion(user);
+        log.info("Password changed: userId={}", user.getId());
+    }
+
+    /** 관리자 토큰 폐기: 해당 사용자의 모든 토큰 무효화 */
+    @org.springframework.transaction.annotation.Transactional
+    public void revokeAllTokens(Long userId) {
+        User user = userRepo.findById(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        bumpTokenVersion(user);
+        log.info("Tokens revoked by admin: userId={}", userId);
+    }
+
+    // 커밋 후 캐시를 비워 이 노드에서는 즉시, 다른 노드에서는 버전 캐시 TTL 안에 반영
+    private void bumpTokenVersion(User user) {
+        user.setTokenVersion(TokenVersionCache.versionOf(user.getTokenVersion()) + 1);
+        userRepo.save(user);
+        Long userId = user.getId();
+        TransactionHooks.afterCommit(() -> tokenVersionCache.invalidate(userId));
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CodeSequenceService {
+
+    private final CodeSequenceRepository sequenceRepo;
+
+    /**
+     * name 시퀀스에서 size 개의 연속 구간을 예약하고 시작 값을 반환한다.
+     * 호출 측 트랜잭션과 분리해 즉시 커밋하므로 락은 예약 동안만 유지된다.
+     * 시퀀스 행이 없으면 0부터 만든다. 여러 노드가 동시에 처음 만들면 한쪽은 실패하므로
+     * 호출 측({@link CodeSequenceBlock})에서 한 번 재시도한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocateBlock(String name, int size) {
+        CodeSequence seq = sequenceRepo.findForUpdate(name)
+                .orElseGet(() -> sequenceRepo.saveAndFlush(
+                        CodeSequence.builder().name(name).nextValue(0L).build()));
+        long start = seq.getNextValue();
+        seq.setNextValue(start + size);
+        return start;
+    }
+}
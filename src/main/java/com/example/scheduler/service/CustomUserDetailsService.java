@@ -2,14 +2,12 @@ package com.example.scheduler.service;
 
 import com.example.scheduler.domain.User;
 import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.security.AuthUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -32,16 +30,12 @@ public class CustomUserDetailsService implements UserDetailsService {
                         )
         );
 
-        // Spring Security 용 UserDetails
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-        if (Boolean.TRUE.equals(user.getAdmin())) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-        }
-        return new org.springframework.security.core.userdetails.User(
+        // Spring Security 용 UserDetails (id 포함)
+        return new AuthUser(
+                user.getId(),
                 user.getUsername(),                // 로그인 시 비밀번호 검증은 필요 없지만
                 user.getPassword() == null ? "" : user.getPassword(), // null 방지
-                authorities
+                AuthUser.authorities(Boolean.TRUE.equals(user.getAdmin()))
         );
     }
 }
\ No newline at end of file
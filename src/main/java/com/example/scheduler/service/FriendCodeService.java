@@ -1,24 +1,46 @@
 package com.example.scheduler.service;
 
+import com.example.scheduler.common.util.FeistelPermutation;
 import com.example.scheduler.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * 6자리 숫자 친구코드 발급.
+ * 영속 카운터 값을 [0, 10^6) 순열에 통과시켜 코드로 쓰므로 신규 발급분끼리는 충돌하지 않는다.
+ * 랜덤 방식으로 발급된 기존 코드와 겹치는 값만 건너뛴다 (점유율과 무관하게 보통 1회 조회).
+ */
 @Service
 public class FriendCodeService {
 
+    static final String SEQUENCE_NAME = "user_friend_code";
+    private static final int MAX_LEGACY_SKIPS = 50;
+
     private final UserRepository userRepository;
+    private final FeistelPermutation permutation;
+    private final CodeSequenceBlock sequence;
 
-    public FriendCodeService(UserRepository userRepository) {
+    public FriendCodeService(UserRepository userRepository,
+                             CodeSequenceService codeSequenceService,
+                             @Value("${app.friend-code.secret:gamesync-friend-code}") String secret,
+                             @Value("${app.friend-code.block-size:20}") int blockSize) {
         this.userRepository = userRepository;
+        this.permutation = new FeistelPermutation(1000, secret, SEQUENCE_NAME);
+        this.sequence = new CodeSequenceBlock(codeSequenceService, SEQUENCE_NAME, blockSize);
     }
 
     public String generateUniqueFriendCode() {
-        java.security.SecureRandom secureRandom = new java.security.SecureRandom();
-        for (int attempt = 0; attempt < 50; attempt++) {
-            int randomNumber = secureRandom.nextInt(1_000_000);
-            String candidate = String.format("%06d", randomNumber);
+        for (int attempt = 0; attempt < MAX_LEGACY_SKIPS; attempt++) {
+            long n = sequence.next();
+            if (n >= permutation.domain()) {
+                throw new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "친구코드가 모두 소진되었습니다"
+                );
+            }
+            String candidate = String.format("%06d", permutation.permute(n));
             if (!userRepository.existsByFriendCode(candidate)) {
                 return candidate;
             }
@@ -29,5 +51,3 @@ public class FriendCodeService {
         );
     }
 }
-
-
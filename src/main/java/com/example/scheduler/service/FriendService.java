@@ -2,6 +2,7 @@ package com.example.scheduler.service;
 
 import com.example.scheduler.domain.*;
 import com.example.scheduler.dto.FriendDto;
+import com.example.scheduler.dto.NotificationPayload;
 import com.example.scheduler.repository.FriendRequestRepository;
 import com.example.scheduler.repository.FriendshipRepository;
 import com.example.scheduler.repository.UserRepository;
@@ -89,10 +90,7 @@ public class FriendService {
         }
 
         // 수신자에게 알림 (친구 요청)
-        String payload = String.format(
-                "{\"kind\":\"friend_request\",\"requestId\":%d,\"fromNickname\":\"%s\"}",
-                req.getId(), sender.getNickname()
-        );
+        NotificationPayload payload = new NotificationPayload.FriendRequest(req.getId(), sender.getNickname());
         String title = String.format("%s님이 친구 요청을 보냈어요", sender.getNickname());
 
         // 저장형 알림 + 푸시 발송
@@ -124,8 +122,7 @@ public class FriendService {
             notificationService.notify(
                     req.getSender(),
                     com.example.scheduler.domain.NotificationType.GENERIC,
-                    title,
-                    null
+                    title
             );
         } else {
             req.setStatus(FriendRequestStatus.REJECTED);
@@ -135,8 +132,7 @@ public class FriendService {
             notificationService.notify(
                     req.getSender(),
                     com.example.scheduler.domain.NotificationType.GENERIC,
-                    title,
-                    null
+                    title
             );
         }
 
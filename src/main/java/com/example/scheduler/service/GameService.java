@@ -26,6 +26,7 @@ public class GameService {
     private final ServerRepository serverRepo;
     private final UserRepository userRepo;
     private final TimetableEntryRepository entryRepo;
+    private final TimetableSnapshots snapshots;
 
     /* ---------- 기본 / 커스텀 게임 조회 ---------- */
 
@@ -102,5 +103,6 @@ public class GameService {
 
         // ② 커스텀 게임 자체 삭제
         customGameRepo.delete(cg);
+        snapshots.evict(srv.getId());
     }
 }
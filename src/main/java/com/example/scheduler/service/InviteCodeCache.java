@@ -0,0 +1,66 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.LruCache;
+import com.example.scheduler.common.util.TransactionHooks;
+import com.example.scheduler.dto.ServerDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 초대코드 → 서버 정보(미리보기) read-through 캐시.
+ * 공유된 초대 링크가 반복 조회되어도 TTL 동안은 DB를 조회하지 않으며, 없는 코드도 잠시 기억한다.
+ * 서버 설정 변경, 멤버/관리자 증감, 삭제 시 해당 코드를 비운다.
+ * 트랜잭션 안에서 비우면 커밋 이후에 비워, 커밋 전 동시 조회가 이전 값을 다시 채우지 못하게 한다.
+ * 다른 노드의 변경과 멤버 닉네임 변경은 TTL 안에 반영된다.
+ */
+@Component
+public class InviteCodeCache {
+
+    private final long ttlMs;
+    private final LruCache<String, Entry> entries;
+    private final AtomicLong evictions = new AtomicLong();
+
+    // summary 가 null 이면 없는 코드
+    private record Entry(ServerDto.Response summary, long loadedAtMs) {}
+
+    public InviteCodeCache(@Value("${app.invite-cache.ttl-ms:30000}") long ttlMs,
+                           @Value("${app.invite-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.entries = new LruCache<>(maxEntries);
+    }
+
+    public Optional<ServerDto.Response> get(String code,
+                                            Function<String, Optional<ServerDto.Response>> loader) {
+        if (code == null) return Optional.empty();
+        long now = System.currentTimeMillis();
+        Entry e = entries.get(code);
+        if (e == null || now - e.loadedAtMs() > ttlMs) {
+            long generation = evictions.get();
+            ServerDto.Response loaded = loader.apply(code).orElse(null);
+            e = new Entry(loaded, now);
+            // 조회 도중 비워졌으면 이전 값일 수 있으므로 저장하지 않음
+            if (evictions.get() == generation) entries.put(code, e);
+        }
+        return Optional.ofNullable(e.summary());
+    }
+
+    public void evict(String code) {
+        if (code != null) TransactionHooks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            entries.remove(code);
+        });
+    }
+
+    /** 코드를 모르는 경로(관리자 삭제 등)용 */
+    public void evictServer(Long serverId) {
+        if (serverId == null) return;
+        TransactionHooks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            entries.removeIf((code, e) -> e.summary() != null && serverId.equals(e.summary().getId()));
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.FeistelPermutation;
+import com.example.scheduler.repository.ServerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 6자리 영숫자(대문자) 서버 초대코드 발급.
+ * 친구코드와 같은 방식으로 영속 카운터를 [0, 36^6) 순열에 통과시키고 36진수로 표기한다.
+ * 랜덤 방식으로 발급된 기존 코드와 겹치는 값만 건너뛴다.
+ */
+@Service
+public class InviteCodeService {
+
+    static final String SEQUENCE_NAME = "server_invite_code";
+    private static final int RADIX = 36 * 36 * 36;
+    private static final int CODE_LENGTH = 6;
+    private static final int MAX_LEGACY_SKIPS = 50;
+
+    private final ServerRepository serverRepository;
+    private final FeistelPermutation permutation;
+    private final CodeSequenceBlock sequence;
+
+    public InviteCodeService(ServerRepository serverRepository,
+                             CodeSequenceService codeSequenceService,
+                             @Value("${app.invite-code.secret:gamesync-invite-code}") String secret,
+                             @Value("${app.invite-code.block-size:20}") int blockSize) {
+        this.serverRepository = serverRepository;
+        this.permutation = new FeistelPermutation(RADIX, secret, SEQUENCE_NAME);
+        this.sequence = new CodeSequenceBlock(codeSequenceService, SEQUENCE_NAME, blockSize);
+    }
+
+    public String generateUniqueInviteCode() {
+        for (int attempt = 0; attempt < MAX_LEGACY_SKIPS; attempt++) {
+            long n = sequence.next();
+            if (n >= permutation.domain()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "초대코드가 모두 소진되었습니다");
+            }
+            String candidate = encode(permutation.permute(n));
+            if (!serverRepository.existsByInviteCode(candidate)) {
+                return candidate;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "초대코드 생성 실패. 잠시 후 다시 시도");
+    }
+
+    static String encode(long value) {
+        String s = Long.toString(value, 36).toUpperCase();
+        return "0".repeat(CODE_LENGTH - s.length()) + s;
+    }
+}
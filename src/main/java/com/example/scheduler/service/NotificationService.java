@@ -4,157 +4,90 @@ import com.example.scheduler.domain.Notification;
 import com.example.scheduler.domain.NotificationType;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.NotificationDto;
+import com.example.scheduler.dto.NotificationPayload;
 import com.example.scheduler.repository.NotificationRepository;
-import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.security.CurrentUserProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
     private final com.example.scheduler.repository.FriendNotificationSettingRepository friendNotiRepo;
     private final PushService pushService;
     private final AuditService auditService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectMapper objectMapper;
 
     private User currentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return currentUserProvider.find().orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
+    /** 제목만 있는 알림 (수락/거절 통지 등) */
+    @Transactional
+    public void notify(User to, NotificationType type, String title) {
+        deliver(to, type, title, Rendered.text(type, null));
+    }
+
+    /** 일반 텍스트 알림 (message 가 그대로 패널 메시지/푸시 본문) */
     @Transactional
     public void notify(User to, NotificationType type, String title, String message) {
+        deliver(to, type, title, Rendered.text(type, message));
+    }
+
+    /** payload 알림: 패널 메시지(JSON), 푸시 본문, 클릭 URL 을 payload 에서 만든다 */
+    @Transactional
+    public void notify(User to, NotificationType type, String title, NotificationPayload payload) {
+        Rendered r = render(type, payload);
+        if (r != null) deliver(to, type, title, r);
+    }
+
+    private void deliver(User to, NotificationType type, String title, Rendered r) {
         // 알림 설정 off면 무시
         if (Boolean.FALSE.equals(to.getNotificationsEnabled())) return;
 
         // 친구 스케줄 등록의 경우, panelFriendScheduleEnabled=true일 때만 저장형 알림 생성
-        boolean skipPanel = false;
-        if (type == NotificationType.TIMETABLE) {
-            // 이제 친구 스케줄 등록 패널 표시는 pushFriendScheduleEnabled 값과 동일하게 동작
-            Boolean on = to.getPushFriendScheduleEnabled();
-            // null 또는 true => 표시(ON)
-            skipPanel = Boolean.FALSE.equals(on);
-        }
-        Notification n = null;
-        if (!skipPanel) {
-            n = Notification.builder()
+        if (!skipPanel(to, type)) {
+            Notification n = Notification.builder()
                     .user(to)
                     .type(type)
                     .title(title)
-                    .message(message)
+                    .message(r.message())
                     .read(false)
                     .createdAt(LocalDateTime.now())
                     .build();
             notificationRepository.save(n);
-            org.slf4j.LoggerFactory.getLogger(NotificationService.class)
-                    .info("Saved notification id={} type={} toUserId={}", n.getId(), type, to.getId());
+            log.info("Saved notification id={} type={} toUserId={}", n.getId(), type, to.getId());
         }
 
         // 푸시 전송 (best-effort) - 카테고리별 on/off 적용
         try {
-            java.util.HashMap<String, String> data = new java.util.HashMap<>();
-            data.put("type", type.name());
-            if (message != null) data.put("payload", message);
-
-            // Body 정규화 및 클릭 URL 구성
-            String pushBody = null;
-            String clickUrl = null;
-            Long serverIdForAudit = null;
-            if (message != null) {
-                String trimmed = message.trim();
-                if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
-                    try {
-                        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                        com.fasterxml.jackson.databind.JsonNode node = mapper.readTree(trimmed);
-                        String kind = node.has("kind") ? node.get("kind").asText(null) : null;
-                        if ("friend_request".equals(kind)) {
-                            // 친구 요청: 대시보드 진입 시 친구 패널 자동 오픈
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("상대방") : "상대방";
-                            pushBody = from + " 님이 친구 요청을 보냈습니다.";
-                            clickUrl = "/dashboard?friends=1";
-                        } else if ("server_invite".equals(kind)) {
-                            // 서버 초대: 초대 확인 모달 페이지로 이동 (inviteId 기반)
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("상대방") : "상대방";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            pushBody = from + " → " + serverName;
-                            if (node.has("inviteId")) {
-                                long inviteId = node.get("inviteId").asLong();
-                                clickUrl = "/invite/by-id?inviteId=" + inviteId;
-                            }
-                        } else if ("timetable".equals(kind)) {
-                            // 친구 스케줄 등록: 사람 친화적 본문 구성 + 서버 상세로 이동
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("친구") : "친구";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            String gameName = node.has("gameName") ? node.get("gameName").asText("") : "";
-                            pushBody = String.format("%s님이 %s 서버에 %s 예약을 등록했습니다.", from, serverName, gameName);
-                            if (node.has("serverId")) {
-                                long serverId = node.get("serverId").asLong();
-                                serverIdForAudit = serverId;
-                                clickUrl = "/server/" + serverId;
-                            }
-                        } else if ("party".equals(kind)) {
-                            // 파티 모집: 사람 친화적 본문 구성 + 서버 상세 이동(파티 탭/모달 암시 플래그)
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("사용자") : "사용자";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            String gameName = node.has("gameName") ? node.get("gameName").asText("") : "";
-                            Integer capacity = node.has("capacity") ? node.get("capacity").asInt(0) : 0;
-                            if (node.has("serverId")) {
-                                long serverId = node.get("serverId").asLong();
-                                serverIdForAudit = serverId;
-                                clickUrl = "/server/" + serverId + "?open=party";
-                            }
-                            pushBody = String.format("%s님이 %s에서 %s 파티를 모집합니다 (%d명)", from, serverName, gameName, capacity);
-                        } else {
-                            pushBody = message;
-                        }
-                    } catch (Exception ignore) {
-                        pushBody = message;
-                    }
-                } else {
-                    pushBody = message;
-                }
-            }
-
-            if (clickUrl != null && !clickUrl.isBlank()) {
-                data.put("url", clickUrl);
-            }
-
-            boolean allow = allowPush(to, type);
-            if (allow) {
-                String bodyToSend = (pushBody != null && pushBody.length() <= 120) ? pushBody : null;
-                pushService.pushToUser(to, title, bodyToSend, data);
-
-                // 감사 로그: 트리거 사용자(있으면), 수신자, 타입/제목/메시지/URL 요약
-                Long actorUserId = null;
-                try {
-                    var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-                    if (auth != null) {
-                        String username = auth.getName();
-                        actorUserId = userRepository.findByUsername(username).map(User::getId).orElse(null);
-                    }
-                } catch (Exception ignored) {}
+            if (!allowPush(to, type)) return;
+            pushService.pushToUser(to, title, r.bodyToSend(), r.data());
 
-                String shortTitle = title != null ? (title.length() > 120 ? title.substring(0, 120) : title) : null;
-                String shortMsg = message != null ? (message.length() > 200 ? message.substring(0, 200) : message) : null;
-                String safeUrl = (clickUrl != null && clickUrl.length() > 200) ? clickUrl.substring(0, 200) : clickUrl;
-                String details = String.format(
-                        "toUserId=%d type=%s title=%s msg=%s url=%s",
-                        to.getId(), type.name(), String.valueOf(shortTitle), String.valueOf(shortMsg), String.valueOf(safeUrl)
-                );
-                auditService.log(serverIdForAudit, actorUserId, "PUSH_NOTIFY", details);
-            }
+            // 감사 로그: 트리거 사용자(있으면), 수신자, 타입/제목/메시지/URL 요약
+            String details = String.format(
+                    "toUserId=%d type=%s title=%s msg=%s url=%s",
+                    to.getId(), type.name(), shortTitle(title), truncate(r.message(), 200), truncate(r.clickUrl(), 200)
+            );
+            auditService.log(r.serverId(), actorUserId(), "PUSH_NOTIFY", details);
         } catch (Exception ignored) {
-            org.slf4j.LoggerFactory.getLogger(NotificationService.class)
-                    .warn("Push dispatch skipped due to exception");
+            log.warn("Push dispatch skipped due to exception");
         }
     }
 
@@ -162,116 +95,47 @@ public class NotificationService {
     public void notifyPushOnly(User to, NotificationType type, String title, String message) {
         try {
             if (!allowPush(to, type)) return;
-            java.util.HashMap<String, String> data = new java.util.HashMap<>();
-            data.put("type", type.name());
-            if (message != null) data.put("payload", message);
-            pushService.pushToUser(to, title, (message != null && message.length() <= 120) ? message : null, data);
+            Rendered r = Rendered.text(type, message);
+            pushService.pushToUser(to, title, r.bodyToSend(), r.data());
 
             // 감사 로그: push-only 케이스도 동일하게 기록
-            Long actorUserId = null;
-            try {
-                var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null) {
-                    String username = auth.getName();
-                    actorUserId = userRepository.findByUsername(username).map(User::getId).orElse(null);
-                }
-            } catch (Exception ignored) {}
-            String shortTitle = title != null ? (title.length() > 120 ? title.substring(0, 120) : title) : null;
-            String shortMsg = message != null ? (message.length() > 200 ? message.substring(0, 200) : message) : null;
             String details = String.format(
                     "toUserId=%d type=%s title=%s msg=%s",
-                    to.getId(), type.name(), String.valueOf(shortTitle), String.valueOf(shortMsg)
+                    to.getId(), type.name(), shortTitle(title), truncate(message, 200)
             );
-            auditService.log(null, actorUserId, "PUSH_NOTIFY", details);
+            auditService.log(null, actorUserId(), "PUSH_NOTIFY", details);
         } catch (Exception ignored) {
-            org.slf4j.LoggerFactory.getLogger(NotificationService.class)
-                    .warn("Push-only dispatch skipped due to exception");
+            log.warn("Push-only dispatch skipped due to exception");
         }
     }
 
     /** 여러 사용자에게 동일 알림을 전송하고, 하나의 감사 로그로 집계한다. */
     @Transactional
-    public void notifyMany(java.util.List<User> recipients, NotificationType type, String title, String message, Long serverIdHint) {
-        if (recipients == null || recipients.isEmpty()) return;
-        try {
-            java.util.HashMap<String, String> data = new java.util.HashMap<>();
-            data.put("type", type.name());
-            if (message != null) data.put("payload", message);
-
-            String pushBody = null;
-            String clickUrl = null;
-            Long serverIdForAudit = serverIdHint;
-            if (message != null) {
-                String trimmed = message.trim();
-                if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
-                    try {
-                        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                        com.fasterxml.jackson.databind.JsonNode node = mapper.readTree(trimmed);
-                        String kind = node.has("kind") ? node.get("kind").asText(null) : null;
-                        if ("friend_request".equals(kind)) {
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("상대방") : "상대방";
-                            pushBody = from + " 님이 친구 요청을 보냈습니다.";
-                            clickUrl = "/dashboard?friends=1";
-                        } else if ("server_invite".equals(kind)) {
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("상대방") : "상대방";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            pushBody = from + " → " + serverName;
-                            if (node.has("inviteId")) {
-                                long inviteId = node.get("inviteId").asLong();
-                                clickUrl = "/invite/by-id?inviteId=" + inviteId;
-                            }
-                        } else if ("timetable".equals(kind)) {
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("친구") : "친구";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            String gameName = node.has("gameName") ? node.get("gameName").asText("") : "";
-                            pushBody = String.format("%s님이 %s 서버에 %s 예약을 등록했습니다.", from, serverName, gameName);
-                            if (node.has("serverId")) {
-                                long serverId = node.get("serverId").asLong();
-                                serverIdForAudit = (serverIdForAudit == null) ? serverId : serverIdForAudit;
-                                clickUrl = "/server/" + serverId;
-                            }
-                        } else if ("party".equals(kind)) {
-                            String from = node.has("fromNickname") ? node.get("fromNickname").asText("사용자") : "사용자";
-                            String serverName = node.has("serverName") ? node.get("serverName").asText("") : "";
-                            String gameName = node.has("gameName") ? node.get("gameName").asText("") : "";
-                            Integer capacity = node.has("capacity") ? node.get("capacity").asInt(0) : 0;
-                            if (node.has("serverId")) {
-                                long serverId = node.get("serverId").asLong();
-                                serverIdForAudit = (serverIdForAudit == null) ? serverId : serverIdForAudit;
-                                clickUrl = "/server/" + serverId + "?open=party";
-                            }
-                            pushBody = String.format("%s님이 %s에서 %s 파티를 모집합니다 (%d명)", from, serverName, gameName, capacity);
-                        } else {
-                            pushBody = message;
-                        }
-                    } catch (Exception ignore) {
-                        pushBody = message;
-                    }
-                } else {
-                    pushBody = message;
-                }
-            }
+    public void notifyMany(List<User> recipients, NotificationType type, String title, String message, Long serverIdHint) {
+        deliverMany(recipients, type, title, Rendered.text(type, message), serverIdHint);
+    }
 
-            if (clickUrl != null && !clickUrl.isBlank()) {
-                data.put("url", clickUrl);
-            }
+    /** payload 는 수신자 수와 무관하게 한 번만 직렬화/렌더링한다. */
+    @Transactional
+    public void notifyMany(List<User> recipients, NotificationType type, String title, NotificationPayload payload, Long serverIdHint) {
+        if (recipients == null || recipients.isEmpty()) return;
+        Rendered r = render(type, payload);
+        if (r != null) deliverMany(recipients, type, title, r, serverIdHint);
+    }
 
-            String bodyToSend = (pushBody != null && pushBody.length() <= 120) ? pushBody : null;
-            java.util.List<User> delivered = new java.util.ArrayList<>();
-            for (User r : recipients) {
+    private void deliverMany(List<User> recipients, NotificationType type, String title, Rendered r, Long serverIdHint) {
+        if (recipients == null || recipients.isEmpty()) return;
+        try {
+            List<User> delivered = new ArrayList<>();
+            for (User u : recipients) {
                 // 저장형 알림(패널) 생성: TIMETABLE은 per-user 설정에 따라 표시/미표시
-                boolean skipPanel = false;
-                if (type == NotificationType.TIMETABLE) {
-                    Boolean on = r.getPushFriendScheduleEnabled();
-                    skipPanel = Boolean.FALSE.equals(on);
-                }
-                if (!skipPanel) {
+                if (!skipPanel(u, type)) {
                     try {
                         Notification n = Notification.builder()
-                                .user(r)
+                                .user(u)
                                 .type(type)
                                 .title(title)
-                                .message(message)
+                                .message(r.message())
                                 .read(false)
                                 .createdAt(LocalDateTime.now())
                                 .build();
@@ -280,37 +144,25 @@ public class NotificationService {
                 }
 
                 // 푸시 전송 (카테고리별 on/off 적용)
-                if (!allowPush(r, type)) continue;
+                if (!allowPush(u, type)) continue;
                 try {
-                    pushService.pushToUser(r, title, bodyToSend, data);
-                    delivered.add(r);
+                    pushService.pushToUser(u, title, r.bodyToSend(), r.data());
+                    delivered.add(u);
                 } catch (Exception ignored) {}
             }
 
             // 감사 로그 집계: actor + 수신자 다수 표시
-            Long actorUserId = null;
-            try {
-                var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null) {
-                    String username = auth.getName();
-                    actorUserId = userRepository.findByUsername(username).map(User::getId).orElse(null);
-                }
-            } catch (Exception ignored) {}
-
-            String shortTitle = title != null ? (title.length() > 120 ? title.substring(0, 120) : title) : null;
-            String shortMsg = message != null ? (message.length() > 400 ? message.substring(0, 400) : message) : null;
-            String safeUrl = (clickUrl != null && clickUrl.length() > 200) ? clickUrl.substring(0, 200) : clickUrl;
             String recipientsSummary = delivered.stream()
-                    .map(u -> u.getId() + "(" + (u.getNickname()!=null?u.getNickname():"") + ")")
-                    .collect(java.util.stream.Collectors.joining(","));
+                    .map(u -> u.getId() + "(" + (u.getNickname() != null ? u.getNickname() : "") + ")")
+                    .collect(Collectors.joining(","));
             String details = String.format(
                     "toUsers=[%s] type=%s title=%s msg=%s url=%s",
-                    recipientsSummary, type.name(), String.valueOf(shortTitle), String.valueOf(shortMsg), String.valueOf(safeUrl)
+                    recipientsSummary, type.name(), shortTitle(title), truncate(r.message(), 400), truncate(r.clickUrl(), 200)
             );
-            auditService.log(serverIdForAudit, actorUserId, "PUSH_NOTIFY", details);
+            Long serverId = serverIdHint != null ? serverIdHint : r.serverId();
+            auditService.log(serverId, actorUserId(), "PUSH_NOTIFY", details);
         } catch (Exception ignored) {
-            org.slf4j.LoggerFactory.getLogger(NotificationService.class)
-                    .warn("Push-many dispatch skipped due to exception");
+            log.warn("Push-many dispatch skipped due to exception");
         }
     }
 
@@ -396,6 +248,62 @@ public class NotificationService {
         notificationRepository.deleteByUserAndTypeAndMessageContaining(me, type, messageFragment);
     }
 
+    /**
+     * 한 번의 발송에 쓰는 값: 패널 메시지, 푸시 본문, FCM data(type/payload/url), 감사 로그용 서버 id.
+     * 수신자마다 다시 만들지 않는다.
+     */
+    private record Rendered(String message, String pushBody, String clickUrl, Long serverId, Map<String, String> data) {
+        static Rendered text(NotificationType type, String message) {
+            return of(type, message, message, null, null);
+        }
+
+        static Rendered of(NotificationType type, String message, String pushBody, String clickUrl, Long serverId) {
+            Map<String, String> data = new HashMap<>();
+            data.put("type", type.name());
+            if (message != null) data.put("payload", message);
+            if (clickUrl != null && !clickUrl.isBlank()) data.put("url", clickUrl);
+            return new Rendered(message, pushBody, clickUrl, serverId, Map.copyOf(data));
+        }
+
+        // 긴 본문은 생략하고 제목만 보낸다
+        String bodyToSend() {
+            return (pushBody != null && pushBody.length() <= 120) ? pushBody : null;
+        }
+    }
+
+    // 알림은 best-effort: 렌더링에 실패해도 호출한 쪽 트랜잭션을 롤백시키지 않도록 null (발송 생략)
+    private Rendered render(NotificationType type, NotificationPayload payload) {
+        try {
+            return Rendered.of(type, objectMapper.writeValueAsString(payload),
+                    payload.pushBody(), payload.clickUrl(), payload.auditServerId());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Notification skipped, payload rendering failed: type={} {}", type, e.getMessage());
+            return null;
+        }
+    }
+
+    // 친구 스케줄 등록 패널 표시는 pushFriendScheduleEnabled 값과 동일하게 동작 (null 또는 true => 표시)
+    private static boolean skipPanel(User to, NotificationType type) {
+        return type == NotificationType.TIMETABLE && Boolean.FALSE.equals(to.getPushFriendScheduleEnabled());
+    }
+
+    private Long actorUserId() {
+        try {
+            return currentUserProvider.currentUserId();
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private static String shortTitle(String title) {
+        return truncate(title, 120);
+    }
+
+    private static String truncate(String s, int max) {
+        if (s == null) return "null";
+        return s.length() > max ? s.substring(0, max) : s;
+    }
+
     private boolean allowPush(User to, NotificationType type) {
         // 전체 스위치가 false면 모든 FCM 차단
         if (Boolean.FALSE.equals(to.getPushAllEnabled())) return false;
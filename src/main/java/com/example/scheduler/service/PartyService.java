@@ -1,13 +1,14 @@
 package com.example.scheduler.service;
 
 import com.example.scheduler.domain.*;
+import com.example.scheduler.dto.NotificationPayload;
 import com.example.scheduler.dto.PartyDto;
 import com.example.scheduler.dto.TimetableDto;
 import com.example.scheduler.repository.*;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -22,16 +23,17 @@ import java.util.stream.Collectors;
 public class PartyService {
     private final PartyRepository partyRepo;
     private final ServerRepository serverRepo;
-    private final UserRepository userRepo;
     private final DefaultGameRepository defaultGameRepo;
     private final CustomGameRepository customGameRepo;
     private final TimetableService timetableService;
     private final NotificationService notificationService;
     private final TimetableEntryRepository timetableEntryRepository;
     private final AuditService auditService;
+    private final CurrentUserProvider currentUserProvider;
+    private final TimetableSnapshots snapshots;
 
     private User currentUser() {
-        return userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName())
+        return currentUserProvider.find()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
@@ -66,7 +68,7 @@ public class PartyService {
         try {
             String gameName = (saved.getCustomGame() != null) ? saved.getCustomGame().getName() : saved.getDefaultGame().getName();
             String details = String.format("game=%s;slot=%s;capacity=%d", safe(gameName), saved.getSlot(), saved.getCapacity());
-            auditService.log(server.getId(), user.getId(), "PARTY_CREATE", details);
+            auditService.log(auditOf(saved, user, "PARTY_CREATE").details(details).build());
         } catch (Exception ignored) {}
 
         // 생성자의 타임테이블 먼저 등록 (파티 참가 이전에 수행하여 파티 참가중 가드에 걸리지 않도록 함)
@@ -85,7 +87,7 @@ public class PartyService {
         try {
             String gameName = (saved.getCustomGame() != null) ? saved.getCustomGame().getName() : saved.getDefaultGame().getName();
             String details = String.format("game=%s;slot=%s", safe(gameName), saved.getSlot());
-            auditService.log(server.getId(), user.getId(), "PARTY_JOIN", details);
+            auditService.log(auditOf(saved, user, "PARTY_JOIN").details(details).build());
         } catch (Exception ignored) {}
 
         // 서버 모든 멤버에게 파티 모집 알림 (소유자 제외 가능) - 팬아웃을 notifyMany로 집계
@@ -96,24 +98,20 @@ public class PartyService {
         }
         String gameName = (saved.getCustomGame() != null) ? saved.getCustomGame().getName() : saved.getDefaultGame().getName();
         String title = "파티 모집";
-        String payload = String.format(
-                "{\"kind\":\"party\",\"serverId\":%d,\"serverName\":\"%s\",\"fromNickname\":\"%s\",\"gameName\":\"%s\",\"capacity\":%d}",
-                server.getId(),
-                safe(server.getName()),
-                safe(user.getNickname()),
-                safe(gameName),
-                saved.getCapacity()
-        );
+        NotificationPayload payload = new NotificationPayload.Party(
+                server.getId(), server.getName(), user.getNickname(), gameName, saved.getCapacity());
         notificationService.notifyMany(targets, com.example.scheduler.domain.NotificationType.PARTY, title, payload, server.getId());
 
-        return toResp(saved);
+        return toResp(saved, user);
     }
 
     public List<PartyDto.Response> list(Long serverId) {
         Server server = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // 참가/소유 여부 표시용 현재 사용자는 목록 전체에서 한 번만 조회
+        User me = currentUserProvider.find().orElse(null);
         return partyRepo.findByServerOrderBySlotAsc(server).stream()
-                .map(this::toResp)
+                .map(p -> toResp(p, me))
                 .toList();
     }
 
@@ -134,7 +132,7 @@ public class PartyService {
         }
 
         if (party.getParticipants().contains(user)) {
-            return toResp(party);
+            return toResp(party, user);
         }
         if (party.getParticipants().size() >= party.getCapacity()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Party is full");
@@ -155,9 +153,9 @@ public class PartyService {
         try {
             String gameName = (party.getCustomGame() != null) ? party.getCustomGame().getName() : party.getDefaultGame().getName();
             String details = String.format("game=%s;slot=%s", safe(gameName), party.getSlot());
-            auditService.log(party.getServer().getId(), user.getId(), "PARTY_JOIN", details);
+            auditService.log(auditOf(party, user, "PARTY_JOIN").details(details).build());
         } catch (Exception ignored) {}
-        return toResp(party);
+        return toResp(party, user);
     }
 
     @Transactional
@@ -177,9 +175,9 @@ public class PartyService {
         try {
             String gameName = (party.getCustomGame() != null) ? party.getCustomGame().getName() : party.getDefaultGame().getName();
             String details = String.format("game=%s;slot=%s", safe(gameName), party.getSlot());
-            auditService.log(party.getServer().getId(), user.getId(), "PARTY_LEAVE", details);
+            auditService.log(auditOf(party, user, "PARTY_LEAVE").details(details).build());
         } catch (Exception ignored) {}
-        return toResp(party);
+        return toResp(party, user);
     }
 
     private void removeMyTimetableEntry(Server server, User user) {
@@ -189,7 +187,7 @@ public class PartyService {
         timetableService.deleteByServerAndCurrentUser(server.getId());
     }
 
-    private PartyDto.Response toResp(Party party) {
+    private PartyDto.Response toResp(Party party, User me) {
         PartyDto.Response r = new PartyDto.Response();
         r.setId(party.getId());
         r.setServerId(party.getServer().getId());
@@ -216,11 +214,10 @@ public class PartyService {
                 .map(User::getNickname)
                 .collect(Collectors.toSet());
         r.setParticipantNames(names);
-        try {
-            User me = currentUser();
+        if (me != null) {
             r.setJoined(party.getParticipants() != null && party.getParticipants().contains(me));
-            r.setOwner(party.getCreator() != null && party.getCreator().getId().equals(me.getId()));
-        } catch (Exception ignore) { }
+            r.setOwner(party.getCreator() != null && me.getId() != null && me.getId().equals(party.getCreator().getId()));
+        }
         return r;
     }
 
@@ -237,12 +234,13 @@ public class PartyService {
             Server server = party.getServer();
             for (User u : party.getParticipants()) {
                 timetableEntryRepository.deleteAllByServerAndUser(server, u);
+                snapshots.removeUser(server.getId(), u.getId());
             }
         }
         try {
             String gameName = (party.getCustomGame() != null) ? party.getCustomGame().getName() : party.getDefaultGame().getName();
             String details = String.format("game=%s;slot=%s", safe(gameName), party.getSlot());
-            auditService.log(party.getServer().getId(), me.getId(), "PARTY_DELETE", details);
+            auditService.log(auditOf(party, me, "PARTY_DELETE").details(details).build());
         } catch (Exception ignored) {}
         partyRepo.delete(party);
     }
@@ -252,6 +250,18 @@ public class PartyService {
     public void deletePartyEndpoint(Long partyId) {
         deleteParty(partyId);
     }
+
+    private AuditLog.AuditLogBuilder auditOf(Party party, User user, String action) {
+        boolean custom = party.getCustomGame() != null;
+        return AuditLog.builder()
+                .serverId(party.getServer().getId())
+                .userId(user.getId())
+                .action(action)
+                .gameId(custom ? party.getCustomGame().getId() : party.getDefaultGame().getId())
+                .gameName(custom ? party.getCustomGame().getName() : party.getDefaultGame().getName())
+                .slot(party.getSlot());
+    }
+
     private static String safe(String s) {
         if (s == null) return "";
         return s.replace("\\", "\\\\").replace("\"", "\\\"");
@@ -4,9 +4,11 @@ import com.example.scheduler.common.exception.BadRequestException;
 import com.example.scheduler.common.exception.ErrorCode;
 import com.example.scheduler.common.exception.ForbiddenException;
 import com.example.scheduler.common.exception.NotFoundException;
+import com.example.scheduler.domain.AuditLog;
 import com.example.scheduler.domain.CustomGame;
 import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.User;
+import com.example.scheduler.dto.NotificationPayload;
 import com.example.scheduler.dto.ServerDto;
 import com.example.scheduler.repository.CustomGameRepository;
 import com.example.scheduler.repository.FriendshipRepository;
@@ -14,12 +16,12 @@ import com.example.scheduler.repository.ServerInviteRepository;
 import com.example.scheduler.repository.ServerRepository;
 import com.example.scheduler.repository.TimetableEntryRepository;
 import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.scheduler.ResetSchedule;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.RandomStringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -39,6 +41,11 @@ public class ServerService {
     private final ServerInviteRepository inviteRepo;
     private final FriendshipRepository friendshipRepository;
     private final com.example.scheduler.repository.FavoriteServerRepository favoriteRepo;
+    private final ResetSchedule resetSchedule;
+    private final CurrentUserProvider currentUserProvider;
+    private final InviteCodeService inviteCodeService;
+    private final InviteCodeCache inviteCodeCache;
+    private final TimetableSnapshots timetableSnapshots;
 
     @org.springframework.beans.factory.annotation.Value("${app.audit.enabled:true}")
     private boolean auditEnabled;
@@ -67,7 +74,7 @@ public class ServerService {
         User owner = currentUser();
         log.info("Creating server: name={}, owner={}", req.getName(), owner.getUsername());
 
-        String code = RandomStringUtils.randomAlphanumeric(6).toUpperCase();
+        String code = inviteCodeService.generateUniqueInviteCode();
 
         Server srv = Server.builder()
                 .name(req.getName())
@@ -79,6 +86,8 @@ public class ServerService {
                 .build();
 
         serverRepo.save(srv);
+        resetSchedule.update(srv);
+        inviteCodeCache.evict(code);
         log.info("Server created successfully: id={}, name={}, inviteCode={}", srv.getId(), srv.getName(), code);
 
         if(auditEnabled){
@@ -97,6 +106,7 @@ public class ServerService {
         }
         srv.getMembers().add(user);
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -109,17 +119,17 @@ public class ServerService {
             throw new BadRequestException(ErrorCode.SERVER_ALREADY_MEMBER);
         srv.getMembers().add(user);
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         if(auditEnabled){
             auditService.log(srv.getId(), user.getId(), "JOIN_SERVER", null);
         }
         return toDto(srv);
     }
 
-    /** 초대코드로 서버 기본정보 조회 (가입 전 확인용) */
+    /** 초대코드로 서버 기본정보 조회 (가입 전 확인용, 캐시 경유) */
     public ServerDto.Response lookupByCode(String code) {
-        Server srv = serverRepo.findByInviteCode(code)
+        return inviteCodeCache.get(code, c -> serverRepo.findByInviteCode(c).map(this::toDto))
                 .orElseThrow(() -> new BadRequestException(ErrorCode.SERVER_INVALID_INVITE_CODE));
-        return toDto(srv);
     }
 
     /* ---------- 일반 수정 ---------- */
@@ -131,6 +141,8 @@ public class ServerService {
 
         srv.setResetTime(req.getResetTime());
         serverRepo.save(srv);
+        resetSchedule.update(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -141,6 +153,7 @@ public class ServerService {
 
         srv.setName(req.getName());
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -150,6 +163,7 @@ public class ServerService {
         assertAdmin(srv, currentUser());
         srv.setDescription(req.getDescription());
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -159,6 +173,7 @@ public class ServerService {
         assertAdmin(srv, currentUser());
         srv.setMaxMembers(req.getMaxMembers());
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -168,6 +183,8 @@ public class ServerService {
         assertAdmin(srv, currentUser());
         srv.setResetPaused(req.isPaused());
         serverRepo.save(srv);
+        resetSchedule.update(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -191,15 +208,23 @@ public class ServerService {
 
         // 강퇴되는 사용자의 서버 내 타임테이블 기록 삭제
         entryRepo.deleteAllByServerAndUser(srv, target);
+        timetableSnapshots.removeUser(srv.getId(), target.getId());
 
         srv.getMembers().remove(target);
         srv.getAdmins().remove(target);
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
 
         log.info("Member kicked successfully: serverId={}, targetUserId={}", id, target.getId());
 
         if(auditEnabled){
-            auditService.log(srv.getId(), me.getId(), "KICK_MEMBER", "targetUserId=" + req.getUserId());
+            auditService.log(AuditLog.builder()
+                    .serverId(srv.getId())
+                    .userId(me.getId())
+                    .action("KICK_MEMBER")
+                    .targetUserId(req.getUserId())
+                    .details("targetUserId=" + req.getUserId())
+                    .build());
         }
 
         return toDto(srv);
@@ -226,10 +251,18 @@ public class ServerService {
         }
         if(auditEnabled){
             String detail = (req.isGrant() ? "GRANT_ADMIN:" : "REVOKE_ADMIN:") + req.getUserId();
-            auditService.log(srv.getId(), me.getId(), "CHANGE_ADMIN", detail);
+            auditService.log(AuditLog.builder()
+                    .serverId(srv.getId())
+                    .userId(me.getId())
+                    .action("CHANGE_ADMIN")
+                    .reason(req.isGrant() ? "GRANT_ADMIN" : "REVOKE_ADMIN")
+                    .targetUserId(req.getUserId())
+                    .details(detail)
+                    .build());
         }
 
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         return toDto(srv);
     }
 
@@ -252,6 +285,9 @@ public class ServerService {
         }
         // 3) 서버 삭제
         serverRepo.delete(srv);
+        resetSchedule.remove(srv.getId());
+        inviteCodeCache.evict(srv.getInviteCode());
+        timetableSnapshots.evict(srv.getId());
     }
 
     @Transactional
@@ -262,9 +298,11 @@ public class ServerService {
             throw new BadRequestException(ErrorCode.SERVER_OWNER_CANNOT_LEAVE);
         }
         entryRepo.deleteAllByServerAndUser(srv, me);
+        timetableSnapshots.removeUser(srv.getId(), me.getId());
         srv.getMembers().remove(me);
         srv.getAdmins().remove(me);
         serverRepo.save(srv);
+        inviteCodeCache.evict(srv.getInviteCode());
         if(auditEnabled){
             auditService.log(srv.getId(), me.getId(), "LEAVE_SERVER", null);
         }
@@ -331,10 +369,7 @@ public class ServerService {
         }
 
         // 알림: 초대 수신자에게 통지 (초대 ID를 payload 로 포함)
-        String invitePayload = String.format(
-                "{\"kind\":\"server_invite\",\"inviteId\":%d,\"serverName\":\"%s\",\"fromNickname\":\"%s\"}",
-                inv.getId(), srv.getName(), sender.getNickname()
-        );
+        NotificationPayload invitePayload = new NotificationPayload.ServerInvite(inv.getId(), srv.getName(), sender.getNickname());
         String title = String.format("%s 서버로 초대가 왔어요", srv.getName());
         notificationService.notify(
                 receiver,
@@ -369,14 +404,14 @@ public class ServerService {
             if (!srv.getMembers().contains(me)) {
                 srv.getMembers().add(me);
                 serverRepo.save(srv);
+                inviteCodeCache.evict(srv.getInviteCode());
             }
             // 초대 발신자에게 수락 알림
             String title = String.format("%s님이 %s 초대를 수락했어요", me.getNickname(), inv.getServer().getName());
             notificationService.notify(
                     inv.getSender(),
                     com.example.scheduler.domain.NotificationType.INVITE,
-                    title,
-                    null
+                    title
             );
         } else {
             inv.setStatus(com.example.scheduler.domain.InviteStatus.REJECTED);
@@ -385,8 +420,7 @@ public class ServerService {
             notificationService.notify(
                     inv.getSender(),
                     com.example.scheduler.domain.NotificationType.INVITE,
-                    title,
-                    null
+                    title
             );
         }
         inviteRepo.save(inv);
@@ -402,8 +436,7 @@ public class ServerService {
     /* ---------- 내부 헬퍼 ---------- */
 
     private User currentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepo.findByUsername(username).orElseThrow();
+        return currentUserProvider.find().orElseThrow();
     }
 
     private Server fetch(Long id) {
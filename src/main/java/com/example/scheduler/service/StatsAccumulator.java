@@ -0,0 +1,184 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.dto.StatsDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 통계 응답 한 건을 만드는 집계기.
+ * 게임명은 처음 나올 때 int id 로 인터닝하고, 게임별/시간대별/요일별 건수와 분 합계는
+ * primitive 배열에 누적한다. 롤업 행을 한 번씩만 훑고, 박싱된 Long 맵이나 중첩 맵은 만들지 않는다.
+ * 요청마다 새로 만들어 쓰며 스레드 안전하지 않다.
+ */
+public final class StatsAccumulator {
+
+    private static final int HOURS = 24;
+    private static final int DOWS = 8; // 1=Mon .. 7=Sun (ISO), 0 미사용
+
+    private final Map<String, Integer> gameIds = new HashMap<>();
+    private String[] gameNames = new String[16];
+    private long[] gameCounts = new long[16];
+    private int games;
+
+    private final long[] hourCounts = new long[HOURS];
+    private final long[] hourMinuteSums = new long[HOURS];
+    private final long[] dowCounts = new long[DOWS];
+    private final long[] dowMinuteSums = new long[DOWS];
+    // 요일별 게임 건수, 게임 id 로 인덱싱 (해당 요일에 처음 기록될 때 할당)
+    private final long[][] dowGameCounts = new long[DOWS][];
+
+    /* ---------- 누적 ---------- */
+
+    public void addGame(String gameName, Long cnt) {
+        int id = intern(gameName);
+        if (id < 0 || cnt == null) return;
+        gameCounts[id] += cnt;
+    }
+
+    public void addHour(Integer hour, Long cnt) {
+        addHour(hour, cnt, null);
+    }
+
+    /** minuteSum: 해당 시간대 슬롯들의 분(0..1439) 합계, 평균 시각 계산용 */
+    public void addHour(Integer hour, Long cnt, Long minuteSum) {
+        if (hour == null || hour < 0 || hour >= HOURS || cnt == null) return;
+        hourCounts[hour] += cnt;
+        if (minuteSum != null) hourMinuteSums[hour] += minuteSum;
+    }
+
+    public void addDay(LocalDate day, Long cnt, Long minuteSum) {
+        if (day == null || cnt == null) return;
+        int dow = day.getDayOfWeek().getValue();
+        dowCounts[dow] += cnt;
+        if (minuteSum != null) dowMinuteSums[dow] += minuteSum;
+    }
+
+    public void addDayGame(LocalDate day, String gameName, Long cnt) {
+        int id = intern(gameName);
+        if (day == null || id < 0 || cnt == null) return;
+        int dow = day.getDayOfWeek().getValue();
+        long[] counts = dowGameCounts[dow];
+        if (counts == null || counts.length <= id) {
+            counts = counts == null ? new long[gameCounts.length] : Arrays.copyOf(counts, gameCounts.length);
+            dowGameCounts[dow] = counts;
+        }
+        counts[id] += cnt;
+    }
+
+    public long hourTotal() {
+        long total = 0;
+        for (long c : hourCounts) total += c;
+        return total;
+    }
+
+    /* ---------- 결과 ---------- */
+
+    /** 건수 내림차순(동률이면 게임명 순), 0건 게임 제외 */
+    public List<StatsDto.NameCount> topGames() {
+        return nameCounts(gameCounts);
+    }
+
+    public String topGame() {
+        int best = -1;
+        for (int id = 0; id < games; id++) {
+            if (gameCounts[id] > 0 && (best < 0 || before(gameCounts, id, best))) best = id;
+        }
+        return best < 0 ? null : gameNames[best];
+    }
+
+    public List<StatsDto.HourCount> hourCounts() {
+        List<StatsDto.HourCount> out = new ArrayList<>(HOURS);
+        for (int h = 0; h < HOURS; h++) out.add(new StatsDto.HourCount(h, hourCounts[h]));
+        return out;
+    }
+
+    /** 건수가 가장 많은 시간대 (동률이면 이른 시간, 기록이 없으면 0) */
+    public int peakHour() {
+        int peak = 0;
+        for (int h = 1; h < HOURS; h++) {
+            if (hourCounts[h] > hourCounts[peak]) peak = h;
+        }
+        return peak;
+    }
+
+    public long peakHourCount() {
+        return hourCounts[peakHour()];
+    }
+
+    /** 시간대별 분 합계 / 건수 (0..1439) */
+    public int avgMinuteOfDay() {
+        long total = 0, minutes = 0;
+        for (int h = 0; h < HOURS; h++) {
+            total += hourCounts[h];
+            minutes += hourMinuteSums[h];
+        }
+        return avg(minutes, total);
+    }
+
+    public List<StatsDto.DayAvg> dayAvgs() {
+        List<StatsDto.DayAvg> out = new ArrayList<>(DOWS - 1);
+        for (int d = 1; d < DOWS; d++) {
+            out.add(new StatsDto.DayAvg(d, avg(dowMinuteSums[d], dowCounts[d]), dowCounts[d]));
+        }
+        return out;
+    }
+
+    public List<StatsDto.DayGames> dayGames() {
+        List<StatsDto.DayGames> out = new ArrayList<>(DOWS - 1);
+        for (int d = 1; d < DOWS; d++) {
+            out.add(new StatsDto.DayGames(d, dowGameCounts[d] == null ? new ArrayList<>() : nameCounts(dowGameCounts[d])));
+        }
+        return out;
+    }
+
+    /* ---------- 내부 ---------- */
+
+    private int intern(String gameName) {
+        if (gameName == null) return -1;
+        Integer id = gameIds.get(gameName);
+        if (id != null) return id;
+        if (games == gameNames.length) {
+            gameNames = Arrays.copyOf(gameNames, games * 2);
+            gameCounts = Arrays.copyOf(gameCounts, games * 2);
+        }
+        gameNames[games] = gameName;
+        gameIds.put(gameName, games);
+        return games++;
+    }
+
+    private List<StatsDto.NameCount> nameCounts(long[] counts) {
+        int n = Math.min(games, counts.length);
+        int[] ids = new int[n];
+        int size = 0;
+        for (int id = 0; id < n; id++) {
+            if (counts[id] > 0) ids[size++] = id;
+        }
+        // 게임 수가 작으므로 박싱 없는 삽입 정렬
+        for (int i = 1; i < size; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= 0 && before(counts, id, ids[j])) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+        List<StatsDto.NameCount> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(new StatsDto.NameCount(gameNames[ids[i]], counts[ids[i]]));
+        return out;
+    }
+
+    private boolean before(long[] counts, int a, int b) {
+        if (counts[a] != counts[b]) return counts[a] > counts[b];
+        return gameNames[a].compareTo(gameNames[b]) < 0;
+    }
+
+    private static int avg(long sum, long count) {
+        return count == 0 ? 0 : (int) Math.round((double) sum / count);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.LruCache;
+import com.example.scheduler.dto.StatsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 통계 응답 캐시 (서버, 엔드포인트, 기간) 단위.
+ * 같은 키의 동시 미스는 한 번만 계산하고 나머지 요청은 그 결과를 기다린다(single-flight).
+ * 등록 롤업이 반영되거나 엔트리가 수정/삭제/리셋되면(TimetableSnapshots, 커밋 이후) 해당 서버 항목을 비우고 서버 버전을 올려, 변경 이전에 시작된 계산이 늦게 저장되지 않게 한다.
+ * 수집중(collecting) 응답은 짧은 TTL 로 둔다. 다른 노드의 등록은 TTL 안에 반영된다.
+ * 지표: stats.cache.requests{result=hit|miss|coalesced}
+ */
+@Component
+public class StatsCache {
+
+    private final long ttlMs;
+    private final long collectingTtlMs;
+    private final LruCache<Key, Entry> entries;
+    private final Map<Key, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    // 서버별 무효화 버전
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    private record Key(Long serverId, String endpoint, String range) {}
+
+    private record Entry(Object value, long expiresAtMs) {}
+
+    public StatsCache(@Value("${app.stats.cache-ttl-ms:60000}") long ttlMs,
+                      @Value("${app.stats.cache-collecting-ttl-ms:5000}") long collectingTtlMs,
+                      @Value("${app.stats.cache-max-entries:10000}") int maxEntries,
+                      MeterRegistry meterRegistry) {
+        this.ttlMs = ttlMs;
+        this.collectingTtlMs = Math.min(ttlMs, collectingTtlMs);
+        this.entries = new LruCache<>(maxEntries);
+        this.hits = meterRegistry.counter("stats.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("stats.cache.requests", "result", "miss");
+        this.coalesced = meterRegistry.counter("stats.cache.requests", "result", "coalesced");
+    }
+
+    /**
+     * 캐시된 응답, 없거나 만료됐으면 loader 로 계산. 계산 중 예외는 기다리던 요청에도 그대로 전달되고 캐시하지 않는다.
+     * @param range 기간 파라미터와 기준 날짜를 합친 문자열 (날짜가 바뀌면 다른 키)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long serverId, String endpoint, String range, Supplier<T> loader) {
+        Key key = new Key(serverId, endpoint, range);
+        Entry e = entries.get(key);
+        if (e != null && System.currentTimeMillis() < e.expiresAtMs()) {
+            hits.increment();
+            return (T) e.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inflight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+        misses.increment();
+        long version = version(serverId);
+        try {
+            T value = loader.get();
+            Entry loaded = new Entry(value, System.currentTimeMillis() + ttlOf(value));
+            // 버전 확인과 저장을 한 번에: 확인 직후 무효화된 경우 이전 값이 새 버전 위에 남지 않도록
+            entries.compute(key, (k, cur) -> version(serverId) == version ? loaded : cur);
+            mine.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            // Error 포함 어떤 실패든 기다리는 요청을 깨운다
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inflight.remove(key, mine);
+        }
+    }
+
+    /** 서버 통계가 바뀐 경우(등록 롤업 반영, 엔트리 수정/삭제/리셋 등) */
+    public void evictServer(Long serverId) {
+        if (serverId == null) return;
+        versions.merge(serverId, 1L, Long::sum);
+        entries.removeIf((k, e) -> serverId.equals(k.serverId()));
+    }
+
+    private long version(Long serverId) {
+        return versions.getOrDefault(serverId, 0L);
+    }
+
+    private long ttlOf(Object value) {
+        return value instanceof StatsDto.AggregatedResponse r && r.isCollecting() ? collectingTtlMs : ttlMs;
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+}
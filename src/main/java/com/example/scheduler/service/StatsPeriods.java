@@ -0,0 +1,50 @@
+package com.example.scheduler.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 날짜 구간을 "완전히 포함된 달(월 버킷)" + 앞/뒤 경계 일(일 버킷)로 나눈다.
+ * 읽는 버킷 수가 최대 (개월 수 + 약 60일)로 제한되어 구간 길이에 거의 무관하다.
+ */
+public final class StatsPeriods {
+
+    public static final String DAY = "D";
+    public static final String MONTH = "M";
+
+    // 빈 구간 표현 (BETWEEN EMPTY_FROM AND EMPTY_TO 는 항상 거짓)
+    static final LocalDate EMPTY_FROM = LocalDate.of(9999, 12, 31);
+    static final LocalDate EMPTY_TO = LocalDate.of(1970, 1, 1);
+
+    private StatsPeriods() {}
+
+    /** monthFrom/monthTo 는 각 달의 1일 */
+    public record Split(LocalDate monthFrom, LocalDate monthTo,
+                        LocalDate headFrom, LocalDate headTo,
+                        LocalDate tailFrom, LocalDate tailTo) {
+
+        /** 읽게 되는 게임/시간대당 최대 버킷 수 */
+        public long bucketCount() {
+            return span(monthFrom, monthTo, ChronoUnit.MONTHS) + span(headFrom, headTo, ChronoUnit.DAYS)
+                    + span(tailFrom, tailTo, ChronoUnit.DAYS);
+        }
+
+        private static long span(LocalDate from, LocalDate to, ChronoUnit unit) {
+            return from.isAfter(to) ? 0 : unit.between(from, to) + 1;
+        }
+    }
+
+    public static Split split(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return new Split(EMPTY_FROM, EMPTY_TO, EMPTY_FROM, EMPTY_TO, EMPTY_FROM, EMPTY_TO);
+        LocalDate firstFull = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate lastFullEnd = to.getDayOfMonth() == to.lengthOfMonth() ? to : to.withDayOfMonth(1).minusDays(1);
+        if (firstFull.isAfter(lastFullEnd)) {
+            return new Split(EMPTY_FROM, EMPTY_TO, from, to, EMPTY_FROM, EMPTY_TO);
+        }
+        LocalDate headTo = firstFull.minusDays(1);
+        LocalDate tailFrom = lastFullEnd.plusDays(1);
+        return new Split(firstFull, lastFullEnd.withDayOfMonth(1),
+                from.isAfter(headTo) ? EMPTY_FROM : from, from.isAfter(headTo) ? EMPTY_TO : headTo,
+                tailFrom.isAfter(to) ? EMPTY_FROM : tailFrom, tailFrom.isAfter(to) ? EMPTY_TO : to);
+    }
+}
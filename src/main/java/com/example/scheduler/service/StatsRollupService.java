@@ -0,0 +1,217 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.TransactionHooks;
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.AuditLogRepository;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * 서버 활동 롤업(stats_hourly_game / stats_hourly_slot / stats_user_day / stats_user_day_game) 갱신.
+ * TIMETABLE_REGISTER 이벤트마다 upsert 로 카운터를 올리고, 통계 조회는 원본 로그 대신 롤업 버킷을 합산한다.
+ * 롤업은 감사 로그 보존 기간(90일) 정리와 무관하게 남는다.
+ * <p>
+ * upsert 는 MySQL 문법(INSERT IGNORE / ON DUPLICATE KEY UPDATE)이므로 MySQL/MariaDB 와
+ * MySQL 모드 H2(테스트)만 지원한다. 그 밖의 DB 에서는 기동 시 경고를 남기고 롤업을 쓰지 않는다.
+ */
+@Slf4j
+@Service
+public class StatsRollupService {
+
+    public static final String REGISTER = "TIMETABLE_REGISTER";
+    // 롤업 도입 전 로그 재구성 진행 상태: nextValue = 아직 처리하지 않은 가장 큰 audit_log id (0이면 완료)
+    private static final String REBUILD_SEQUENCE = "stats_rollup_rebuild";
+    // 실시간 롤업 시작 시각(epoch ms): 이 시각 이후 로그는 등록 시점에 이미 반영되므로 재구성에서 제외
+    static final String LIVE_SINCE = "stats_rollup_live_since";
+
+    private static final String MARK_USER_DAY_GAME =
+            "INSERT IGNORE INTO stats_user_day_game (server_id, user_id, activity_day, game_name) VALUES (?, ?, ?, ?)";
+    private static final String UPSERT_GAME =
+            "INSERT INTO stats_hourly_game (server_id, bucket, game_name, game_id, registrations, user_days) " +
+            "VALUES (?, ?, ?, ?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE registrations = registrations + 1, user_days = user_days + VALUES(user_days), " +
+            "game_id = VALUES(game_id)";
+    private static final String UPSERT_SLOT =
+            "INSERT INTO stats_hourly_slot (server_id, bucket, slot_date, slot_hour, registrations, minute_sum) " +
+            "VALUES (?, ?, ?, ?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE registrations = registrations + 1, minute_sum = minute_sum + VALUES(minute_sum)";
+    private static final String UPSERT_USER_DAY =
+            "INSERT INTO stats_user_day (server_id, user_id, activity_day, earliest_slot_hour) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE earliest_slot_hour = LEAST(earliest_slot_hour, VALUES(earliest_slot_hour))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditRepo;
+    private final CodeSequenceRepository sequenceRepo;
+    private final TransactionTemplate tx;
+    private final StatsCache statsCache;
+    private final int rebuildChunkSize;
+    private volatile boolean supported = true;
+
+    public StatsRollupService(JdbcTemplate jdbcTemplate,
+                              AuditLogRepository auditRepo,
+                              CodeSequenceRepository sequenceRepo,
+                              PlatformTransactionManager transactionManager,
+                              StatsCache statsCache,
+                              @Value("${app.stats.rollup-rebuild-chunk-size:1000}") int rebuildChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditRepo = auditRepo;
+        this.sequenceRepo = sequenceRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.statsCache = statsCache;
+        this.rebuildChunkSize = Math.max(1, rebuildChunkSize);
+    }
+
+    /**
+     * DB 지원 여부를 확인하고 실시간 롤업 시작 시각을 남긴다(이미 있으면 그대로).
+     * 웹 요청을 받기 전에 실행되므로 이 시각 이후의 등록은 모두 recordRegistration 으로 반영된다.
+     */
+    @PostConstruct
+    void init() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        String p = product != null ? product.toLowerCase(Locale.ROOT) : "";
+        if (!p.contains("mysql") && !p.contains("mariadb") && !p.contains("h2")) {
+            supported = false;
+            log.warn("Stats rollups need MySQL upsert syntax; disabled on {}", product);
+            return;
+        }
+        try {
+            tx.executeWithoutResult(status -> {
+                if (sequenceRepo.findById(LIVE_SINCE).isEmpty()) {
+                    sequenceRepo.saveAndFlush(CodeSequence.builder()
+                            .name(LIVE_SINCE).nextValue(System.currentTimeMillis()).build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 기록: 그 시각을 사용
+        }
+    }
+
+    /**
+     * 스케줄 등록 1건 반영. 등록 트랜잭션이 커밋된 뒤 호출해야 한다(롤백된 등록이 집계되지 않도록).
+     * 감사 로그와 같이 별도 트랜잭션에서 기록하고, 실패해도 호출자에 영향을 주지 않는다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordRegistration(Long serverId, Long userId, Long gameId, String gameName,
+                                   LocalDateTime slot, LocalDateTime occurredAt) {
+        if (!supported) return;
+        try {
+            apply(serverId, userId, gameId, gameName, slot, occurredAt);
+            // 롤업 커밋 이후 캐시된 통계 응답 무효화
+            TransactionHooks.afterCommit(() -> statsCache.evictServer(serverId));
+        } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.warn("Stats rollup write failed (serverId={}): {}", serverId, e.getMessage());
+        }
+    }
+
+    private void apply(Long serverId, Long userId, Long gameId, String gameName,
+                       LocalDateTime slot, LocalDateTime occurredAt) {
+        if (serverId == null || occurredAt == null) return;
+        // 게임명을 알 수 없는 로그(빈 문자열 포함)는 게임 버킷에 넣지 않음
+        if (gameName != null && gameName.isBlank()) gameName = null;
+        Timestamp bucket = Timestamp.valueOf(occurredAt.truncatedTo(ChronoUnit.HOURS));
+        Date day = Date.valueOf(occurredAt.toLocalDate());
+        LocalDateTime s = slot != null ? slot : occurredAt;
+        long uid = userId != null ? userId : 0L;
+
+        if (gameName != null) {
+            // (사용자, 날짜, 게임) 첫 등장일 때만 userDays 증가
+            int firstOfDay = jdbcTemplate.update(MARK_USER_DAY_GAME, serverId, uid, day, gameName);
+            jdbcTemplate.update(UPSERT_GAME, serverId, bucket, gameName, gameId, firstOfDay > 0 ? 1 : 0);
+        }
+        jdbcTemplate.update(UPSERT_SLOT, serverId, bucket, Date.valueOf(s.toLocalDate()), s.getHour(),
+                s.getHour() * 60 + s.getMinute());
+        jdbcTemplate.update(UPSERT_USER_DAY, serverId, uid, day, s.getHour());
+    }
+
+    /**
+     * 롤업 도입 이전의 등록 로그를 한 번 반영한다.
+     * 처음 실행될 때의 최대 audit_log id 를 상한으로 잡고 id 역순으로 청크마다 진행 위치를 저장하므로,
+     * 도중에 중단돼도 다음 기동 때 이어서 처리하고 여러 노드가 같은 구간을 중복 반영하지 않는다.
+     * 실시간 롤업 시작 시각({@link #LIVE_SINCE}) 이후의 로그는 이미 반영됐으므로 id 와 무관하게 건너뛴다.
+     * 구조화 컬럼 백필(AuditLogBackfill) 이후에 실행된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void rebuildFromAudit() {
+        if (!supported) return;
+        LocalDateTime liveSince = sequenceRepo.findById(LIVE_SINCE)
+                .map(s -> LocalDateTime.ofInstant(Instant.ofEpochMilli(s.getNextValue()), ZoneId.systemDefault()))
+                .orElse(null);
+        if (liveSince == null) return;
+        int total = 0;
+        try {
+            Integer processed;
+            while ((processed = tx.execute(status -> rebuildChunk(liveSince))) != null && processed > 0) {
+                total += processed;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 진행 상태 행을 만든 경우: 그 노드가 처리
+            log.info("Stats rollup rebuild is handled by another node");
+        }
+        if (total > 0) log.info("Stats rollups rebuilt from {} audit rows", total);
+    }
+
+    /**
+     * 로그 재구성이 끝났는지 (진행 상태 행이 완료 상태). 다른 노드가 재구성 중이거나 아직 시작 전이면 false.
+     * 재구성 중인 날짜의 시간 롤업은 아직 덜 채워져 있으므로 일/월 버킷 압축은 이 값이 true 일 때만 한다.
+     */
+    public boolean rebuildComplete() {
+        if (!supported) return false;
+        return sequenceRepo.findById(REBUILD_SEQUENCE).map(s -> s.getNextValue() <= 0).orElse(false);
+    }
+
+    // 처리한 행 수, 완료 상태면 0
+    private Integer rebuildChunk(LocalDateTime liveSince) {
+        CodeSequence progress = sequenceRepo.findForUpdate(REBUILD_SEQUENCE).orElseGet(() -> {
+            Long maxId = auditRepo.findMaxId();
+            return sequenceRepo.saveAndFlush(CodeSequence.builder()
+                    .name(REBUILD_SEQUENCE)
+                    .nextValue(maxId != null ? maxId : 0L)
+                    .build());
+        });
+        long upTo = progress.getNextValue();
+        if (upTo <= 0) return 0;
+
+        // 청크를 리스트로 모으지 않고 커서에서 한 행씩 반영
+        int count = 0;
+        long lastId = upTo;
+        try (Stream<AuditLogRepository.RegisterRow> rows =
+                     auditRepo.streamByActionUpToId(REGISTER, upTo, liveSince, Limit.of(rebuildChunkSize))) {
+            Iterator<AuditLogRepository.RegisterRow> it = rows.iterator();
+            while (it.hasNext()) {
+                AuditLogRepository.RegisterRow r = it.next();
+                apply(r.getServerId(), r.getUserId(), r.getGameId(), r.getGameName(), r.getSlot(), r.getOccurredAt());
+                lastId = r.getId();
+                count++;
+            }
+        }
+        progress.setNextValue(count < rebuildChunkSize ? 0L : lastId - 1);
+        return count;
+    }
+}
@@ -3,11 +3,17 @@ package com.example.scheduler.service;
 import com.example.scheduler.domain.TimetableEntry;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.StatsDto;
-import com.example.scheduler.repository.AuditLogRepository;
+import com.example.scheduler.scheduler.StatsPeriodCompactor;
 import com.example.scheduler.repository.ServerRepository;
+import com.example.scheduler.repository.StatsHourlyGameRepository;
+import com.example.scheduler.repository.StatsHourlySlotRepository;
+import com.example.scheduler.repository.StatsPeriodGameRepository;
+import com.example.scheduler.repository.StatsPeriodHourRepository;
+import com.example.scheduler.repository.StatsUserDayRepository;
 import com.example.scheduler.repository.TimetableEntryRepository;
 import com.example.scheduler.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -15,292 +21,180 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * 서버 활동 통계. TIMETABLE_REGISTER 이벤트를 기록 시점에 쌓아 둔 롤업(StatsRollupService)의
+ * 버킷만 합산한다. 기간 집계는 마감된 날짜를 월/일 버킷(StatsPeriodCompactor)으로 읽어
+ * 기간 길이와 거의 무관한 수의 버킷만 합산한다.
+ * 읽은 행은 {@link StatsAccumulator} 에 한 번씩만 누적해 응답을 만든다.
+ * 응답은 {@link StatsCache} 에 두고, 동시에 들어온 같은 요청은 한 번만 계산한다.
+ */
 @Service
 @RequiredArgsConstructor
 public class StatsService {
     private final ServerRepository serverRepo;
     private final TimetableEntryRepository entryRepo;
-    private final AuditLogRepository auditRepo;
     private final UserRepository userRepo;
+    private final StatsHourlyGameRepository hourlyGameRepo;
+    private final StatsHourlySlotRepository hourlySlotRepo;
+    private final StatsUserDayRepository userDayRepo;
+    private final StatsPeriodGameRepository periodGameRepo;
+    private final StatsPeriodHourRepository periodHourRepo;
+    private final StatsPeriodCompactor compactor;
+    private final StatsCache statsCache;
+
+    // custom 기간 최대 일수
+    @Value("${app.stats.max-range-days:366}")
+    private int maxRangeDays = 366;
+
+    public StatsDto.AggregatedResponse aggregate(Long serverId, String range, LocalDate from, LocalDate to) {
+        return statsCache.get(serverId, "aggregate", range + "|" + from + "|" + to + "|" + LocalDate.now(),
+                () -> computeAggregate(serverId, range, from, to));
+    }
+
+    public StatsDto.TodayStatsResponse today(Long serverId) {
+        return statsCache.get(serverId, "today", String.valueOf(LocalDate.now()), () -> computeToday(serverId));
+    }
+
+    public StatsDto.WeeklyStatsResponse weekly(Long serverId) {
+        return statsCache.get(serverId, "weekly", String.valueOf(LocalDate.now()), () -> computeWeekly(serverId));
+    }
 
-    public StatsDto.AggregatedResponse aggregate(Long serverId, String range) {
+    private StatsDto.AggregatedResponse computeAggregate(Long serverId, String range, LocalDate from, LocalDate to) {
         var srv = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        // 월간 제거: range는 weekly만 허용
-        if (!"weekly".equalsIgnoreCase(range)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "range must be weekly");
-        }
+        // 기간: weekly(이번 주) / monthly(이번 달) / custom(from~to, 날짜 포함)
+        String rangeKey = range == null ? "weekly" : range.toLowerCase(Locale.ROOT);
         LocalDate today = LocalDate.now();
-        LocalDate monday = today.minusDays((today.getDayOfWeek().getValue() + 6) % 7);
-        LocalDateTime start = monday.atStartOfDay();
-        LocalDateTime end = monday.plusDays(7).atTime(LocalTime.MAX);
-
-        var logs = auditRepo.findByServerIdAndActionAndOccurredAtBetween(serverId, "TIMETABLE_REGISTER", start, end);
-
-        List<String> gameNames;
-        List<LocalDateTime> slots;
-        if (!logs.isEmpty()) {
-            gameNames = new ArrayList<>();
-            slots = new ArrayList<>();
-            for (var l : logs) {
-                String d = l.getDetails();
-                if (d == null || d.isBlank()) continue;
-                // format: game=<name>;slot=2025-08-21T20:10
-                String[] parts = d.split(";");
-                String game = null; String slot = null;
-                for (String p : parts) {
-                    int idx = p.indexOf('=');
-                    if (idx <= 0) continue;
-                    String k = p.substring(0, idx).trim();
-                    String v = p.substring(idx + 1).trim();
-                    if ("game".equals(k)) game = v;
-                    else if ("slot".equals(k)) slot = v;
-                }
-                if (game != null && !game.isBlank()) gameNames.add(game);
-                if (slot != null) {
-                    try { slots.add(LocalDateTime.parse(slot)); } catch (Exception ignored) {}
-                }
+        LocalDateTime start;
+        LocalDateTime end;
+        switch (rangeKey) {
+            case "weekly" -> {
+                LocalDate monday = today.minusDays((today.getDayOfWeek().getValue() + 6) % 7);
+                start = monday.atStartOfDay();
+                end = monday.plusDays(7).atTime(LocalTime.MAX);
             }
-            // 보조 데이터가 완전히 비었을 경우에만 현재 엔트리 사용
-            if (slots.isEmpty()) {
-                List<TimetableEntry> current = entryRepo.findByServerOrderBySlot(srv);
-                slots = current.stream().map(TimetableEntry::getSlot).toList();
+            case "monthly" -> {
+                start = today.withDayOfMonth(1).atStartOfDay();
+                end = today.withDayOfMonth(today.lengthOfMonth()).atTime(LocalTime.MAX);
             }
-        } else {
-            List<TimetableEntry> current = entryRepo.findByServerOrderBySlot(srv);
-            gameNames = current.stream().map(e -> e.getCustomGame() != null ? e.getCustomGame().getName() : e.getDefaultGame().getName()).toList();
-            slots = current.stream().map(TimetableEntry::getSlot).toList();
-        }
-
-        // 동일 사용자가 같은 날 여러 번 예약해도 1회로 집계되도록 사용자-날짜 기준으로 중복 제거
-        // AuditLog에는 userId가 있으므로, 주간 집계는 userId+dateKey로 집계
-        var userDayToGames = new HashMap<String, java.util.Set<String>>();
-        var logsForWeek = auditRepo.findByServerIdAndActionAndOccurredAtBetween(serverId, "TIMETABLE_REGISTER", start, end);
-        for (var l : logsForWeek) {
-            Long uid = l.getUserId();
-            LocalDate day = l.getOccurredAt().toLocalDate();
-            String d = l.getDetails();
-            String game = null;
-            if (d != null) {
-                for (String p : d.split(";")) {
-                    int idx = p.indexOf('=');
-                    if (idx <= 0) continue;
-                    String k = p.substring(0, idx).trim();
-                    String v = p.substring(idx + 1).trim();
-                    if ("game".equals(k)) game = v;
+            case "custom" -> {
+                if (from == null || to == null || from.isAfter(to)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "custom range requires from <= to");
                 }
-            }
-            if (game == null) continue;
-            String key = (uid == null ? "anon" : String.valueOf(uid)) + "@" + day.toString();
-            userDayToGames.computeIfAbsent(key, k -> new java.util.HashSet<>()).add(game);
-        }
-        Map<String, Long> gameCounts;
-        if (!userDayToGames.isEmpty()) {
-            // 사용자-날짜 단위로 유니크 게임 집계
-            gameCounts = new HashMap<>();
-            for (var set : userDayToGames.values()) {
-                for (String g : set) {
-                    Long prev = gameCounts.get(g);
-                    gameCounts.put(g, prev == null ? 1L : prev + 1L);
+                if (ChronoUnit.DAYS.between(from, to) + 1 > maxRangeDays) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "range must be at most " + maxRangeDays + " days");
                 }
+                start = from.atStartOfDay();
+                end = to.atTime(LocalTime.MAX);
             }
-        } else {
-            // 보조: 기존 방식(엔트리/로그 단순 카운트)
-            gameCounts = gameNames.stream().collect(Collectors.groupingBy(n -> n, Collectors.counting()));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "range must be weekly, monthly or custom");
         }
 
-        List<StatsDto.NameCount> topGames = gameCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .map(e -> new StatsDto.NameCount(e.getKey(), e.getValue()))
-                .toList();
-
-        // 시간대 집계도 사용자-날짜 단위 1회로 제한
-        long[] hourCountsArr = new long[24];
-        if (!logsForWeek.isEmpty()) {
-            var userDayToHour = new HashMap<String, Integer>();
-            for (var l : logsForWeek) {
-                Long uid = l.getUserId();
-                LocalDate day = l.getOccurredAt().toLocalDate();
-                LocalDateTime s = l.getOccurredAt();
-                String d = l.getDetails();
-                if (d != null) {
-                    for (String p : d.split(";")) {
-                        int idx = p.indexOf('=');
-                        if (idx <= 0) continue;
-                        String k = p.substring(0, idx).trim();
-                        String v = p.substring(idx + 1).trim();
-                        if ("slot".equals(k)) { try { s = LocalDateTime.parse(v);} catch (Exception ignored) {} }
-                    }
-                }
-                String key = (uid == null ? "anon" : String.valueOf(uid)) + "@" + day.toString();
-                // 같은 사용자/날짜에 여러 슬롯이 있으면 가장 이른 시간 기준으로 1회 집계
-                int hour = s.getHour();
-                userDayToHour.merge(key, hour, Math::min);
+        // 마감된 날짜는 일/월 버킷, 그 이후(보통 오늘)는 시간 롤업에서 읽어 합친다
+        StatsAccumulator acc = new StatsAccumulator();
+        LocalDate fromDay = start.toLocalDate();
+        LocalDate toDay = end.toLocalDate();
+        LocalDate compacted = compactor.compactedThrough();
+        if (compacted != null && !compacted.isBefore(fromDay)) {
+            StatsPeriods.Split split = StatsPeriods.split(fromDay, compacted.isBefore(toDay) ? compacted : toDay);
+            for (var r : periodGameRepo.sumUserDaysByGame(serverId, split.monthFrom(), split.monthTo(),
+                    split.headFrom(), split.headTo(), split.tailFrom(), split.tailTo())) {
+                acc.addGame(r.getGameName(), r.getCnt());
+            }
+            for (var r : periodHourRepo.sumUserDaysByHour(serverId, split.monthFrom(), split.monthTo(),
+                    split.headFrom(), split.headTo(), split.tailFrom(), split.tailTo())) {
+                acc.addHour(r.getSlotHour(), r.getCnt());
             }
-            for (int hour : userDayToHour.values()) {
-                if (hour >= 0 && hour < 24) hourCountsArr[hour]++;
+        }
+        LocalDate recentFrom = compacted != null && !compacted.isBefore(fromDay) ? compacted.plusDays(1) : fromDay;
+        if (!recentFrom.isAfter(toDay)) {
+            // 동일 사용자가 같은 날 여러 번 예약해도 1회로 집계 (사용자-날짜-게임 마커 기준)
+            for (var r : hourlyGameRepo.sumUserDaysByGame(serverId, recentFrom.atStartOfDay(), end)) {
+                acc.addGame(r.getGameName(), r.getCnt());
             }
-        } else {
-            for (LocalDateTime s : slots) {
-                hourCountsArr[s.getHour()]++;
+            // 시간대: 사용자-날짜마다 가장 이른 슬롯 시간 1회
+            for (var r : userDayRepo.countByEarliestHour(serverId, recentFrom, toDay)) {
+                acc.addHour(r.getSlotHour(), r.getCnt());
             }
         }
-        List<StatsDto.HourCount> hourCounts = new ArrayList<>();
-        int topHour = 0; long topHourCount = 0;
-        for (int h = 0; h < 24; h++) {
-            long c = hourCountsArr[h];
-            hourCounts.add(new StatsDto.HourCount(h, c));
-            if (c > topHourCount) { topHourCount = c; topHour = h; }
+
+        if ("weekly".equals(rangeKey) && acc.hourTotal() == 0) {
+            // 이번 주 기록이 없으면 현재 엔트리 기준
+            for (TimetableEntry e : entryRepo.findByServerOrderBySlot(srv)) {
+                String game = e.getCustomGame() != null ? e.getCustomGame().getName() : e.getDefaultGame().getName();
+                acc.addGame(game, 1L);
+                acc.addHour(e.getSlot().getHour(), 1L);
+            }
         }
 
+        List<StatsDto.NameCount> topGames = acc.topGames();
         String topGame = topGames.isEmpty() ? null : topGames.get(0).getName();
 
-        // 주간 데이터 수집중 여부: 해당 서버의 최초 TIMETABLE_REGISTER 로그 일자가 월요일(start) 이후이면 이번 주 데이터 일부만 존재
+        // 데이터 수집중 여부: 해당 서버의 최초 기록 버킷이 기간 시작 이후이면 기간 데이터 일부만 존재
         boolean collecting = false;
         try {
-            var first = auditRepo.findFirstByServerIdAndActionOrderByOccurredAtAsc(serverId, "TIMETABLE_REGISTER");
-            if (first == null || first.getOccurredAt().isAfter(start)) {
+            LocalDateTime first = hourlySlotRepo.findFirstBucket(serverId);
+            if (first == null || !first.isBefore(start)) {
                 collecting = true;
             }
         } catch (Exception ignored) {}
 
         return new StatsDto.AggregatedResponse(
-                "weekly", start, end, topGame, topHour, topHourCount, topGames, hourCounts, collecting
+                rangeKey, start, end, topGame, acc.peakHour(), acc.peakHourCount(), topGames, acc.hourCounts(), collecting
         );
     }
 
-    public StatsDto.TodayStatsResponse today(Long serverId) {
+    private StatsDto.TodayStatsResponse computeToday(Long serverId) {
         serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         LocalDateTime start = LocalDate.now().atStartOfDay();
         LocalDateTime end = start.plusDays(1).minusNanos(1);
 
-        // 오늘 등록된 슬롯 수집: 현재 구조에서는 엔트리만으로는 과거가 없으므로 AuditLog 사용 권장
-        var logs = auditRepo.findByServerIdAndActionAndOccurredAtBetween(serverId, "TIMETABLE_REGISTER", start, end);
-        List<String> gameNames = new ArrayList<>();
-        long[] hourly = new long[24];
-        List<Integer> minutes = new ArrayList<>();
-        for (var l : logs) {
-            String d = l.getDetails();
-            String game = null; String slotS = null;
-            if (d != null) {
-                for (String p : d.split(";")) {
-                    int idx = p.indexOf('=');
-                    if (idx <= 0) continue;
-                    String k = p.substring(0, idx).trim();
-                    String v = p.substring(idx + 1).trim();
-                    if ("game".equals(k)) game = v;
-                    else if ("slot".equals(k)) slotS = v;
-                }
-            }
-            if (game != null) gameNames.add(game);
-            LocalDateTime s = l.getOccurredAt();
-            if (slotS != null) { try { s = LocalDateTime.parse(slotS); } catch (Exception ignored) {} }
-            if (s != null) {
-                hourly[s.getHour()]++;
-                minutes.add(s.getHour()*60 + s.getMinute());
-            }
+        // 오늘 등록된 슬롯 집계: 게임별/시간대별 건수를 SQL에서 그룹핑
+        StatsAccumulator acc = new StatsAccumulator();
+        for (var r : hourlyGameRepo.sumRegistrationsByGame(serverId, start, end)) {
+            acc.addGame(r.getGameName(), r.getCnt());
+        }
+        for (var r : hourlySlotRepo.sumBySlotHour(serverId, start, end)) {
+            acc.addHour(r.getSlotHour(), r.getCnt(), r.getMinuteSum());
         }
 
-        // topGame
-        String topGame = gameNames.stream()
-                .collect(Collectors.groupingBy(n -> n, Collectors.counting()))
-                .entrySet().stream().max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey).orElse(null);
-
-        // avgMinute
-        int avgMinute = minutes.isEmpty() ? 0 : (int)Math.round(minutes.stream().mapToInt(i->i).average().orElse(0));
-
-        // peak
-        int peakHour = 0; long peakCount = 0;
-        List<StatsDto.HourCount> hourlyCounts = new ArrayList<>();
-        for (int h=0; h<24; h++) { hourlyCounts.add(new StatsDto.HourCount(h, hourly[h])); if (hourly[h]>peakCount){ peakCount=hourly[h]; peakHour=h; } }
-
-        return new StatsDto.TodayStatsResponse(topGame, avgMinute, peakHour, peakCount, hourlyCounts);
+        return new StatsDto.TodayStatsResponse(acc.topGame(), acc.avgMinuteOfDay(),
+                acc.peakHour(), acc.peakHourCount(), acc.hourCounts());
     }
 
-    public StatsDto.WeeklyStatsResponse weekly(Long serverId) {
-        var srv = serverRepo.findById(serverId)
+    private StatsDto.WeeklyStatsResponse computeWeekly(Long serverId) {
+        serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         LocalDate monday = LocalDate.now().minusDays((LocalDate.now().getDayOfWeek().getValue()+6)%7);
         LocalDateTime start = monday.atStartOfDay();
         LocalDateTime end = start.plusDays(7).minusNanos(1);
 
-        var logs = auditRepo.findByServerIdAndActionAndOccurredAtBetween(serverId, "TIMETABLE_REGISTER", start, end);
-
         // 1) 가장 자주 접속한 유저 (활동 일수 기준 최대 7)
-        Map<Long, java.util.Set<Integer>> userToDows = new HashMap<>();
-        for (var l: logs) {
-            int dow = l.getOccurredAt().getDayOfWeek().getValue();
-            userToDows.computeIfAbsent(l.getUserId(), k->new java.util.HashSet<>()).add(dow);
-        }
-        List<StatsDto.UserCount> topUsers = userToDows.entrySet().stream()
-                .map(e -> new StatsDto.UserCount(e.getKey(), null, e.getValue().size()))
+        List<StatsDto.UserCount> topUsers = userDayRepo.countActiveDaysByUser(serverId, start.toLocalDate(), end.toLocalDate()).stream()
+                .map(r -> new StatsDto.UserCount(r.getUserId() == 0L ? null : r.getUserId(), null, r.getActiveDays()))
                 .sorted((a,b)-> Long.compare(b.getCount(), a.getCount()))
                 .limit(3).collect(Collectors.toList());
         // 닉네임 채우기
-        var ids = topUsers.stream().map(StatsDto.UserCount::getUserId).toList();
+        var ids = topUsers.stream().map(StatsDto.UserCount::getUserId).filter(Objects::nonNull).toList();
         var userMap = userRepo.findAllById(ids).stream().collect(Collectors.toMap(User::getId, u->u));
         topUsers.forEach(u -> { var user = userMap.get(u.getUserId()); if (user!=null) u.setNickname(user.getNickname()); });
 
-        // 2) 요일별 평균 접속 시간대
-        Map<Integer, List<Integer>> dowMinutes = new HashMap<>();
-        for (var l: logs) {
-            LocalDateTime s = l.getOccurredAt();
-            String d = l.getDetails();
-            if (d != null) {
-                for (String p : d.split(";")) {
-                    int idx = p.indexOf('=');
-                    if (idx <= 0) continue;
-                    String k = p.substring(0, idx).trim();
-                    String v = p.substring(idx + 1).trim();
-                    if ("slot".equals(k)) { try { s = LocalDateTime.parse(v);} catch (Exception ignored) {} }
-                }
-            }
-            int dow = s.getDayOfWeek().getValue();
-            dowMinutes.computeIfAbsent(dow, k->new ArrayList<>()).add(s.getHour()*60 + s.getMinute());
-        }
-        List<StatsDto.DayAvg> dowAvg = new ArrayList<>();
-        for (int d=1; d<=7; d++) {
-            List<Integer> list = dowMinutes.getOrDefault(d, java.util.Collections.emptyList());
-            int avg = list.isEmpty()? 0 : (int)Math.round(list.stream().mapToInt(i->i).average().orElse(0));
-            dowAvg.add(new StatsDto.DayAvg(d, avg, list.size()));
-        }
-
+        // 2) 요일별 평균 접속 시간대 (슬롯 날짜별 건수/분 합계를 요일로 합산)
         // 3) 요일별 플레이 된 게임(막대: 게임별 카운트)
-        Map<Integer, Map<String, Long>> dowGameCounts = new HashMap<>();
-        for (var l: logs) {
-            String game = null; String d = l.getDetails();
-            if (d != null) {
-                for (String p : d.split(";")) {
-                    int idx = p.indexOf('=');
-                    if (idx <= 0) continue;
-                    String k = p.substring(0, idx).trim();
-                    String v = p.substring(idx + 1).trim();
-                    if ("game".equals(k)) game = v;
-                }
-            }
-            if (game == null) continue;
-            int dow = l.getOccurredAt().getDayOfWeek().getValue();
-            dowGameCounts.computeIfAbsent(dow, k-> new HashMap<>())
-                    .merge(game, 1L, Long::sum);
+        StatsAccumulator acc = new StatsAccumulator();
+        for (var r : hourlySlotRepo.sumBySlotDate(serverId, start, end)) {
+            acc.addDay(r.getSlotDay(), r.getCnt(), r.getMinuteSum());
         }
-        List<StatsDto.DayGames> dowGames = new ArrayList<>();
-        for (int d=1; d<=7; d++) {
-            Map<String, Long> m = dowGameCounts.getOrDefault(d, java.util.Collections.emptyMap());
-            List<StatsDto.NameCount> items = m.entrySet().stream()
-                    .sorted(Map.Entry.<String,Long>comparingByValue().reversed())
-                    .map(e -> new StatsDto.NameCount(e.getKey(), e.getValue()))
-                    .collect(Collectors.toList());
-            dowGames.add(new StatsDto.DayGames(d, items));
+        for (var r : hourlyGameRepo.sumRegistrationsByDayAndGame(serverId, start, end)) {
+            acc.addDayGame(r.getOccurredDay(), r.getGameName(), r.getCnt());
         }
 
-        return new StatsDto.WeeklyStatsResponse(topUsers, dowAvg, dowGames);
+        return new StatsDto.WeeklyStatsResponse(topUsers, acc.dayAvgs(), acc.dayGames());
     }
 }
-
-
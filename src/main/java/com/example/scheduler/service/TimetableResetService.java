@@ -0,0 +1,94 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.TransactionHooks;
+import com.example.scheduler.domain.AuditLog;
+import com.example.scheduler.repository.PartyRepository;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 서버 단위 타임테이블/파티 초기화.
+ * 한 청크(여러 서버)를 하나의 트랜잭션에서 벌크 DELETE 하고, 삭제된 엔트리 스냅샷은 커밋 이후 배치로 기록한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimetableResetService {
+    private final TimetableEntryRepository entryRepo;
+    private final PartyRepository partyRepo;
+    private final AuditService auditService;
+    private final TimetableReminderIndex reminderIndex;
+    private final TimetableSnapshots snapshots;
+
+    public record ChunkResult(int servers, int entries, int parties) {}
+
+    @Transactional
+    public ChunkResult resetChunk(Collection<Long> serverIds) {
+        if (serverIds == null || serverIds.isEmpty()) return new ChunkResult(0, 0, 0);
+
+        // 감사 로그 스냅샷: 삭제될 엔트리를 프로젝션으로 한 번에 읽어 배치로 기록
+        List<TimetableEntryRepository.ResetRow> rows = entryRepo.findResetRowsByServerIdIn(serverIds);
+        List<AuditLog> snapshot = snapshot(rows, serverIds);
+
+        int entries = entryRepo.deleteAllByServerIdIn(serverIds);
+        // 파티도 함께 초기화
+        partyRepo.deleteParticipantsByServerIdIn(serverIds);
+        int parties = partyRepo.deleteAllByServerIdIn(serverIds);
+
+        rows.forEach(r -> reminderIndex.unschedule(r.getEntryId()));
+        snapshots.clear(serverIds);
+
+        // 스냅샷은 삭제가 커밋된 뒤 별도 트랜잭션으로 기록: 실패해도 초기화는 롤백되지 않는다
+        int servers = serverIds.size();
+        TransactionHooks.afterCommit(() -> {
+            try {
+                auditService.logAll(snapshot);
+            } catch (Exception e) {
+                log.warn("Reset audit snapshot failed (servers={}): {}", servers, e.getMessage());
+            }
+        });
+        return new ChunkResult(serverIds.size(), entries, parties);
+    }
+
+    private List<AuditLog> snapshot(List<TimetableEntryRepository.ResetRow> rows, Collection<Long> serverIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> snapshot = new ArrayList<>(rows.size() + serverIds.size());
+        for (TimetableEntryRepository.ResetRow r : rows) {
+            snapshot.add(AuditLog.builder()
+                    .serverId(r.getServerId())
+                    .userId(r.getUserId())
+                    .action("TIMETABLE_RESET_DELETE")
+                    .gameId(r.getGameId())
+                    .gameName(r.getGameName())
+                    .slot(r.getSlot())
+                    .reason("SERVER_RESET")
+                    .details(String.format("reason=SERVER_RESET;game=%s;slot=%s", safe(r.getGameName()), r.getSlot()))
+                    .occurredAt(now)
+                    .build());
+        }
+        for (Long serverId : serverIds) {
+            snapshot.add(AuditLog.builder()
+                    .serverId(serverId)
+                    .action("PARTY_RESET_DELETE")
+                    .reason("SERVER_RESET")
+                    .details("reason=SERVER_RESET")
+                    .occurredAt(now)
+                    .build());
+        }
+        return snapshot;
+    }
+
+    private String safe(String s) {
+        if (s == null) return "";
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
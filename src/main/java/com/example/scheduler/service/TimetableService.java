@@ -1,20 +1,21 @@
 package com.example.scheduler.service;
 
+import com.example.scheduler.common.util.TransactionHooks;
 import com.example.scheduler.domain.*;
+import com.example.scheduler.dto.NotificationPayload;
 import com.example.scheduler.dto.TimetableDto;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,19 +23,22 @@ import java.util.stream.Collectors;
 public class TimetableService {
     private final TimetableEntryRepository entryRepo;
     private final ServerRepository serverRepo;
-    private final UserRepository userRepo;
     private final DefaultGameRepository defaultGameRepo;
     private final CustomGameRepository customGameRepo;
     private final NotificationService notificationService;
     private final FriendshipRepository friendshipRepository;
     private final PartyRepository partyRepository;
     private final AuditService auditService;
+    private final TimetableReminderIndex reminderIndex;
+    private final CurrentUserProvider currentUserProvider;
+    private final TimetableSnapshots snapshots;
+    private final TimetableStats timetableStats;
+    private final StatsRollupService statsRollupService;
 
     @Transactional
     public TimetableDto.EntryResponse add(TimetableDto.EntryRequest req) {
-        User user = userRepo.findByUsername(
-                SecurityContextHolder.getContext().getAuthentication().getName()
-        ).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        User user = currentUserProvider.find()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         Server srv = serverRepo.findById(req.getServerId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
@@ -44,7 +48,10 @@ public class TimetableService {
         }
 
         entryRepo.findByServerAndUser(srv, user)
-                .ifPresent(entryRepo::delete);
+                .ifPresent(old -> {
+                    reminderIndex.unschedule(old.getId());
+                    entryRepo.delete(old);
+                });
 
         TimetableEntry e = TimetableEntry.builder()
                 .server(srv)
@@ -65,11 +72,22 @@ public class TimetableService {
         }
 
         entryRepo.save(e);
+        reminderIndex.schedule(e);
+        snapshots.upsert(srv.getId(), TimetableSnapshots.EntryView.of(e));
         // 감사 로그: 스케줄 등록 기록 (집계용: game,slot 포함)
         try {
             String details = String.format("game=%s;slot=%s", safeGameName(e), e.getSlot().toString());
-            auditService.log(srv.getId(), user.getId(), "TIMETABLE_REGISTER", details);
+            auditService.log(auditOf(srv, user, "TIMETABLE_REGISTER", e).details(details).build());
         } catch (Exception ignored) {}
+        // 통계 롤업 (원본 로그 대신 버킷 합산으로 조회): 등록이 커밋된 뒤에만 반영
+        Long serverId = srv.getId(), userId = user.getId(), gameId = gameIdOf(e);
+        String gameName = safeGameName(e);
+        LocalDateTime slot = e.getSlot(), occurredAt = LocalDateTime.now();
+        TransactionHooks.afterCommit(() -> {
+            try {
+                statsRollupService.recordRegistration(serverId, userId, gameId, gameName, slot, occurredAt);
+            } catch (Exception ignored) {}
+        });
         // 알림: 같은 서버의 내 친구들에게 통지 (JSON payload에 serverId 포함) - 집계 전송
         notifyFriendsInServer(user, srv, e);
         return toResp(e);
@@ -78,98 +96,71 @@ public class TimetableService {
     public List<TimetableDto.EntryResponse> list(
             Long serverId, String gameName, boolean sortByGame
     ) {
+        // 1) 메모리 스냅샷이 있으면 DB 조회 없이 필터/정렬
+        TimetableSnapshots.Snapshot snap = snapshots.get(serverId);
+        if (snap != null) {
+            return snap.query(gameName, sortByGame);
+        }
+
         Server srv = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        // 1) 서버 전체 엔트리 조회
-        List<TimetableEntry> list = entryRepo.findByServerOrderBySlot(srv);
-
-        // 2) 이름 기준 필터링 (gameName 파라미터 존재 시)
-        if (gameName != null) {
-            list = list.stream()
-                    .filter(e -> {
-                        String name = (e.getCustomGame() != null)
-                                ? e.getCustomGame().getName()
-                                : e.getDefaultGame().getName();
-                        return name.equals(gameName);
-                    })
-                    .collect(Collectors.toList());
-        }
-
-        // 3) 게임명 기준 정렬
-        if (sortByGame) {
-            list.sort(Comparator.comparing(e -> {
-                return (e.getCustomGame() != null)
-                        ? e.getCustomGame().getName()
-                        : e.getDefaultGame().getName();
-            }));
+        // 2) 콜드 미스 + 필터/정렬 요청: 조건과 정렬을 SQL로 처리해 바로 응답
+        if (gameName != null || sortByGame) {
+            List<TimetableEntry> list = (gameName != null)
+                    ? entryRepo.findByServerAndGameNameOrderBySlot(srv, gameName)
+                    : entryRepo.findByServerOrderByGameName(srv);
+            return list.stream().map(this::toResp).collect(Collectors.toList());
         }
 
-        return list.stream().map(this::toResp).collect(Collectors.toList());
+        // 3) 콜드 미스 전체 조회: 스냅샷을 만들어 이후 조회에 재사용
+        long version = snapshots.version(serverId);
+        List<TimetableSnapshots.EntryView> views = entryRepo.findByServerOrderBySlot(srv).stream()
+                .map(TimetableSnapshots.EntryView::of)
+                .toList();
+        return snapshots.install(serverId, version, views).query(null, false);
     }
 
     public TimetableDto.StatsResponse stats(Long serverId) {
+        // 카운터가 있으면 그대로 읽기 (등록/수정/삭제/리셋 시 증분 갱신됨)
+        TimetableDto.StatsResponse cached = timetableStats.get(serverId);
+        if (cached != null) return cached;
+
+        // 처음 조회하는 서버: 테이블에서 한 번 읽어 카운터 구성
         Server srv = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<TimetableEntry> list = entryRepo.findByServerOrderBySlot(srv);
-
-        // 최다 플레이 게임
-        String topGame = list.stream()
-                .collect(Collectors.groupingBy(e -> {
-                    return (e.getCustomGame() != null)
-                            ? e.getCustomGame().getName()
-                            : e.getDefaultGame().getName();
-                }, Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .get().getKey();
-
-        // 슬롯별 카운트
-        Map<LocalDateTime, Long> slotCounts = list.stream()
-                .collect(Collectors.groupingBy(TimetableEntry::getSlot, Collectors.counting()));
-
-        // 피크 슬롯과 평균 슬롯
-        LocalDateTime peakSlot = slotCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .get().getKey();
-
-        double avgMinute = list.stream()
-                .mapToLong(e -> e.getSlot().getHour() * 60 + e.getSlot().getMinute())
-                .average().orElse(0);
-
-        LocalDateTime avgSlot = LocalDateTime.now()
-                .withHour((int)avgMinute / 60)
-                .withMinute((int)avgMinute % 60)
-                .truncatedTo(ChronoUnit.MINUTES);
-
-        int peakCount = slotCounts.get(peakSlot).intValue();
-        return new TimetableDto.StatsResponse(topGame, avgSlot, peakSlot, peakCount);
+        long version = timetableStats.version(serverId);
+        List<TimetableSnapshots.EntryView> views = entryRepo.findByServerOrderBySlot(srv).stream()
+                .map(TimetableSnapshots.EntryView::of)
+                .toList();
+        return timetableStats.install(serverId, version, views);
     }
 
     @Transactional
     public void deleteByServerAndCurrentUser(Long serverId) {
-        User user = userRepo.findByUsername(
-                SecurityContextHolder.getContext().getAuthentication().getName()
-        ).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        User user = currentUserProvider.find()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         Server srv = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         try {
             // 감사 로그: 파티 이동/탈퇴 등으로 내 타임테이블 삭제
             var entries = entryRepo.findByServerAndUser(srv, user);
             entries.ifPresent(e -> {
+                reminderIndex.unschedule(e.getId());
                 String details = String.format("reason=USER_ACTION;game=%s;slot=%s",
                         safeGameName(e), e.getSlot());
-                auditService.log(srv.getId(), user.getId(), "TIMETABLE_DELETE", details);
+                auditService.log(auditOf(srv, user, "TIMETABLE_DELETE", e)
+                        .reason("USER_ACTION").details(details).build());
             });
         } catch (Exception ignored) {}
         entryRepo.deleteAllByServerAndUser(srv, user);
+        snapshots.removeUser(srv.getId(), user.getId());
     }
 
     @Transactional
     public TimetableDto.EntryResponse update(Long serverId, LocalDateTime newSlot, Long defaultGameId, Long customGameId) {
-        User user = userRepo.findByUsername(
-                SecurityContextHolder.getContext().getAuthentication().getName()
-        ).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        User user = currentUserProvider.find()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         Server srv = serverRepo.findById(serverId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         TimetableEntry e = entryRepo.findByServerAndUser(srv, user)
@@ -190,33 +181,19 @@ public class TimetableService {
         }
         if (newSlot != null) e.setSlot(newSlot.truncatedTo(ChronoUnit.MINUTES));
         entryRepo.save(e);
+        reminderIndex.schedule(e);
+        snapshots.upsert(srv.getId(), TimetableSnapshots.EntryView.of(e));
         try {
             String details = String.format("fromGame=%s;fromSlot=%s;toGame=%s;toSlot=%s",
                     oldGame, oldSlot, safeGameName(e), e.getSlot());
-            auditService.log(srv.getId(), user.getId(), "TIMETABLE_UPDATE", details);
+            // 구조화 컬럼에는 변경 후 값을 기록
+            auditService.log(auditOf(srv, user, "TIMETABLE_UPDATE", e).details(details).build());
         } catch (Exception ignored) {}
         return toResp(e);
     }
 
     private TimetableDto.EntryResponse toResp(TimetableEntry e) {
-        TimetableDto.EntryResponse r = new TimetableDto.EntryResponse();
-        r.setId(e.getId());
-        r.setUser(e.getUser().getNickname());
-        r.setSlot(e.getSlot());
-        if (e.getCustomGame() != null) {
-            r.setGameId(e.getCustomGame().getId());
-            r.setGameName(e.getCustomGame().getName());
-            r.setCustom(true);
-        } else if (e.getDefaultGame() != null) {
-            r.setGameId(e.getDefaultGame().getId());
-            r.setGameName(e.getDefaultGame().getName());
-            r.setCustom(false);
-        } else {
-            r.setGameId(null);
-            r.setGameName("미정");
-            r.setCustom(false);
-        }
-        return r;
+        return TimetableSnapshots.EntryView.of(e).toResponse();
     }
 
     private void notifyFriendsInServer(User actor, Server server, TimetableEntry entry) {
@@ -238,25 +215,31 @@ public class TimetableService {
             String gameName = (entry.getCustomGame() != null)
                     ? entry.getCustomGame().getName()
                     : entry.getDefaultGame().getName();
-            String payload = String.format(
-                    "{\"kind\":\"timetable\",\"serverId\":%d,\"serverName\":\"%s\",\"fromNickname\":\"%s\",\"gameName\":\"%s\"}",
-                    server.getId(),
-                    safe(server.getName()),
-                    safe(actor.getNickname()),
-                    safe(gameName)
-            );
+            NotificationPayload payload = new NotificationPayload.Timetable(
+                    server.getId(), server.getName(), actor.getNickname(), gameName);
             notificationService.notifyMany(targets, com.example.scheduler.domain.NotificationType.TIMETABLE, "친구의 스케줄 등록", payload, server.getId());
         }
     }
 
+    private AuditLog.AuditLogBuilder auditOf(Server srv, User user, String action, TimetableEntry e) {
+        return AuditLog.builder()
+                .serverId(srv.getId())
+                .userId(user.getId())
+                .action(action)
+                .gameId(gameIdOf(e))
+                .gameName(safeGameName(e))
+                .slot(e.getSlot());
+    }
+
+    private Long gameIdOf(TimetableEntry entry) {
+        if (entry.getCustomGame() != null) return entry.getCustomGame().getId();
+        if (entry.getDefaultGame() != null) return entry.getDefaultGame().getId();
+        return null;
+    }
+
     private String safeGameName(TimetableEntry entry) {
         if (entry.getCustomGame() != null) return entry.getCustomGame().getName();
         if (entry.getDefaultGame() != null) return entry.getDefaultGame().getName();
         return "";
     }
-
-    private String safe(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
 }
@@ -0,0 +1,211 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.LruCache;
+import com.example.scheduler.common.util.TransactionHooks;
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.dto.TimetableDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 서버별 타임테이블 읽기 모델.
+ * 슬롯 순으로 정렬된 불변 배열(스냅샷)을 메모리에 두고 목록 조회를 DB 없이 처리한다.
+ * 등록/수정/삭제/리셋은 커밋 후 스냅샷을 복사-수정해 교체하고, 변경마다 서버 버전을 올려
+ * 변경 이전 데이터로 읽은 콜드 로드가 늦게 설치되는 것을 막는다.
+ * 다른 노드의 변경은 TTL 안에 반영된다.
+ * 같은 변경을 서버별 통계 카운터({@link TimetableStats})에도 전달하고, 현재 엔트리로 만드는 통계 응답
+ * ({@link StatsCache}, 주간 폴백 등)도 해당 서버 항목을 비운다.
+ */
+@Component
+public class TimetableSnapshots {
+
+    private static final Comparator<EntryView> BY_SLOT =
+            Comparator.comparing(EntryView::slot).thenComparing(EntryView::id);
+    private static final Comparator<EntryView> BY_GAME =
+            Comparator.comparing(EntryView::gameName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(BY_SLOT);
+
+    private final long ttlMs;
+    private final LruCache<Long, Snapshot> snapshots;
+    // 서버별 변경 버전 (스냅샷이 없어도 증가)
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final TimetableStats stats;
+    private final StatsCache statsCache;
+
+    public TimetableSnapshots(@Value("${app.timetable.snapshot-ttl-ms:5000}") long ttlMs,
+                              @Value("${app.timetable.snapshot-max-servers:5000}") int maxServers,
+                              TimetableStats stats,
+                              StatsCache statsCache) {
+        this.ttlMs = ttlMs;
+        this.snapshots = new LruCache<>(maxServers);
+        this.stats = stats;
+        this.statsCache = statsCache;
+    }
+
+    /** 목록 응답 한 줄에 필요한 값만 담은 불변 뷰 */
+    public record EntryView(Long id, Long userId, String user, LocalDateTime slot,
+                            Long gameId, String gameName, boolean custom) {
+
+        public static EntryView of(TimetableEntry e) {
+            Long userId = e.getUser() != null ? e.getUser().getId() : null;
+            String nickname = e.getUser() != null ? e.getUser().getNickname() : null;
+            if (e.getCustomGame() != null) {
+                return new EntryView(e.getId(), userId, nickname, e.getSlot(),
+                        e.getCustomGame().getId(), e.getCustomGame().getName(), true);
+            }
+            if (e.getDefaultGame() != null) {
+                return new EntryView(e.getId(), userId, nickname, e.getSlot(),
+                        e.getDefaultGame().getId(), e.getDefaultGame().getName(), false);
+            }
+            return new EntryView(e.getId(), userId, nickname, e.getSlot(), null, TimetableEntry.NO_GAME_NAME, false);
+        }
+
+        public TimetableDto.EntryResponse toResponse() {
+            TimetableDto.EntryResponse r = new TimetableDto.EntryResponse();
+            r.setId(id);
+            r.setUser(user);
+            r.setSlot(slot);
+            r.setGameId(gameId);
+            r.setGameName(gameName);
+            r.setCustom(custom);
+            return r;
+        }
+    }
+
+    /** 슬롯 순 정렬된 엔트리 배열 (교체만 되고 수정되지 않음) */
+    public static final class Snapshot {
+        private final long version;
+        private final long loadedAtMs;
+        private final EntryView[] entries;
+
+        private Snapshot(long version, long loadedAtMs, EntryView[] entries) {
+            this.version = version;
+            this.loadedAtMs = loadedAtMs;
+            this.entries = entries;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public int size() {
+            return entries.length;
+        }
+
+        public List<TimetableDto.EntryResponse> query(String gameName, boolean sortByGame) {
+            List<EntryView> views = new ArrayList<>(entries.length);
+            for (EntryView v : entries) {
+                if (gameName == null || gameName.equals(v.gameName())) views.add(v);
+            }
+            if (sortByGame && gameName == null) views.sort(BY_GAME);
+            List<TimetableDto.EntryResponse> out = new ArrayList<>(views.size());
+            for (EntryView v : views) out.add(v.toResponse());
+            return out;
+        }
+    }
+
+    /** 유효한 스냅샷, 없거나 TTL이 지났으면 null */
+    public Snapshot get(Long serverId) {
+        Snapshot s = snapshots.get(serverId);
+        if (s == null || System.currentTimeMillis() - s.loadedAtMs > ttlMs) return null;
+        return s;
+    }
+
+    /** 콜드 로드 직전에 읽어 두는 현재 버전 */
+    public long version(Long serverId) {
+        return versions.getOrDefault(serverId, 0L);
+    }
+
+    /**
+     * 콜드 로드 결과 설치. 로드 중에 변경이 있었으면(버전 불일치) 설치하지 않고 이번 결과만 돌려준다.
+     */
+    public Snapshot install(Long serverId, long loadedVersion, List<EntryView> views) {
+        EntryView[] sorted = views.toArray(new EntryView[0]);
+        Arrays.sort(sorted, BY_SLOT);
+        Snapshot loaded = new Snapshot(loadedVersion, System.currentTimeMillis(), sorted);
+        snapshots.compute(serverId, (k, cur) -> version(k) == loadedVersion ? loaded : cur);
+        return loaded;
+    }
+
+    /** 엔트리 등록/수정: 같은 엔트리 또는 같은 사용자(서버당 1건)의 이전 값을 대체 */
+    public void upsert(Long serverId, EntryView view) {
+        TransactionHooks.afterCommit(() -> {
+            stats.upsert(serverId, view);
+            statsCache.evictServer(serverId);
+            apply(serverId, arr -> {
+                List<EntryView> next = new ArrayList<>(arr.length + 1);
+                for (EntryView v : arr) {
+                    if (!v.id().equals(view.id()) && !Objects.equals(v.userId(), view.userId())) next.add(v);
+                }
+                next.add(view);
+                next.sort(BY_SLOT);
+                return next.toArray(new EntryView[0]);
+            });
+        });
+    }
+
+    public void removeUser(Long serverId, Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            stats.removeUser(serverId, userId);
+            statsCache.evictServer(serverId);
+            apply(serverId, arr -> Arrays.stream(arr)
+                    .filter(v -> !Objects.equals(v.userId(), userId))
+                    .toArray(EntryView[]::new));
+        });
+    }
+
+    /** 리셋: 해당 서버들의 엔트리가 모두 지워졌으므로 빈 스냅샷으로 교체 */
+    public void clear(Collection<Long> serverIds) {
+        TransactionHooks.afterCommit(() -> {
+            stats.reset(serverIds);
+            long now = System.currentTimeMillis();
+            for (Long serverId : serverIds) {
+                statsCache.evictServer(serverId);
+                snapshots.compute(serverId, (k, cur) -> new Snapshot(bump(k), now, new EntryView[0]));
+            }
+        });
+    }
+
+    /** 변경 내용을 알 수 없는 경로(관리자 수정, 디스코드 봇, 게임 삭제 등)용 */
+    public void evict(Long serverId) {
+        TransactionHooks.afterCommit(() -> {
+            stats.drop(serverId);
+            statsCache.evictServer(serverId);
+            drop(serverId);
+        });
+    }
+
+    /** 닉네임 변경 등 여러 서버에 걸친 변경 (통계에는 영향 없음) */
+    public void evictAll() {
+        TransactionHooks.afterCommit(() -> snapshots.keys().forEach(this::drop));
+    }
+
+    private void apply(Long serverId, UnaryOperator<EntryView[]> change) {
+        snapshots.compute(serverId, (k, cur) -> {
+            long v = bump(k);
+            return cur == null ? null : new Snapshot(v, cur.loadedAtMs, change.apply(cur.entries));
+        });
+    }
+
+    private void drop(Long serverId) {
+        snapshots.compute(serverId, (k, cur) -> {
+            bump(k);
+            return null;
+        });
+    }
+
+    private long bump(Long serverId) {
+        return versions.merge(serverId, 1L, Long::sum);
+    }
+}
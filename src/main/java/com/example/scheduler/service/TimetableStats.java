@@ -0,0 +1,240 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.LruCache;
+import com.example.scheduler.dto.TimetableDto;
+import com.example.scheduler.service.TimetableSnapshots.EntryView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버별 타임테이블 통계 카운터 (게임별 수, 슬롯별 수, 시각(분) 합계).
+ * 엔트리 등록/변경/삭제 시 O(1)로 갱신되며 stats() 는 카운터만 읽는다.
+ * 변경은 {@link TimetableSnapshots} 가 커밋 이후에 같은 경로로 전달한다.
+ * 다른 노드의 변경은 TTL 이 지나면 다시 읽어 반영하고(읽을 때 만료 확인),
+ * 카운터를 거치지 않은 변경으로 어긋난 값은 TimetableStatsVerifier 가 테이블과 비교해 재구성한다.
+ */
+@Component
+public class TimetableStats {
+
+    private final long ttlMs;
+    private final LruCache<Long, Counters> servers;
+    // 서버별 변경 버전 (콜드 로드 중 변경 감지)
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public TimetableStats(@Value("${app.timetable.stats-ttl-ms:60000}") long ttlMs,
+                          @Value("${app.timetable.stats-max-servers:5000}") int maxServers) {
+        this.ttlMs = ttlMs;
+        this.servers = new LruCache<>(maxServers);
+    }
+
+    /** 로드된 서버의 통계, 아직 로드되지 않았거나 TTL 이 지났으면 null */
+    public TimetableDto.StatsResponse get(Long serverId) {
+        Counters c = live(serverId);
+        if (c == null) return null;
+        synchronized (c) {
+            return c.toResponse();
+        }
+    }
+
+    public long version(Long serverId) {
+        return versions.getOrDefault(serverId, 0L);
+    }
+
+    /** 콜드 로드 결과 설치. 로드 중 변경이 있었으면 설치하지 않고 이번 결과만 돌려준다. */
+    public TimetableDto.StatsResponse install(Long serverId, long loadedVersion, List<EntryView> views) {
+        Counters loaded = Counters.of(views);
+        servers.compute(serverId, (k, cur) -> version(k) == loadedVersion ? loaded : cur);
+        return loaded.toResponse();
+    }
+
+    /**
+     * 테이블에서 다시 읽은 값과 비교해 다르면 교체한다.
+     * @return 불일치가 있었으면 true
+     */
+    public boolean verify(Long serverId, long loadedVersion, List<EntryView> views) {
+        Counters fresh = Counters.of(views);
+        boolean[] mismatch = {false};
+        servers.computeIfPresent(serverId, (k, cur) -> {
+            if (version(k) != loadedVersion) return cur; // 검증 중 변경: 다음 주기에 다시 확인
+            synchronized (cur) {
+                if (cur.sameAs(fresh)) return cur;
+            }
+            mismatch[0] = true;
+            return fresh;
+        });
+        return mismatch[0];
+    }
+
+    /** TTL 안의 서버만 (만료된 서버는 다음 조회 때 다시 읽으므로 점검하지 않음) */
+    public Set<Long> loadedServers() {
+        Set<Long> loaded = new HashSet<>();
+        for (Long serverId : servers.keys()) {
+            if (live(serverId) != null) loaded.add(serverId);
+        }
+        return loaded;
+    }
+
+    private Counters live(Long serverId) {
+        Counters c = servers.get(serverId);
+        if (c == null) return null;
+        if (System.currentTimeMillis() - c.loadedAtMs > ttlMs) {
+            servers.remove(serverId, c);
+            return null;
+        }
+        return c;
+    }
+
+    /* ---------- 변경 반영 (TimetableSnapshots 에서 커밋 이후 호출) ---------- */
+
+    void upsert(Long serverId, EntryView view) {
+        bump(serverId);
+        Counters c = servers.get(serverId);
+        if (c == null) return;
+        synchronized (c) {
+            c.remove(view.id());
+            c.removeUser(view.userId());
+            c.add(view);
+        }
+    }
+
+    void removeUser(Long serverId, Long userId) {
+        bump(serverId);
+        Counters c = servers.get(serverId);
+        if (c == null) return;
+        synchronized (c) {
+            c.removeUser(userId);
+        }
+    }
+
+    void reset(Collection<Long> serverIds) {
+        for (Long serverId : serverIds) {
+            bump(serverId);
+            servers.put(serverId, new Counters());
+        }
+    }
+
+    void drop(Long serverId) {
+        bump(serverId);
+        servers.remove(serverId);
+    }
+
+    private void bump(Long serverId) {
+        versions.merge(serverId, 1L, Long::sum);
+    }
+
+    /** 한 서버의 카운터. 최다 게임/피크 슬롯은 증가 시 바로 갱신하고, 최댓값이 줄면 읽을 때 다시 계산 */
+    private static final class Counters {
+        private final long loadedAtMs = System.currentTimeMillis();
+        private final Map<Long, EntryView> byEntry = new HashMap<>();
+        private final Map<Long, Set<Long>> entriesOfUser = new HashMap<>();
+        private final Map<String, Integer> gameCounts = new HashMap<>();
+        private final Map<LocalDateTime, Integer> slotCounts = new HashMap<>();
+        private long minuteSum;
+
+        private String topGame;
+        private LocalDateTime peakSlot;
+        private boolean maxDirty;
+
+        static Counters of(List<EntryView> views) {
+            Counters c = new Counters();
+            for (EntryView v : views) c.add(v);
+            return c;
+        }
+
+        void add(EntryView v) {
+            byEntry.put(v.id(), v);
+            if (v.userId() != null) entriesOfUser.computeIfAbsent(v.userId(), k -> new HashSet<>()).add(v.id());
+            int g = gameCounts.merge(v.gameName(), 1, Integer::sum);
+            int s = slotCounts.merge(v.slot(), 1, Integer::sum);
+            minuteSum += minuteOfDay(v.slot());
+            if (!maxDirty) {
+                if (topGame == null || g > gameCounts.get(topGame)
+                        || (g == gameCounts.get(topGame) && v.gameName().compareTo(topGame) < 0)) {
+                    topGame = v.gameName();
+                }
+                if (peakSlot == null || s > slotCounts.get(peakSlot)
+                        || (s == slotCounts.get(peakSlot) && v.slot().isBefore(peakSlot))) {
+                    peakSlot = v.slot();
+                }
+            }
+        }
+
+        void remove(Long entryId) {
+            EntryView v = byEntry.remove(entryId);
+            if (v == null) return;
+            if (v.userId() != null) {
+                Set<Long> ids = entriesOfUser.get(v.userId());
+                if (ids != null) {
+                    ids.remove(entryId);
+                    if (ids.isEmpty()) entriesOfUser.remove(v.userId());
+                }
+            }
+            decrement(gameCounts, v.gameName());
+            decrement(slotCounts, v.slot());
+            minuteSum -= minuteOfDay(v.slot());
+            if (v.gameName().equals(topGame) || v.slot().equals(peakSlot)) maxDirty = true;
+        }
+
+        void removeUser(Long userId) {
+            if (userId == null) return;
+            Set<Long> ids = entriesOfUser.get(userId);
+            if (ids == null) return;
+            for (Long id : List.copyOf(ids)) remove(id);
+        }
+
+        TimetableDto.StatsResponse toResponse() {
+            if (byEntry.isEmpty()) {
+                return new TimetableDto.StatsResponse(null, null, null, 0);
+            }
+            if (maxDirty) recomputeMax();
+            long avgMinute = minuteSum / byEntry.size();
+            LocalDateTime avgSlot = LocalDateTime.now()
+                    .withHour((int) avgMinute / 60)
+                    .withMinute((int) avgMinute % 60)
+                    .truncatedTo(ChronoUnit.MINUTES);
+            return new TimetableDto.StatsResponse(topGame, avgSlot, peakSlot, slotCounts.get(peakSlot));
+        }
+
+        boolean sameAs(Counters o) {
+            return byEntry.equals(o.byEntry);
+        }
+
+        // 동률이면 게임명 사전순/이른 슬롯 우선
+        private void recomputeMax() {
+            topGame = null;
+            for (Map.Entry<String, Integer> e : gameCounts.entrySet()) {
+                if (topGame == null || e.getValue() > gameCounts.get(topGame)
+                        || (e.getValue().equals(gameCounts.get(topGame)) && e.getKey().compareTo(topGame) < 0)) {
+                    topGame = e.getKey();
+                }
+            }
+            peakSlot = null;
+            for (Map.Entry<LocalDateTime, Integer> e : slotCounts.entrySet()) {
+                if (peakSlot == null || e.getValue() > slotCounts.get(peakSlot)
+                        || (e.getValue().equals(slotCounts.get(peakSlot)) && e.getKey().isBefore(peakSlot))) {
+                    peakSlot = e.getKey();
+                }
+            }
+            maxDirty = false;
+        }
+
+        private static <K> void decrement(Map<K, Integer> counts, K key) {
+            counts.computeIfPresent(key, (k, n) -> n <= 1 ? null : n - 1);
+        }
+
+        private static int minuteOfDay(LocalDateTime slot) {
+            return Objects.requireNonNull(slot).getHour() * 60 + slot.getMinute();
+        }
+    }
+}
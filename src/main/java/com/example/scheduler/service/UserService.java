@@ -1,5 +1,6 @@
 package com.example.scheduler.service;
 
+import com.example.scheduler.common.util.TransactionHooks;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.UserDto;
 import com.example.scheduler.repository.UserRepository;
@@ -24,6 +25,10 @@ public class UserService {
     private final com.example.scheduler.repository.NotificationRepository notificationRepository;
     private final com.example.scheduler.repository.FavoriteServerRepository favoriteServerRepository;
     private final com.example.scheduler.repository.PushTokenRepository pushTokenRepository;
+    private final com.example.scheduler.scheduler.TimetableReminderIndex reminderIndex;
+    private final com.example.scheduler.security.TokenVersionCache tokenVersionCache;
+    private final InviteCodeCache inviteCodeCache;
+    private final TimetableSnapshots timetableSnapshots;
 
     public UserDto.Profile getProfile(String username) {
         User user = userRepository.findByUsername(username)
@@ -62,6 +67,8 @@ public class UserService {
         user.setNickname(newNickname);
         user.setNicknameChangedAt(now);
         userRepository.save(user);
+        // 타임테이블 스냅샷에 닉네임이 들어 있으므로 비움
+        timetableSnapshots.evictAll();
         return new UserDto.Profile(
                 user.getId(),
                 user.getUsername(),
@@ -158,6 +165,8 @@ public class UserService {
         if (req.getPushMyTimetableReminderEnabled() != null) u.setPushMyTimetableReminderEnabled(Boolean.TRUE.equals(req.getPushMyTimetableReminderEnabled()));
         if (req.getMyTimetableReminderMinutes() != null) u.setMyTimetableReminderMinutes(req.getMyTimetableReminderMinutes());
         userRepository.save(u);
+        // 리마인더 on/off·분 설정이 바뀌었을 수 있으므로 예약된 리마인더 재계산
+        reminderIndex.rescheduleUser(u);
         return new UserDto.PushSettingsResponse(
                 u.getPushAllEnabled(),
                 u.getPushInviteEnabled(),
@@ -199,9 +208,11 @@ public class UserService {
         java.util.List<com.example.scheduler.domain.Server> joined = serverRepository.findByMembersContains(me);
         for (com.example.scheduler.domain.Server s : joined) {
             timetableEntryRepository.deleteAllByServerAndUser(s, me);
+            timetableSnapshots.removeUser(s.getId(), me.getId());
             s.getMembers().remove(me);
             s.getAdmins().remove(me);
             serverRepository.save(s);
+            inviteCodeCache.evict(s.getInviteCode());
         }
 
         // 3) 내가 만든 파티 및 내가 참가한 파티 정리
@@ -248,5 +259,9 @@ public class UserService {
 
         // 6) 최종 사용자 삭제
         userRepository.delete(me);
+        // 발급된 토큰이 claims만으로 인증되지 않도록 커밋 후 캐시된 버전 정보 제거
+        // (커밋 전에 비우면 동시 요청이 아직 남아 있는 사용자를 다시 캐시할 수 있음)
+        Long userId = me.getId();
+        TransactionHooks.afterCommit(() -> tokenVersionCache.invalidate(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.scheduler.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 있음으로 판정 (거짓 음성 없음)")
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) filter.put("jti-" + i);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("예상 크기만큼 넣었을 때 오탐률이 설정값 근처")
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("jti-" + i);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) falsePositives++;
+        }
+
+        // 목표 1%, 해시 편차를 감안해 3% 이내
+        assertThat(falsePositives).isLessThan(3_000);
+    }
+
+    @Test
+    @DisplayName("비트 수는 최소 64, 예상 크기와 오탐률에 따라 증가")
+    void bitSize_SizedFromParameters() {
+        assertThat(new BloomFilter(0, 0.01).bitSize()).isGreaterThanOrEqualTo(64);
+        assertThat(new BloomFilter(10_000, 0.001).bitSize())
+                .isGreaterThan(new BloomFilter(10_000, 0.01).bitSize());
+    }
+}
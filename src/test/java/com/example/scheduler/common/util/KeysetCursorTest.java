@@ -0,0 +1,43 @@
+package com.example.scheduler.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 커서는 같은 (시각, id) 로 복원되고 URL 에 그대로 쓸 수 있음")
+    void encode_RoundTrips() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 3, 20, 15, 30, 123_000_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("빈 커서는 첫 페이지")
+    void decode_BlankIsFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isEqualTo(KeysetCursor.FIRST);
+        assertThat(KeysetCursor.decode("")).isEqualTo(KeysetCursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 IllegalArgumentException")
+    void decode_RejectsMalformed() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-03-03T20:15".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2025-03-03T20:15|abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(noSeparator)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(badId)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
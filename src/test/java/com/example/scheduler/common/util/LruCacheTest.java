@@ -0,0 +1,63 @@
+package com.example.scheduler.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    @DisplayName("상한을 넘으면 가장 오래 사용되지 않은 항목 하나만 제거")
+    void put_EvictsOnlyLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+
+        cache.put("d", 4);
+
+        assertThat(cache.keys()).containsExactlyInAnyOrder("a", "c", "d");
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("compute 로 추가해도 상한 유지, null 을 돌려주면 제거")
+    void compute_RespectsBoundAndRemovesOnNull() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.compute("a", (k, v) -> 1);
+        cache.compute("b", (k, v) -> 2);
+        cache.compute("c", (k, v) -> 3);
+        assertThat(cache.keys()).containsExactlyInAnyOrder("b", "c");
+
+        cache.compute("b", (k, v) -> null);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("forEach 안에서 캐시를 변경해도 안전")
+    void forEach_AllowsModificationInsideAction() {
+        LruCache<Integer, Integer> cache = new LruCache<>(10);
+        for (int i = 0; i < 5; i++) cache.put(i, i);
+
+        cache.forEach((k, v) -> {
+            if (v % 2 == 0) cache.remove(k);
+        });
+
+        assertThat(cache.keys()).containsExactlyInAnyOrder(1, 3);
+    }
+
+    @Test
+    @DisplayName("조건에 맞는 항목만 제거")
+    void removeIf_RemovesMatching() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        cache.put(1, "x");
+        cache.put(2, "y");
+
+        cache.removeIf((k, v) -> v.equals("x"));
+
+        assertThat(cache.keys()).containsExactly(2);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.scheduler.controller;
+
+import com.example.scheduler.common.util.KeysetCursor;
+import com.example.scheduler.domain.AuditLog;
+import com.example.scheduler.dto.AdminDto;
+import com.example.scheduler.dto.CursorPageResponse;
+import com.example.scheduler.repository.AuditLogRepository;
+import com.example.scheduler.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 3, 20, 0);
+
+    @Mock
+    private AuditLogRepository auditRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @InjectMocks
+    private AdminController adminController;
+
+    private static AuditLog log(long id, String action, int minute) {
+        return AuditLog.builder().id(id).serverId(1L).action(action).occurredAt(BASE.plusMinutes(minute)).build();
+    }
+
+    @Test
+    @DisplayName("참가 기록 커서 조회: 단일 액션 쿼리, 한 건 더 읽어 다음 커서를 만듦")
+    void joinLogsByCursor_ReturnsNextCursor() {
+        // given
+        when(auditRepo.findPageByServerIdAndActionBefore(eq(1L), eq("JOIN_SERVER"),
+                eq(KeysetCursor.FIRST.at()), eq(KeysetCursor.FIRST.id()), eq(Limit.of(3))))
+                .thenReturn(List.of(log(9, "JOIN_SERVER", 9), log(8, "JOIN_SERVER", 8), log(7, "JOIN_SERVER", 7)));
+
+        // when
+        CursorPageResponse<AdminDto.AuditLogItem> page =
+                adminController.listServerJoinLogsByCursor(1L, "", 2).getBody();
+
+        // then
+        assertThat(page.getContent()).extracting(AdminDto.AuditLogItem::getId).containsExactly(9L, 8L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(BASE.plusMinutes(8), 8L));
+    }
+
+    @Test
+    @DisplayName("카테고리 커서 조회: 액션별 페이지를 (시각, id) 내림차순으로 합쳐 페이지 크기만큼")
+    void auditLogsByCursor_MergesPerActionPages() {
+        // given
+        KeysetCursor after = new KeysetCursor(BASE.plusMinutes(30), 100L);
+        when(auditRepo.findPageByActionBefore(anyString(), eq(after.at()), eq(after.id()), eq(Limit.of(3))))
+                .thenReturn(List.of());
+        when(auditRepo.findPageByActionBefore(eq("PARTY_CREATE"), any(), any(), any()))
+                .thenReturn(List.of(log(6, "PARTY_CREATE", 6), log(2, "PARTY_CREATE", 2)));
+        when(auditRepo.findPageByActionBefore(eq("PARTY_JOIN"), any(), any(), any()))
+                .thenReturn(List.of(log(5, "PARTY_JOIN", 5), log(4, "PARTY_JOIN", 5), log(1, "PARTY_JOIN", 1)));
+
+        // when
+        CursorPageResponse<AdminDto.AuditLogItem> page =
+                adminController.listAuditLogsByCursor("party", null, null, after.encode(), 2).getBody();
+
+        // then
+        assertThat(page.getContent()).extracting(AdminDto.AuditLogItem::getId).containsExactly(6L, 5L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(BASE.plusMinutes(5), 5L));
+        verify(auditRepo, times(4)).findPageByActionBefore(anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 400")
+    void auditLogsByCursor_RejectsInvalidCursor() {
+        assertThatThrownBy(() -> adminController.listAuditLogsByCursor(null, null, null, "%%%", 20))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(auditRepo);
+    }
+}
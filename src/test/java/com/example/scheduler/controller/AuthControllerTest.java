@@ -0,0 +1,83 @@
+package com.example.scheduler.controller;
+
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.UserRepository;
+import com.example.scheduler.security.JwtTokenProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** 인증이 필요한 /api/auth 엔드포인트가 bearer 토큰으로 인증되는지 확인 */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("logout-all: 유효한 토큰이면 200, 이후 같은 토큰은 401")
+    void logoutAll_WithBearerToken() throws Exception {
+        // given
+        String token = jwtTokenProvider.createToken(saveUser("auth-logout-all").getUsername());
+
+        // when / then
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("password: 유효한 토큰이면 200, 비밀번호가 바뀜")
+    void changePassword_WithBearerToken() throws Exception {
+        // given
+        User user = saveUser("auth-password");
+        String token = jwtTokenProvider.createToken(user.getUsername());
+
+        // when
+        mockMvc.perform(put("/api/auth/password")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"password1\",\"newPassword\":\"password2\"}"))
+                .andExpect(status().isOk());
+
+        // then
+        User changed = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(passwordEncoder.matches("password2", changed.getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("토큰 없이 호출하면 401")
+    void logoutAll_WithoutToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout-all"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .nickname(username)
+                .password(passwordEncoder.encode("password1"))
+                .build());
+    }
+}
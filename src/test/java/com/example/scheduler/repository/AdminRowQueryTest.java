@@ -0,0 +1,126 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.CustomGame;
+import com.example.scheduler.domain.DefaultGame;
+import com.example.scheduler.domain.Party;
+import com.example.scheduler.domain.Server;
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/** 관리자 목록 프로젝션 쿼리(조인/COUNT 서브쿼리/정렬/페이지 총계)를 H2 에서 확인 */
+@DataJpaTest
+class AdminRowQueryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 3, 20, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ServerRepository serverRepo;
+
+    @Autowired
+    private TimetableEntryRepository entryRepo;
+
+    @Autowired
+    private PartyRepository partyRepo;
+
+    private User owner;
+    private User a;
+    private User b;
+    private Server big;
+    private Server small;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder().username("owner").nickname("Owner").build());
+        a = em.persist(User.builder().username("user_a").nickname("A").build());
+        b = em.persist(User.builder().username("user_b").nickname("B").build());
+        big = em.persist(Server.builder().name("Big").owner(owner).inviteCode("ADMIN1")
+                .resetTime(LocalTime.of(5, 0)).members(new HashSet<>(Set.of(owner, a, b))).build());
+        small = em.persist(Server.builder().name("Small").owner(owner).inviteCode("ADMIN2")
+                .resetTime(LocalTime.of(6, 0)).members(new HashSet<>(Set.of(owner))).build());
+    }
+
+    @Test
+    @DisplayName("서버 목록: 소유자 조인과 멤버 수, id 내림차순, 총계")
+    void servers_ProjectOwnerAndMemberCount() {
+        em.flush();
+        em.clear();
+
+        Page<ServerRepository.AdminRow> page = serverRepo.findAdminPage(PageRequest.of(0, 1));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).singleElement().satisfies(r -> {
+            assertThat(r.getId()).isEqualTo(small.getId());
+            assertThat(r.getName()).isEqualTo("Small");
+            assertThat(r.getOwnerId()).isEqualTo(owner.getId());
+            assertThat(r.getOwnerNickname()).isEqualTo("Owner");
+            assertThat(r.getResetTime()).isEqualTo(LocalTime.of(6, 0));
+            assertThat(r.getMemberCount()).isEqualTo(1);
+        });
+        assertThat(serverRepo.findAdminPage(PageRequest.of(1, 1)).getContent())
+                .extracting(ServerRepository.AdminRow::getMemberCount).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("타임테이블 목록: 커스텀 게임 이름 우선, 슬롯 내림차순")
+    void entries_ProjectNamesAndGame() {
+        DefaultGame lol = em.persist(DefaultGame.builder().name("LOL").build());
+        CustomGame apex = em.persist(CustomGame.builder().name("Apex").server(big).build());
+        em.persist(TimetableEntry.builder().server(big).user(a).defaultGame(lol).slot(BASE).build());
+        em.persist(TimetableEntry.builder().server(small).user(b).customGame(apex).slot(BASE.plusHours(1)).build());
+        em.flush();
+        em.clear();
+
+        Page<TimetableEntryRepository.AdminRow> page = entryRepo.findAdminPage(PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent())
+                .extracting(TimetableEntryRepository.AdminRow::getServerName, TimetableEntryRepository.AdminRow::getUserId,
+                        TimetableEntryRepository.AdminRow::getUserNickname, TimetableEntryRepository.AdminRow::getSlot,
+                        TimetableEntryRepository.AdminRow::getGameName)
+                .containsExactly(
+                        tuple("Small", b.getId(), "B", BASE.plusHours(1), "Apex"),
+                        tuple("Big", a.getId(), "A", BASE, "LOL"));
+    }
+
+    @Test
+    @DisplayName("파티 목록: 생성자/게임 이름과 참가자 수, 슬롯 내림차순")
+    void parties_ProjectCreatorGameAndParticipantCount() {
+        DefaultGame lol = em.persist(DefaultGame.builder().name("LOL").build());
+        em.persist(Party.builder().server(big).creator(a).defaultGame(lol).slot(BASE).capacity(5)
+                .participants(new HashSet<>(Set.of(a, b))).createdAt(BASE.minusHours(1)).build());
+        em.persist(Party.builder().server(small).creator(owner).slot(BASE.plusDays(1)).capacity(2)
+                .createdAt(BASE.minusHours(1)).build());
+        em.flush();
+        em.clear();
+
+        Page<PartyRepository.AdminRow> page = partyRepo.findAdminPage(PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent())
+                .extracting(PartyRepository.AdminRow::getServerName, PartyRepository.AdminRow::getCreatorNickname,
+                        PartyRepository.AdminRow::getCapacity, PartyRepository.AdminRow::getGameName,
+                        PartyRepository.AdminRow::getParticipantCount)
+                .containsExactly(
+                        tuple("Small", "Owner", 2, null, 0),
+                        tuple("Big", "A", 5, "LOL", 2));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.scheduler.repository;
+
+import com.example.scheduler.domain.AuditLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AuditLogRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 3, 20, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AuditLogRepository auditRepo;
+
+    private AuditLog persist(String action, LocalDateTime occurredAt, String gameName) {
+        return em.persist(AuditLog.builder()
+                .serverId(1L).userId(2L).action(action).occurredAt(occurredAt)
+                .details("긴 표시용 문자열").gameId(3L).gameName(gameName).slot(occurredAt.plusHours(1))
+                .build());
+    }
+
+    @Test
+    @DisplayName("롤업 재구성 스트림: 상한 id 이하, before 이전의 등록 로그만 id 역순으로 limit 건")
+    void streamByActionUpToId_FiltersAndLimits() {
+        // given
+        AuditLog r1 = persist("TIMETABLE_REGISTER", BASE, "LOL");
+        persist("JOIN_SERVER", BASE, null);
+        AuditLog r2 = persist("TIMETABLE_REGISTER", BASE.plusMinutes(1), "PUBG");
+        AuditLog r3 = persist("TIMETABLE_REGISTER", BASE.plusMinutes(2), "APEX");
+        persist("TIMETABLE_REGISTER", BASE.plusHours(1), "LOL");    // 실시간 롤업 이후
+        AuditLog aboveMax = persist("TIMETABLE_REGISTER", BASE.plusMinutes(3), "LOL");
+        em.flush();
+        em.clear();
+        LocalDateTime before = BASE.plusMinutes(30);
+
+        // when
+        List<AuditLogRepository.RegisterRow> all;
+        try (Stream<AuditLogRepository.RegisterRow> rows = auditRepo.streamByActionUpToId(
+                "TIMETABLE_REGISTER", aboveMax.getId() - 1, before, Limit.of(10))) {
+            all = rows.toList();
+        }
+        List<AuditLogRepository.RegisterRow> firstChunk;
+        try (Stream<AuditLogRepository.RegisterRow> rows = auditRepo.streamByActionUpToId(
+                "TIMETABLE_REGISTER", aboveMax.getId() - 1, before, Limit.of(2))) {
+            firstChunk = rows.toList();
+        }
+
+        // then
+        assertThat(all).extracting(AuditLogRepository.RegisterRow::getId)
+                .containsExactly(r3.getId(), r2.getId(), r1.getId());
+        assertThat(firstChunk).extracting(AuditLogRepository.RegisterRow::getId)
+                .containsExactly(r3.getId(), r2.getId());
+        AuditLogRepository.RegisterRow row = all.get(0);
+        assertThat(row.getServerId()).isEqualTo(1L);
+        assertThat(row.getUserId()).isEqualTo(2L);
+        assertThat(row.getGameId()).isEqualTo(3L);
+        assertThat(row.getGameName()).isEqualTo("APEX");
+        assertThat(row.getSlot()).isEqualTo(BASE.plusMinutes(2).plusHours(1));
+        assertThat(row.getOccurredAt()).isEqualTo(BASE.plusMinutes(2));
+    }
+}
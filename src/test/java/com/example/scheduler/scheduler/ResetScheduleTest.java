@@ -0,0 +1,88 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.repository.ServerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResetScheduleTest {
+
+    @Mock
+    private ServerRepository serverRepo;
+
+    @InjectMocks
+    private ResetSchedule resetSchedule;
+
+    private static ServerRepository.ResetSlot slot(Long id, LocalTime time) {
+        return new ServerRepository.ResetSlot() {
+            public Long getId() { return id; }
+            public LocalTime getResetTime() { return time; }
+        };
+    }
+
+    @Test
+    @DisplayName("리셋 시각은 초를 버리고 하루 중 분 단위로 묶임")
+    void rebuild_BucketsByMinuteOfDay() {
+        // given
+        when(serverRepo.findActiveResetSlots()).thenReturn(List.of(
+                slot(1L, LocalTime.of(6, 0)),
+                slot(2L, LocalTime.of(6, 0, 30)),
+                slot(3L, LocalTime.of(23, 59))));
+
+        // when
+        resetSchedule.rebuild();
+
+        // then
+        assertThat(resetSchedule.dueAt(LocalTime.of(6, 0, 59))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(resetSchedule.dueAt(LocalTime.of(6, 1))).isEmpty();
+        assertThat(resetSchedule.dueAt(LocalTime.of(23, 59))).containsExactly(3L);
+        assertThat(ResetSchedule.minuteOfDay(LocalTime.of(23, 59))).isEqualTo(1439);
+        assertThat(resetSchedule.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("리셋 시각 변경 시 이전 분에서 빠지고, 일시정지하면 인덱스에서 제외")
+    void update_ReschedulesAndPauses() {
+        // given
+        resetSchedule.update(1L, LocalTime.of(6, 0), false);
+
+        // when
+        resetSchedule.update(1L, LocalTime.of(7, 30), false);
+
+        // then
+        assertThat(resetSchedule.dueAt(LocalTime.of(6, 0))).isEmpty();
+        assertThat(resetSchedule.dueAt(LocalTime.of(7, 30))).containsExactly(1L);
+
+        // when: 일시정지
+        resetSchedule.update(1L, LocalTime.of(7, 30), true);
+
+        // then
+        assertThat(resetSchedule.dueAt(LocalTime.of(7, 30))).isEmpty();
+        assertThat(resetSchedule.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("재구성 시 이전 인덱스는 버리고 DB 값으로 교체")
+    void rebuild_ReplacesPreviousIndex() {
+        // given
+        resetSchedule.update(9L, LocalTime.of(5, 0), false);
+        when(serverRepo.findActiveResetSlots()).thenReturn(List.of(slot(1L, LocalTime.of(6, 0))));
+
+        // when
+        resetSchedule.rebuild();
+
+        // then
+        assertThat(resetSchedule.dueAt(LocalTime.of(5, 0))).isEmpty();
+        assertThat(resetSchedule.dueAt(LocalTime.of(6, 0))).containsExactly(1L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.scheduler.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class RetentionEngineTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RetentionEngine engine = new RetentionEngine(jdbcTemplate, registry, 100, 0);
+
+    @Test
+    @DisplayName("배치 크기만큼 지워지는 동안 반복하고, 덜 지워지면 종료")
+    void purge_DeletesInBoundedBatches() {
+        when(jdbcTemplate.update(startsWith("DELETE FROM audit_log WHERE occurred_at < ?"), any(Object[].class)))
+                .thenReturn(100, 100, 37);
+
+        RetentionEngine.Result result = engine.purge(
+                RetentionPolicy.byAge("audit_log", "occurred_at", Duration.ofDays(90)));
+
+        assertThat(result.purged()).isEqualTo(237);
+        verify(jdbcTemplate, times(3)).update(eq("DELETE FROM audit_log WHERE occurred_at < ? LIMIT 100"), any(Object[].class));
+        assertThat(registry.counter("retention.purged", "policy", "audit_log").count()).isEqualTo(237);
+    }
+
+    @Test
+    @DisplayName("사용자별 최대 건수를 넘는 오래된 행 삭제")
+    void purge_TrimsRowsPerUser() {
+        RetentionPolicy policy = RetentionPolicy.byAge("notifications", "created_at", Duration.ofDays(90))
+                .maxRowsPer("user_id", 200);
+        when(jdbcTemplate.update(startsWith("DELETE FROM notifications WHERE created_at < ?"), any(Object[].class)))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForList(startsWith("SELECT user_id FROM notifications"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(7L));
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM notifications"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(500L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM notifications WHERE user_id = ?"), any(Object[].class)))
+                .thenReturn(12);
+
+        RetentionEngine.Result result = engine.purge(policy);
+
+        assertThat(result.purged()).isEqualTo(12);
+        verify(jdbcTemplate).update(anyString(), eq(7L), eq(500L));
+    }
+}
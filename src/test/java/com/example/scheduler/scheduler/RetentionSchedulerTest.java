@@ -0,0 +1,138 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import com.example.scheduler.security.RevokedTokenRegistry;
+import com.example.scheduler.service.AuditArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionSchedulerTest {
+
+    @Mock
+    private RetentionEngine engine;
+
+    @Mock
+    private RevokedTokenRegistry revokedTokens;
+
+    @Mock
+    private CodeSequenceRepository sequenceRepo;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RetentionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = scheduler(false);
+    }
+
+    private RetentionScheduler scheduler(boolean purgeWithoutArchive) {
+        return new RetentionScheduler(engine, revokedTokens, sequenceRepo, auditArchive, transactionManager,
+                purgeWithoutArchive, 90, 90, 200, 30);
+    }
+
+    private CodeSequence lock(long leaseUntil) {
+        CodeSequence lock = CodeSequence.builder().name(RetentionScheduler.LOCK).nextValue(leaseUntil).build();
+        when(sequenceRepo.findForUpdate(RetentionScheduler.LOCK)).thenReturn(Optional.of(lock));
+        return lock;
+    }
+
+    private void purgeReturnsOneRow() {
+        when(engine.purge(any(RetentionPolicy.class), any(LocalDateTime.class)))
+                .thenAnswer(inv -> new RetentionEngine.Result(inv.<RetentionPolicy>getArgument(0).name(), 1, 0));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 임대를 잡고 있으면 실행하지 않음")
+    void runAll_SkipsWhileLeaseHeld() {
+        // given
+        lock(Instant.now().plus(Duration.ofHours(1)).getEpochSecond());
+        when(auditArchive.isEnabled()).thenReturn(false);
+
+        // when
+        scheduler.runAll(Duration.ofDays(1));
+
+        // then
+        verifyNoInteractions(engine);
+    }
+
+    @Test
+    @DisplayName("보관이 꺼진 노드도 감사 로그 외 정책은 정리하고, 완료 시각을 남긴 뒤 임대를 반납")
+    void runAll_PurgesOtherPoliciesWithoutArchive() {
+        // given
+        CodeSequence lock = lock(0L);
+        when(sequenceRepo.findById("retention_last_run")).thenReturn(Optional.empty());
+        when(auditArchive.isEnabled()).thenReturn(false);
+        purgeReturnsOneRow();
+
+        // when
+        scheduler.runAll(Duration.ofDays(1));
+
+        // then
+        verify(engine, times(3)).purge(any(RetentionPolicy.class), any(LocalDateTime.class));
+        verify(engine, never()).purge(argThat(p -> "audit_log".equals(p.name())), any(LocalDateTime.class));
+        verify(revokedTokens).rebuild();
+        verify(sequenceRepo).save(argThat(s -> "retention_last_run".equals(s.getName())));
+        assertThat(lock.getNextValue()).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 노드는 임대와 무관하게 감사 로그를 보관한 뒤 보관한 id 까지만 정리")
+    void runAll_ArchiveNodePurgesAuditUpToArchivedId() throws Exception {
+        // given
+        lock(Instant.now().plus(Duration.ofHours(1)).getEpochSecond());
+        when(auditArchive.isEnabled()).thenReturn(true);
+        when(sequenceRepo.findById(RetentionScheduler.AUDIT_LAST_RUN)).thenReturn(Optional.empty());
+        when(auditArchive.archivedThroughId()).thenReturn(42L);
+        purgeReturnsOneRow();
+
+        // when
+        scheduler.runAll(Duration.ofDays(1));
+
+        // then
+        verify(auditArchive).archiveBefore(any(LocalDateTime.class));
+        verify(engine).purge(argThat(p -> "audit_log".equals(p.name()) && "id <= 42".equals(p.condition())),
+                any(LocalDateTime.class));
+        verify(engine, times(1)).purge(any(RetentionPolicy.class), any(LocalDateTime.class));
+        verify(sequenceRepo).save(argThat(s -> RetentionScheduler.AUDIT_LAST_RUN.equals(s.getName())));
+    }
+
+    @Test
+    @DisplayName("보관 없이 정리하도록 설정하면 임대 노드가 감사 로그도 정리")
+    void runAll_PurgesAuditWithoutArchiveWhenConfigured() {
+        // given
+        RetentionScheduler lossy = scheduler(true);
+        lock(0L);
+        when(sequenceRepo.findById("retention_last_run")).thenReturn(Optional.empty());
+        when(auditArchive.isEnabled()).thenReturn(false);
+        purgeReturnsOneRow();
+
+        // when
+        lossy.runAll(Duration.ofDays(1));
+
+        // then
+        verify(engine, times(4)).purge(any(RetentionPolicy.class), any(LocalDateTime.class));
+        verify(engine).purge(argThat(p -> "audit_log".equals(p.name()) && p.condition() == null),
+                any(LocalDateTime.class));
+    }
+}
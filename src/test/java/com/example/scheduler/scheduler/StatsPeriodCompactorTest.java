@@ -0,0 +1,52 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.repository.CodeSequenceRepository;
+import com.example.scheduler.repository.StatsHourlyGameRepository;
+import com.example.scheduler.repository.StatsUserDayRepository;
+import com.example.scheduler.service.StatsRollupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsPeriodCompactorTest {
+
+    @Mock
+    private CodeSequenceRepository sequenceRepo;
+
+    @Mock
+    private StatsHourlyGameRepository hourlyGameRepo;
+
+    @Mock
+    private StatsUserDayRepository userDayRepo;
+
+    @Mock
+    private StatsRollupService rollupService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("롤업 재구성이 끝나기 전에는 워터마크를 건드리지 않고 압축하지 않음")
+    void compactClosedDays_WaitsForRebuild() {
+        // given
+        StatsPeriodCompactor compactor = new StatsPeriodCompactor(
+                sequenceRepo, hourlyGameRepo, userDayRepo, rollupService, jdbcTemplate, transactionManager);
+        when(rollupService.rebuildComplete()).thenReturn(false);
+
+        // when
+        compactor.compactClosedDays();
+
+        // then
+        verifyNoInteractions(sequenceRepo, hourlyGameRepo, userDayRepo, jdbcTemplate, transactionManager);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.scheduler.scheduler;
+
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableReminderIndexTest {
+
+    @Mock
+    private TimetableEntryRepository entryRepo;
+
+    @InjectMocks
+    private TimetableReminderIndex reminderIndex;
+
+    private static LocalDateTime minuteFromNow(int minutes) {
+        return LocalDateTime.now().withSecond(0).withNano(0).plusMinutes(minutes);
+    }
+
+    private static TimetableEntry entry(Long id, User user, LocalDateTime slot) {
+        return TimetableEntry.builder().id(id).user(user).slot(slot).build();
+    }
+
+    @Test
+    @DisplayName("발송 시각 이전에는 꺼내지지 않고, 도래한 분에만 반환")
+    void pollDue_OnlyReturnsDueReminders() {
+        // given
+        User user = User.builder().id(1L).myTimetableReminderMinutes(10).build();
+        LocalDateTime slot = minuteFromNow(60);
+        reminderIndex.schedule(entry(1L, user, slot));
+
+        // when & then
+        assertThat(reminderIndex.pollDue(slot.minusMinutes(11))).isEmpty();
+        List<TimetableReminderIndex.Reminder> due = reminderIndex.pollDue(slot.minusMinutes(10));
+        assertThat(due).extracting(TimetableReminderIndex.Reminder::entryId).containsExactly(1L);
+        assertThat(reminderIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("재등록 시 이전 발송 시각은 취소")
+    void schedule_ReplacesPreviousFireTime() {
+        // given
+        User user = User.builder().id(1L).myTimetableReminderMinutes(10).build();
+        LocalDateTime oldSlot = minuteFromNow(60);
+        LocalDateTime newSlot = minuteFromNow(120);
+        reminderIndex.schedule(entry(1L, user, oldSlot));
+
+        // when
+        reminderIndex.schedule(entry(1L, user, newSlot));
+
+        // then
+        assertThat(reminderIndex.pollDue(oldSlot)).isEmpty();
+        assertThat(reminderIndex.pollDue(newSlot.minusMinutes(10))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("리마인더 비활성 사용자는 예약되지 않고, 설정 변경 시 재계산")
+    void rescheduleUser_AppliesNewSettings() {
+        // given
+        User user = User.builder().id(1L).myTimetableReminderMinutes(10).build();
+        LocalDateTime slot = minuteFromNow(60);
+        reminderIndex.schedule(entry(1L, user, slot));
+
+        // when
+        user.setMyTimetableReminderMinutes(30);
+        reminderIndex.rescheduleUser(user);
+
+        // then
+        assertThat(reminderIndex.pollDue(slot.minusMinutes(30))).hasSize(1);
+
+        user.setPushMyTimetableReminderEnabled(false);
+        reminderIndex.schedule(entry(2L, user, slot));
+        assertThat(reminderIndex.size()).isZero();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.domain.User;
+import com.example.scheduler.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserProviderTest {
+
+    @Mock
+    private UserRepository userRepo;
+
+    private SimpleMeterRegistry registry;
+    private CurrentUserProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        provider = new CurrentUserProvider(userRepo, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // principal 이 문자열이면 그대로, UserDetails 면 getUsername() 이 인증 이름이 된다
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, AuthUser.authorities(false)));
+    }
+
+    private double lookups(String result) {
+        return registry.get("current.user.lookups").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("같은 요청 안에서는 사용자를 한 번만 조회")
+    void find_ReusesUserWithinRequest() {
+        // given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate("alice");
+        User alice = User.builder().id(1L).username("alice").build();
+        when(userRepo.findByUsername("alice")).thenReturn(Optional.of(alice));
+
+        // when
+        Optional<User> first = provider.find();
+        Optional<User> second = provider.find();
+
+        // then
+        assertThat(first).containsSame(alice);
+        assertThat(second).containsSame(alice);
+        verify(userRepo, times(1)).findByUsername("alice");
+        assertThat(lookups("loaded")).isEqualTo(1);
+        assertThat(lookups("reused")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("요청이 없는 스레드에서는 매번 조회")
+    void find_WithoutRequestLoadsEveryTime() {
+        authenticate("alice");
+        when(userRepo.findByUsername("alice")).thenReturn(Optional.of(User.builder().id(1L).username("alice").build()));
+
+        provider.find();
+        provider.find();
+
+        verify(userRepo, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("인증 정보가 없거나 익명이면 조회하지 않고 empty")
+    void find_AnonymousReturnsEmpty() {
+        assertThat(provider.find()).isEmpty();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new AnonymousAuthenticationToken("key", "anonymousUser", AuthUser.authorities(false)));
+        assertThat(provider.find()).isEmpty();
+        assertThat(provider.currentUserId()).isNull();
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    @DisplayName("claims 로 만든 AuthUser 면 DB 조회 없이 id 반환")
+    void currentUserId_FromAuthUserPrincipal() {
+        authenticate(new AuthUser(7L, "bob", "", List.of()));
+
+        assertThat(provider.currentUserId()).isEqualTo(7L);
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    @DisplayName("일반 principal 이면 사용자 조회로 id 확인")
+    void currentUserId_FallsBackToLookup() {
+        authenticate("bob");
+        when(userRepo.findByUsername("bob")).thenReturn(Optional.of(User.builder().id(9L).username("bob").build()));
+
+        assertThat(provider.currentUserId()).isEqualTo(9L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.scheduler.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtClaimsCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private static Claims claims(String subject, long expiresInMs) {
+        return Jwts.claims().setSubject(subject).setExpiration(new Date(System.currentTimeMillis() + expiresInMs));
+    }
+
+    private double requests(String result) {
+        return registry.get("jwt.claims.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("저장한 토큰은 적중, 처음 보는 토큰은 미스")
+    void get_HitAndMiss() {
+        // given
+        JwtClaimsCache cache = new JwtClaimsCache(10, registry);
+        cache.put("token-a", claims("alice", 60_000));
+
+        // when & then
+        assertThat(cache.get("token-a").getSubject()).isEqualTo("alice");
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("exp 가 지난 항목은 미스로 처리하고 제거")
+    void get_ExpiredEntryIsRemoved() {
+        // given
+        JwtClaimsCache cache = new JwtClaimsCache(10, registry);
+        cache.put("token-a", claims("alice", -1_000));
+
+        // when & then
+        assertThat(cache.get("token-a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료 없는 토큰은 캐시하지 않음")
+    void put_WithoutExpirationIsIgnored() {
+        JwtClaimsCache cache = new JwtClaimsCache(10, registry);
+        cache.put("token-a", Jwts.claims().setSubject("alice"));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거")
+    void put_EvictsLeastRecentlyUsed() {
+        // given
+        JwtClaimsCache cache = new JwtClaimsCache(2, registry);
+        cache.put("token-a", claims("alice", 60_000));
+        cache.put("token-b", claims("bob", 60_000));
+        cache.get("token-a");
+
+        // when
+        cache.put("token-c", claims("carol", 60_000));
+
+        // then
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.get("token-a")).isNotNull();
+        assertThat(cache.get("token-c")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("evict 후에는 미스")
+    void evict_RemovesEntry() {
+        JwtClaimsCache cache = new JwtClaimsCache(10, registry);
+        cache.put("token-a", claims("alice", 60_000));
+
+        cache.evict("token-a");
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+}
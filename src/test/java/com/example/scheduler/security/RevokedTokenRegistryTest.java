@@ -0,0 +1,122 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.config.JacksonConfig;
+import com.example.scheduler.repository.BlacklistedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenRegistryTest {
+
+    @Mock
+    private BlacklistedTokenRepository blacklistRepo;
+
+    private RevokedTokenRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RevokedTokenRegistry(blacklistRepo, new JacksonConfig().objectMapper());
+        ReflectionTestUtils.setField(registry, "expectedSize", 1_000);
+        ReflectionTestUtils.setField(registry, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(registry, "syncOverlap", 10L);
+        lenient().when(blacklistRepo.findByJtiIsNullAndExpiryAfter(any())).thenReturn(List.of());
+    }
+
+    private static BlacklistedTokenRepository.RevokedJti row(Long id, String jti) {
+        return new BlacklistedTokenRepository.RevokedJti() {
+            public Long getId() { return id; }
+            public String getJti() { return jti; }
+        };
+    }
+
+    @Test
+    @DisplayName("필터에 없는 jti 는 DB 조회 없이 유효, 있을 수도 있으면 DB 로 확정")
+    void isRevoked_SkipsDbWhenFilterSaysNo() {
+        // given
+        when(blacklistRepo.findActiveJtis(any())).thenReturn(List.of(row(1L, "revoked")));
+        when(blacklistRepo.existsByJti("revoked")).thenReturn(true);
+        registry.rebuild();
+
+        // when & then
+        assertThat(registry.isRevoked("revoked")).isTrue();
+        assertThat(registry.isRevoked("fresh")).isFalse();
+        verify(blacklistRepo, never()).existsByJti("fresh");
+    }
+
+    @Test
+    @DisplayName("재구성 중 DB 조회 이후에 들어온 revoke 도 새 필터에 반영")
+    void rebuild_KeepsRevocationsMadeDuringRebuild() {
+        // given: DB 조회가 끝난 직후 다른 요청이 로그아웃
+        when(blacklistRepo.findActiveJtis(any())).thenAnswer(inv -> {
+            registry.revoke("late");
+            return List.of(row(1L, "early"));
+        });
+        when(blacklistRepo.existsByJti("late")).thenReturn(true);
+
+        // when
+        registry.rebuild();
+
+        // then
+        assertThat(registry.isRevoked("late")).isTrue();
+        verify(blacklistRepo).existsByJti("late");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 폐기는 워터마크 - overlap 이후 행만 읽어 필터에 추가")
+    void syncNew_AddsRowsAfterWatermark() {
+        // given
+        when(blacklistRepo.findActiveJtis(any())).thenReturn(List.of(row(105L, "a")));
+        registry.rebuild();
+        when(blacklistRepo.findJtisAfter(95L)).thenReturn(List.of(row(105L, "a"), row(106L, "b")));
+        when(blacklistRepo.existsByJti("b")).thenReturn(true);
+
+        // when
+        registry.syncNew();
+
+        // then
+        assertThat(registry.isRevoked("b")).isTrue();
+        when(blacklistRepo.findJtisAfter(anyLong())).thenReturn(List.of());
+        registry.syncNew();
+        verify(blacklistRepo).findJtisAfter(96L);
+    }
+
+    @Test
+    @DisplayName("워터마크보다 작은 id 가 나중에 커밋돼도 다음 동기화에서 필터에 추가")
+    void syncNew_PicksUpOlderIdCommittedLater() {
+        // given: 12 까지 동기화한 뒤에 id 11 이 커밋됨
+        when(blacklistRepo.findActiveJtis(any())).thenReturn(List.of(row(10L, "a")));
+        registry.rebuild();
+        when(blacklistRepo.findJtisAfter(0L)).thenReturn(List.of(row(10L, "a"), row(12L, "newer")));
+        registry.syncNew();
+        when(blacklistRepo.findJtisAfter(2L)).thenReturn(List.of(row(10L, "a"), row(11L, "older"), row(12L, "newer")));
+        when(blacklistRepo.existsByJti("older")).thenReturn(true);
+
+        // when
+        registry.syncNew();
+
+        // then
+        assertThat(registry.isRevoked("older")).isTrue();
+        verify(blacklistRepo).existsByJti("older");
+    }
+
+    @Test
+    @DisplayName("필터 구성 전에는 항상 DB 확인")
+    void isRevoked_BeforeRebuildFallsBackToDb() {
+        when(blacklistRepo.existsByJti("x")).thenReturn(false);
+
+        assertThat(registry.isRevoked("x")).isFalse();
+        verify(blacklistRepo).existsByJti("x");
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.scheduler.security;
+
+import com.example.scheduler.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepo;
+
+    private static Optional<UserRepository.AuthState> state(Integer version, boolean admin) {
+        return Optional.of(new UserRepository.AuthState() {
+            public Integer getTokenVersion() { return version; }
+            public Boolean getAdmin() { return admin; }
+        });
+    }
+
+    @Test
+    @DisplayName("버전이 올라가면 이전 버전 토큰은 폐기, 현재 버전은 유효")
+    void isRevoked_AfterVersionBump() {
+        // given
+        TokenVersionCache cache = new TokenVersionCache(userRepo, 60_000, 100);
+        when(userRepo.findAuthStateById(1L)).thenReturn(state(0, false), state(1, false));
+        assertThat(cache.isCurrent(1L, 0, false)).isTrue();
+
+        // when: 전체 로그아웃 등으로 버전 증가 후 캐시 무효화
+        cache.invalidate(1L);
+
+        // then
+        assertThat(cache.isRevoked(1L, 0)).isTrue();
+        assertThat(cache.isRevoked(1L, 1)).isFalse();
+        assertThat(cache.isCurrent(1L, 1, false)).isTrue();
+        verify(userRepo, times(2)).findAuthStateById(1L);
+    }
+
+    @Test
+    @DisplayName("권한만 바뀐 경우는 폐기가 아니라 DB 기준 인증으로 폴백")
+    void isCurrent_AdminChangeIsNotRevocation() {
+        TokenVersionCache cache = new TokenVersionCache(userRepo, 60_000, 100);
+        when(userRepo.findAuthStateById(1L)).thenReturn(state(2, true));
+
+        assertThat(cache.isCurrent(1L, 2, false)).isFalse();
+        assertThat(cache.isRevoked(1L, 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("버전 null 은 0, 없는 사용자는 current 도 revoked 도 아님")
+    void nullVersionAndMissingUser() {
+        TokenVersionCache cache = new TokenVersionCache(userRepo, 60_000, 100);
+        when(userRepo.findAuthStateById(1L)).thenReturn(state(null, false));
+        when(userRepo.findAuthStateById(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.isCurrent(1L, 0, false)).isTrue();
+        assertThat(cache.isCurrent(2L, 0, false)).isFalse();
+        assertThat(cache.isRevoked(2L, 0)).isFalse();
+    }
+}
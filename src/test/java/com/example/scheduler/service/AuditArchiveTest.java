@@ -0,0 +1,130 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private AuditArchive archive() {
+        return new AuditArchive(jdbcTemplate, true, dir.toString(), 2, 10);
+    }
+
+    @Test
+    @DisplayName("날짜별 세그먼트에 보관하고 서버/액션/기간으로 최신순 조회")
+    @SuppressWarnings("unchecked")
+    void archiveBefore_ThenQuery() throws Exception {
+        List<AuditLog> rows = List.of(
+                row(1, 10L, "JOIN_SERVER", LocalDateTime.of(2025, 1, 1, 9, 0)),
+                row(2, 11L, "JOIN_SERVER", LocalDateTime.of(2025, 1, 1, 10, 0)),
+                row(3, 10L, "TIMETABLE_REGISTER", LocalDateTime.of(2025, 1, 1, 11, 0)),
+                row(4, 10L, "JOIN_SERVER", LocalDateTime.of(2025, 1, 2, 9, 30)));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(4L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(rows);
+
+        long archived = archive().archiveBefore(LocalDateTime.of(2025, 1, 3, 0, 0));
+
+        assertThat(archived).isEqualTo(4);
+        assertThat(Files.exists(dir.resolve("audit-2025-01-01.seg"))).isTrue();
+        assertThat(Files.exists(dir.resolve("audit-2025-01-02.seg"))).isTrue();
+
+        AuditArchive reader = archive();
+        List<AuditLog> joins = reader.query(10L, "JOIN_SERVER", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), 10);
+        assertThat(joins).extracting(AuditLog::getId).containsExactly(4L, 1L);
+        assertThat(joins.get(1).getGameName()).isEqualTo("LOL");
+        assertThat(joins.get(1).getOccurredAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 9, 0));
+        assertThat(joins.get(1).getDetails()).isNull();
+
+        assertThat(reader.query(null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1), 2))
+                .extracting(AuditLog::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("다음 보관은 마지막으로 보관한 (occurredAt, id) 이후부터 읽음")
+    @SuppressWarnings("unchecked")
+    void archiveBefore_ResumesAfterLastArchivedRow() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_456_000);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(row(7, 10L, "JOIN_SERVER", at)))
+                .thenReturn(List.of());
+
+        archive().archiveBefore(LocalDateTime.of(2025, 1, 3, 0, 0));
+        archive().archiveBefore(LocalDateTime.of(2025, 1, 4, 0, 0));
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), args.capture());
+        List<Object> second = new ArrayList<>(List.of(args.getAllValues().get(1)));
+        assertThat(second.subList(1, 4)).containsExactly(Timestamp.valueOf(at), Timestamp.valueOf(at), 7L);
+    }
+
+    @Test
+    @DisplayName("보관 위치보다 이른 시각으로 늦게 들어온 행도 다음 실행에서 보관하고, 위치는 뒤로 가지 않음")
+    @SuppressWarnings("unchecked")
+    void archiveBefore_ArchivesLateRowsBehindPosition() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 9, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L, 9L, 9L);
+        when(jdbcTemplate.query(contains("ORDER BY occurred_at"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(row(7, 10L, "JOIN_SERVER", at)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("ORDER BY id"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(row(8, 10L, "JOIN_SERVER", at.minusHours(1))));
+
+        AuditArchive first = archive();
+        first.archiveBefore(LocalDateTime.of(2025, 1, 3, 0, 0));
+        assertThat(first.archivedThroughId()).isEqualTo(7L);
+
+        AuditArchive second = archive();
+        assertThat(second.archiveBefore(LocalDateTime.of(2025, 1, 4, 0, 0))).isEqualTo(1);
+        assertThat(second.archivedThroughId()).isEqualTo(9L);
+        assertThat(second.query(10L, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1), 10))
+                .extracting(AuditLog::getId).containsExactlyInAnyOrder(7L, 8L);
+
+        archive().archiveBefore(LocalDateTime.of(2025, 1, 5, 0, 0));
+
+        // 늦은 행은 지난 high-water mark(7) 이후 id 만, 보관 위치 (at, 7) 이하에서 찾는다
+        ArgumentCaptor<Object[]> late = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).query(contains("ORDER BY id"), any(RowMapper.class), late.capture());
+        assertThat(late.getValue()).startsWith(7L, 9L, Timestamp.valueOf(at), Timestamp.valueOf(at), 7L);
+        // 세 번째 실행도 (at, 7) 이후부터 읽는다
+        ArgumentCaptor<Object[]> main = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(3)).query(contains("ORDER BY occurred_at"), any(RowMapper.class), main.capture());
+        List<Object> third = new ArrayList<>(List.of(main.getAllValues().get(2)));
+        assertThat(third.subList(1, 5)).containsExactly(Timestamp.valueOf(at), Timestamp.valueOf(at), 7L, 9L);
+    }
+
+    private static AuditLog row(long id, Long serverId, String action, LocalDateTime at) {
+        return AuditLog.builder()
+                .id(id)
+                .serverId(serverId)
+                .userId(2L)
+                .action(action)
+                .occurredAt(at)
+                .gameName("LOL")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.config.JacksonConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditExporterTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:audit_export;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final AuditExporter exporter = new AuditExporter(jdbcTemplate, new JacksonConfig().objectMapper(), 2);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS audit_log");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, nickname VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE audit_log (id BIGINT PRIMARY KEY, server_id BIGINT, user_id BIGINT, " +
+                "action VARCHAR(50), occurred_at TIMESTAMP, details TEXT, game_id BIGINT, game_name VARCHAR(100), " +
+                "slot TIMESTAMP, reason VARCHAR(50), target_user_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO users VALUES (2, '철수')");
+        jdbcTemplate.update("INSERT INTO audit_log (id, server_id, user_id, action, occurred_at, details) VALUES " +
+                "(1, 10, 2, 'JOIN_SERVER', '2025-01-01 09:00:00', '참가, \"초대\"'), " +
+                "(2, 10, 3, 'LEAVE_SERVER', '2025-01-01 10:00:00', '=HYPERLINK()'), " +
+                "(3, 11, 2, 'JOIN_SERVER', '2025-01-01 11:00:00', NULL), " +
+                "(4, 10, 2, 'JOIN_SERVER', '2025-01-02 09:00:00', NULL)");
+    }
+
+    @Test
+    @DisplayName("CSV: 조건에 맞는 행을 시간순으로, 특수문자는 따옴표로 감싸서 출력")
+    void export_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exporter.export(new AuditExporter.Filter(10L, null, null, LocalDateTime.of(2025, 1, 2, 0, 0)),
+                AuditExporter.Format.CSV, false, out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+                "\uFEFFid,serverId,userId,nickname,action,occurredAt,details,gameId,gameName,slot,reason,targetUserId",
+                "1,10,2,철수,JOIN_SERVER,2025-01-01T09:00,\"참가, \"\"초대\"\"\",,,,,",
+                "2,10,3,,LEAVE_SERVER,2025-01-01T10:00,\"'=HYPERLINK()\",,,,,");
+    }
+
+    @Test
+    @DisplayName("NDJSON + gzip: 한 줄에 객체 하나, null 컬럼 생략")
+    void export_NdjsonGzip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(new AuditExporter.Filter(null, Set.of("JOIN_SERVER"), null, null),
+                AuditExporter.Format.NDJSON, true, out);
+
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(text.split("\n")).hasSize(3);
+        assertThat(text.split("\n")[1])
+                .isEqualTo("{\"id\":3,\"serverId\":11,\"userId\":2,\"nickname\":\"철수\",\"action\":\"JOIN_SERVER\",\"occurredAt\":\"2025-01-01T11:00\"}");
+        assertThat(text).endsWith("}\n");
+    }
+}
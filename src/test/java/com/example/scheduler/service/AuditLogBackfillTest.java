@@ -0,0 +1,100 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import com.example.scheduler.domain.CodeSequence;
+import com.example.scheduler.repository.AuditLogRepository;
+import com.example.scheduler.repository.CodeSequenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogBackfillTest {
+
+    @Mock
+    private AuditLogRepository auditRepo;
+
+    @Mock
+    private CodeSequenceRepository sequenceRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("details 문자열을 구조화 컬럼으로 변환")
+    void fill_ParsesLegacyDetails() {
+        AuditLog register = AuditLog.builder().details("game=VALORANT;slot=2025-08-21T20:10").build();
+        AuditLog reset = AuditLog.builder().details("reason=SERVER_RESET;game=LOL;slot=2025-08-21T21:00").build();
+        AuditLog update = AuditLog.builder()
+                .details("fromGame=LOL;fromSlot=2025-08-21T21:00;toGame=PUBG;toSlot=2025-08-21T22:30").build();
+        AuditLog kick = AuditLog.builder().details("targetUserId=42").build();
+        AuditLog admin = AuditLog.builder().details("REVOKE_ADMIN:7").build();
+        AuditLog broken = AuditLog.builder().details("slot=not-a-date").build();
+
+        for (AuditLog a : new AuditLog[]{register, reset, update, kick, admin, broken}) {
+            AuditLogBackfill.fill(a);
+        }
+
+        assertThat(register.getGameName()).isEqualTo("VALORANT");
+        assertThat(register.getSlot()).isEqualTo(LocalDateTime.of(2025, 8, 21, 20, 10));
+        assertThat(reset.getReason()).isEqualTo("SERVER_RESET");
+        assertThat(reset.getGameName()).isEqualTo("LOL");
+        assertThat(update.getGameName()).isEqualTo("PUBG");
+        assertThat(update.getSlot()).isEqualTo(LocalDateTime.of(2025, 8, 21, 22, 30));
+        assertThat(kick.getTargetUserId()).isEqualTo(42L);
+        assertThat(admin.getReason()).isEqualTo("REVOKE_ADMIN");
+        assertThat(admin.getTargetUserId()).isEqualTo(7L);
+        // 파싱할 값이 없으면 NULL 그대로 (빈 게임명이 통계에 섞이지 않도록)
+        assertThat(broken.getSlot()).isNull();
+        assertThat(broken.getGameName()).isNull();
+    }
+
+    @Test
+    @DisplayName("마커 위치부터 변환하고 남은 행이 없으면 완료로 표시")
+    void run_ResumesFromMarkerAndMarksDone() {
+        // given
+        CodeSequence mark = CodeSequence.builder().name(AuditLogBackfill.MARKER).nextValue(10L).build();
+        when(sequenceRepo.findForUpdate(AuditLogBackfill.MARKER)).thenReturn(Optional.of(mark));
+        AuditLog row = AuditLog.builder().id(11L).details("game=LOL;slot=2025-08-21T21:00").build();
+        when(auditRepo.findLegacyDetailRows(eq(10L), any(Pageable.class))).thenReturn(List.of(row));
+        when(auditRepo.findLegacyDetailRows(eq(11L), any(Pageable.class))).thenReturn(List.of());
+
+        // when
+        new AuditLogBackfill(auditRepo, sequenceRepo, transactionManager, true, 500).run();
+
+        // then
+        assertThat(row.getGameName()).isEqualTo("LOL");
+        assertThat(mark.getNextValue()).isEqualTo(AuditLogBackfill.DONE);
+    }
+
+    @Test
+    @DisplayName("완료 마커가 있으면 감사 로그를 스캔하지 않음")
+    void run_SkipsScanWhenDone() {
+        // given
+        CodeSequence mark = CodeSequence.builder()
+                .name(AuditLogBackfill.MARKER).nextValue(AuditLogBackfill.DONE).build();
+        when(sequenceRepo.findForUpdate(AuditLogBackfill.MARKER)).thenReturn(Optional.of(mark));
+
+        // when
+        new AuditLogBackfill(auditRepo, sequenceRepo, transactionManager, true, 500).run();
+
+        // then
+        verify(auditRepo, never()).findLegacyDetailRows(anyLong(), any(Pageable.class));
+    }
+}
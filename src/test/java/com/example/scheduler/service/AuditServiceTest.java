@@ -0,0 +1,64 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.config.JacksonConfig;
+import com.example.scheduler.domain.AuditLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class AuditServiceTest {
+
+    private final AuditWriter auditWriter = mock(AuditWriter.class);
+
+    private AuditService service(String actions, String detailsMax) {
+        return new AuditService(auditWriter, new AuditPolicy(actions, detailsMax, 2000), new JacksonConfig().objectMapper());
+    }
+
+    @Test
+    @DisplayName("SAMPLED: N건 중 1건만 기록하고 나머지는 요약 행 건수로 남김")
+    void sampled_WritesOneInNAndSummarizesRest() {
+        AuditService service = service("PUSH_NOTIFY=SAMPLED:3", "");
+        for (int i = 0; i < 7; i++) service.log(1L, 2L, "PUSH_NOTIFY", "push " + i);
+
+        service.flushSummary();
+
+        List<AuditLog> written = enqueued();
+        assertThat(written).extracting(AuditLog::getDetails)
+                .startsWith("push 0", "push 3", "push 6");
+        AuditLog summary = written.get(written.size() - 1);
+        assertThat(summary.getAction()).isEqualTo(AuditService.SUMMARY_ACTION);
+        assertThat(summary.getDetails()).contains("\"counts\":{\"PUSH_NOTIFY\":4}");
+    }
+
+    @Test
+    @DisplayName("COUNT/OFF 는 기록하지 않고, 멤버십 기록은 설정과 무관하게 기록, details 는 액션별 길이로 절단")
+    void countOffAndProtectedActions() {
+        AuditService service = service("PARTY_JOIN=COUNT,PARTY_LEAVE=OFF,JOIN_SERVER=OFF", "TIMETABLE_UPDATE=5");
+        service.log(1L, 2L, "PARTY_JOIN", "a");
+        service.log(1L, 2L, "PARTY_LEAVE", "b");
+        service.log(1L, 2L, "JOIN_SERVER", "c");
+        service.log(1L, 2L, "TIMETABLE_UPDATE", "0123456789");
+
+        assertThat(enqueued()).extracting(AuditLog::getAction, AuditLog::getDetails)
+                .containsExactly(tuple("JOIN_SERVER", "c"), tuple("TIMETABLE_UPDATE", "01234"));
+
+        service.flushSummary();
+        service.flushSummary();  // 비어 있는 구간은 요약 행을 남기지 않음
+
+        assertThat(enqueued()).filteredOn(a -> AuditService.SUMMARY_ACTION.equals(a.getAction()))
+                .singleElement()
+                .satisfies(a -> assertThat(a.getDetails()).contains("\"counts\":{\"PARTY_JOIN\":1}"));
+    }
+
+    private List<AuditLog> enqueued() {
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditWriter, atLeast(0)).enqueue(captor.capture());
+        return captor.getAllValues();
+    }
+}
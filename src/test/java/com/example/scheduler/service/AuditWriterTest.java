@@ -0,0 +1,105 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.config.JacksonConfig;
+import com.example.scheduler.domain.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuditWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // 워커 스레드는 시작하지 않음: 큐/정책과 종료 시 기록만 확인
+    private AuditWriter writer(AuditWriter.Overflow overflow) {
+        return new AuditWriter(jdbcTemplate, new JacksonConfig().objectMapper(), registry,
+                2, 10, 100, 1000, overflow, dir.resolve("spill.ndjson").toString());
+    }
+
+    @Test
+    @DisplayName("DROP: 큐가 가득 차면 버리고, 종료 시 남은 큐를 배치로 기록")
+    void drop_WhenFull_ThenFlushOnStop() {
+        AuditWriter w = writer(AuditWriter.Overflow.DROP);
+        w.enqueue(entry("A"));
+        w.enqueue(entry("B"));
+        w.enqueue(entry("C"));
+
+        assertThat(registry.counter("audit.writer.dropped").count()).isEqualTo(1);
+        assertThat(registry.get("audit.writer.queue.depth").gauge().value()).isEqualTo(2);
+
+        w.stop();
+
+        assertThat(insertedRows()).extracting(AuditLog::getAction).containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("SPILL: 넘친 기록은 파일에 남기고 다음 기동 때 다시 insert")
+    void spill_WhenFull_ThenReplay() throws Exception {
+        AuditWriter w = writer(AuditWriter.Overflow.SPILL);
+        w.enqueue(entry("A"));
+        w.enqueue(entry("B"));
+        w.enqueue(entry("C"));
+
+        Path spill = dir.resolve("spill.ndjson");
+        assertThat(Files.readAllLines(spill)).hasSize(1);
+        assertThat(registry.counter("audit.writer.spilled").count()).isEqualTo(1);
+
+        writer(AuditWriter.Overflow.SPILL).replaySpill();
+
+        assertThat(insertedRows()).singleElement().satisfies(a -> {
+            assertThat(a.getAction()).isEqualTo("C");
+            assertThat(a.getGameName()).isEqualTo("LOL");
+            assertThat(a.getSlot()).isEqualTo(LocalDateTime.of(2025, 3, 3, 21, 0));
+        });
+        assertThat(Files.exists(spill)).isFalse();
+    }
+
+    @Test
+    @DisplayName("종료 이후 기록은 버리지 않고 호출 스레드에서 바로 insert")
+    void enqueue_AfterStop_WritesSynchronously() {
+        AuditWriter w = writer(AuditWriter.Overflow.DROP);
+        w.stop();
+
+        w.enqueue(entry("A"));
+
+        assertThat(insertedRows()).extracting(AuditLog::getAction).containsExactly("A");
+        assertThat(registry.get("audit.writer.queue.depth").gauge().value()).isZero();
+        assertThat(registry.counter("audit.writer.dropped").count()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<AuditLog> insertedRows() {
+        ArgumentCaptor<Collection<AuditLog>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), any());
+        return rows.getValue();
+    }
+
+    private static AuditLog entry(String action) {
+        return AuditLog.builder()
+                .serverId(1L)
+                .userId(2L)
+                .action(action)
+                .occurredAt(LocalDateTime.of(2025, 3, 3, 20, 0))
+                .gameName("LOL")
+                .slot(LocalDateTime.of(2025, 3, 3, 21, 0))
+                .build();
+    }
+}
@@ -6,6 +6,8 @@ import com.example.scheduler.dto.AuthDto;
 import com.example.scheduler.repository.BlacklistedTokenRepository;
 import com.example.scheduler.repository.UserRepository;
 import com.example.scheduler.security.JwtTokenProvider;
+import com.example.scheduler.security.RevokedTokenRegistry;
+import com.example.scheduler.security.TokenVersionCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +21,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -44,6 +48,12 @@ class AuthServiceTest {
     @Mock
     private BlacklistedTokenRepository blacklistRepo;
 
+    @Mock
+    private RevokedTokenRegistry revokedTokens;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -120,4 +130,74 @@ class AuthServiceTest {
         assertThatThrownBy(() -> authService.logout(null))
                 .isInstanceOf(BadRequestException.class);
     }
+
+    @Test
+    @DisplayName("전체 로그아웃 - 토큰 버전 증가 후 버전 캐시 무효화")
+    void logoutAll_BumpsTokenVersion() {
+        // given
+        User user = User.builder().id(1L).username("testuser").tokenVersion(3).build();
+        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        // when
+        authService.logoutAll("testuser");
+
+        // then
+        assertThat(user.getTokenVersion()).isEqualTo(4);
+        verify(userRepo).save(user);
+        verify(tokenVersionCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("비밀번호 변경 - 새 비밀번호 저장 및 토큰 버전 증가")
+    void changePassword_BumpsTokenVersion() {
+        // given
+        User user = User.builder().id(1L).username("testuser").password("encodedOld").tokenVersion(null).build();
+        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(encoder.matches("oldPassword", "encodedOld")).thenReturn(true);
+        when(encoder.encode("newPassword1")).thenReturn("encodedNew");
+        AuthDto.ChangePasswordRequest req = new AuthDto.ChangePasswordRequest();
+        req.setCurrentPassword("oldPassword");
+        req.setNewPassword("newPassword1");
+
+        // when
+        authService.changePassword("testuser", req);
+
+        // then
+        assertThat(user.getPassword()).isEqualTo("encodedNew");
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(tokenVersionCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("비밀번호 변경 실패 - 현재 비밀번호 불일치 시 버전 유지")
+    void changePassword_WrongCurrentPassword_ThrowsException() {
+        // given
+        User user = User.builder().id(1L).username("testuser").password("encodedOld").tokenVersion(2).build();
+        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(encoder.matches("wrong", "encodedOld")).thenReturn(false);
+        AuthDto.ChangePasswordRequest req = new AuthDto.ChangePasswordRequest();
+        req.setCurrentPassword("wrong");
+        req.setNewPassword("newPassword1");
+
+        // when & then
+        assertThatThrownBy(() -> authService.changePassword("testuser", req))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(user.getTokenVersion()).isEqualTo(2);
+        verify(userRepo, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("관리자 토큰 폐기 - 대상 사용자 토큰 버전 증가")
+    void revokeAllTokens_BumpsTokenVersion() {
+        // given
+        User user = User.builder().id(7L).username("target").tokenVersion(0).build();
+        when(userRepo.findById(7L)).thenReturn(Optional.of(user));
+
+        // when
+        authService.revokeAllTokens(7L);
+
+        // then
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(tokenVersionCache).invalidate(7L);
+    }
 }
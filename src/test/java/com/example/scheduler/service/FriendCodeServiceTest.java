@@ -0,0 +1,111 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.common.util.FeistelPermutation;
+import com.example.scheduler.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class FriendCodeServiceTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CodeSequenceService codeSequenceService;
+
+    private final AtomicInteger probes = new AtomicInteger();
+
+    // 영속 카운터 흉내: start 부터 구간 단위로 예약
+    private FriendCodeService serviceWithCounterAt(long start, Set<String> legacyCodes) {
+        // 한 테스트에서 두 번 구성할 수 있도록 doAnswer 로 재정의
+        AtomicLong counter = new AtomicLong(start);
+        doAnswer(inv -> counter.getAndAdd(inv.<Integer>getArgument(1)))
+                .when(codeSequenceService).allocateBlock(eq(FriendCodeService.SEQUENCE_NAME), anyInt());
+        doAnswer(inv -> {
+            probes.incrementAndGet();
+            return legacyCodes.contains(inv.<String>getArgument(0));
+        }).when(userRepository).existsByFriendCode(anyString());
+        return new FriendCodeService(userRepository, codeSequenceService, "test-secret", BLOCK_SIZE);
+    }
+
+    @Test
+    @DisplayName("순열은 6자리 코드 공간 전체에서 전단사")
+    void permutation_IsBijectiveOverCodeSpace() {
+        FeistelPermutation p = new FeistelPermutation(1000, "test-secret", FriendCodeService.SEQUENCE_NAME);
+        BitSet seen = new BitSet(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            long code = p.permute(i);
+            assertThat(seen.get((int) code)).isFalse();
+            seen.set((int) code);
+            if (i % 9973 == 0) assertThat(p.inverse(code)).isEqualTo(i);
+        }
+        assertThat(seen.cardinality()).isEqualTo(1_000_000);
+    }
+
+    @Test
+    @DisplayName("점유율 98%에서도 코드당 중복 확인 조회는 1회")
+    void generate_OneProbePerCodeAtHighOccupancy() {
+        int n = 20_000;
+        FriendCodeService low = serviceWithCounterAt(0, Set.of());
+        generateDistinct(low, n);
+        int lowProbes = probes.getAndSet(0);
+
+        FriendCodeService high = serviceWithCounterAt(1_000_000 - n, Set.of());
+        generateDistinct(high, n);
+        int highProbes = probes.get();
+
+        assertThat(lowProbes).isEqualTo(n);
+        assertThat(highProbes).isEqualTo(n);
+    }
+
+    @Test
+    @DisplayName("랜덤 방식으로 발급된 기존 코드와 겹치면 다음 값으로 건너뜀")
+    void generate_SkipsLegacyCode() {
+        FeistelPermutation p = new FeistelPermutation(1000, "test-secret", FriendCodeService.SEQUENCE_NAME);
+        String taken = String.format("%06d", p.permute(0));
+        FriendCodeService service = serviceWithCounterAt(0, Set.of(taken));
+
+        String code = service.generateUniqueFriendCode();
+
+        assertThat(code).isNotEqualTo(taken).isEqualTo(String.format("%06d", p.permute(1)));
+        assertThat(probes.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("코드 공간을 모두 쓰면 503")
+    void generate_ThrowsWhenExhausted() {
+        FriendCodeService service = serviceWithCounterAt(999_999, Set.of());
+
+        assertThat(service.generateUniqueFriendCode()).hasSize(6);
+        assertThatThrownBy(service::generateUniqueFriendCode)
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static void generateDistinct(FriendCodeService service, int n) {
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            issued.add(service.generateUniqueFriendCode());
+        }
+        assertThat(issued).hasSize(n);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.config.JacksonConfig;
+import com.example.scheduler.domain.Notification;
+import com.example.scheduler.domain.NotificationType;
+import com.example.scheduler.domain.User;
+import com.example.scheduler.dto.NotificationPayload;
+import com.example.scheduler.repository.FriendNotificationSettingRepository;
+import com.example.scheduler.repository.NotificationRepository;
+import com.example.scheduler.security.CurrentUserProvider;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final PushService pushService = mock(PushService.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final NotificationService service = new NotificationService(
+            notificationRepository, mock(FriendNotificationSettingRepository.class), pushService, auditService,
+            mock(CurrentUserProvider.class), objectMapper);
+
+    @Test
+    @DisplayName("payload 직렬화는 기존 문자열 형식과 같고, kind 로 다시 읽을 수 있음")
+    void payload_SerializesInLegacyShape() throws Exception {
+        NotificationPayload invite = new NotificationPayload.ServerInvite(5L, "서버 \"A\"", "철수");
+
+        String json = objectMapper.writeValueAsString(invite);
+
+        assertThat(json).isEqualTo("{\"kind\":\"server_invite\",\"inviteId\":5,\"serverName\":\"서버 \\\"A\\\"\",\"fromNickname\":\"철수\"}");
+        assertThat(objectMapper.readValue(json, NotificationPayload.class)).isEqualTo(invite);
+        assertThat(objectMapper.writeValueAsString(new NotificationPayload.FriendRequest(7L, "영희")))
+                .isEqualTo("{\"kind\":\"friend_request\",\"requestId\":7,\"fromNickname\":\"영희\"}");
+        // 이름이 없으면 기존처럼 "" 로 저장
+        assertThat(objectMapper.writeValueAsString(new NotificationPayload.Timetable(3L, null, null, null)))
+                .isEqualTo("{\"kind\":\"timetable\",\"serverId\":3,\"serverName\":\"\",\"fromNickname\":\"\",\"gameName\":\"\"}");
+    }
+
+    @Test
+    @DisplayName("payload 렌더링에 실패하면 예외 없이 발송만 생략")
+    void notify_SkipsWhenPayloadRenderingFails() throws Exception {
+        ObjectMapper failing = mock(ObjectMapper.class);
+        when(failing.writeValueAsString(any())).thenThrow(new JsonMappingException(null, "boom"));
+        NotificationService failingService = new NotificationService(
+                notificationRepository, mock(FriendNotificationSettingRepository.class), pushService, auditService,
+                mock(CurrentUserProvider.class), failing);
+        User to = User.builder().id(1L).nickname("a").build();
+
+        failingService.notify(to, NotificationType.TIMETABLE, "스케줄", new NotificationPayload.Timetable(3L, "서버", "철수", "LOL"));
+
+        verifyNoInteractions(notificationRepository, pushService, auditService);
+    }
+
+    @Test
+    @DisplayName("notifyMany: 같은 메시지/푸시 본문/URL 로 팬아웃하고 감사 로그는 1건")
+    @SuppressWarnings("unchecked")
+    void notifyMany_RendersOnceForAllRecipients() {
+        User a = User.builder().id(1L).nickname("a").build();
+        User b = User.builder().id(2L).nickname("b").build();
+        NotificationPayload payload = new NotificationPayload.Party(10L, "서버", "철수", "LOL", 5);
+
+        service.notifyMany(List.of(a, b), NotificationType.PARTY, "파티 모집", payload, null);
+
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(Notification::getMessage).containsOnly(
+                "{\"kind\":\"party\",\"serverId\":10,\"serverName\":\"서버\",\"fromNickname\":\"철수\",\"gameName\":\"LOL\",\"capacity\":5}");
+
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(pushService, times(2)).pushToUser(any(User.class), eq("파티 모집"),
+                eq("철수님이 서버에서 LOL 파티를 모집합니다 (5명)"), data.capture());
+        assertThat(data.getValue()).containsEntry("url", "/server/10?open=party").containsEntry("type", "PARTY");
+        verify(auditService).log(eq(10L), any(), eq("PUSH_NOTIFY"), anyString());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.scheduler.service;
 import com.example.scheduler.domain.*;
 import com.example.scheduler.dto.PartyDto;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -54,6 +55,12 @@ class PartyServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private TimetableSnapshots snapshots;
+
     @InjectMocks
     private PartyService partyService;
 
@@ -68,6 +75,8 @@ class PartyServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(username);
         SecurityContextHolder.setContext(securityContext);
+        when(currentUserProvider.find()).thenAnswer(inv ->
+                userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName()));
     }
 
     @Test
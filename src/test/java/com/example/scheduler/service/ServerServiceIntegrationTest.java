@@ -7,6 +7,8 @@ import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.ServerDto;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.ResetSchedule;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -62,6 +64,21 @@ class ServerServiceIntegrationTest {
     @Mock
     private FavoriteServerRepository favoriteRepo;
 
+    @Mock
+    private ResetSchedule resetSchedule;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private InviteCodeService inviteCodeService;
+
+    @Mock
+    private InviteCodeCache inviteCodeCache;
+
+    @Mock
+    private TimetableSnapshots timetableSnapshots;
+
     @InjectMocks
     private ServerService serverService;
 
@@ -95,6 +112,8 @@ class ServerServiceIntegrationTest {
         SecurityContextHolder.setContext(securityContext);
 
         when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(currentUserProvider.find()).thenAnswer(inv ->
+                userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName()));
     }
 
     @Test
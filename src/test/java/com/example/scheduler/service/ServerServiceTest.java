@@ -6,16 +6,21 @@ import com.example.scheduler.domain.Server;
 import com.example.scheduler.domain.User;
 import com.example.scheduler.dto.ServerDto;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.ResetSchedule;
+import com.example.scheduler.security.CurrentUserProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalTime;
 import java.util.HashSet;
@@ -51,6 +56,21 @@ class ServerServiceTest {
     @Mock
     private ServerInviteRepository inviteRepo;
 
+    @Mock
+    private ResetSchedule resetSchedule;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private InviteCodeService inviteCodeService;
+
+    @Spy
+    private InviteCodeCache inviteCodeCache = new InviteCodeCache(60_000, 100);
+
+    @Mock
+    private TimetableSnapshots timetableSnapshots;
+
     @InjectMocks
     private ServerService serverService;
 
@@ -65,6 +85,8 @@ class ServerServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(username);
         SecurityContextHolder.setContext(securityContext);
+        when(currentUserProvider.find()).thenAnswer(inv ->
+                userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName()));
     }
 
     @Test
@@ -83,6 +105,7 @@ class ServerServiceTest {
         request.setName("New Server");
 
         when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(owner));
+        when(inviteCodeService.generateUniqueInviteCode()).thenReturn("AB12CD");
         when(serverRepo.save(any(Server.class))).thenAnswer(invocation -> {
             Server server = invocation.getArgument(0);
             server.setId(2L);
@@ -95,6 +118,7 @@ class ServerServiceTest {
         // then
         assertThat(response).isNotNull();
         assertThat(response.getName()).isEqualTo("New Server");
+        assertThat(response.getInviteCode()).isEqualTo("AB12CD");
         verify(serverRepo).save(any(Server.class));
     }
 
@@ -118,17 +142,14 @@ class ServerServiceTest {
                 .isInstanceOf(NotFoundException.class);
     }
 
-    @Test
-    @DisplayName("초대 코드로 서버 조회")
-    void lookupByCode_Success() {
-        // given
+    private static Server inviteServer() {
         User owner = User.builder()
                 .id(1L)
                 .username("owner")
                 .nickname("Owner")
                 .build();
 
-        Server server = Server.builder()
+        return Server.builder()
                 .id(1L)
                 .name("Test Server")
                 .owner(owner)
@@ -137,8 +158,13 @@ class ServerServiceTest {
                 .inviteCode("TEST01")
                 .resetTime(LocalTime.of(5, 0))
                 .build();
+    }
 
-        when(serverRepo.findByInviteCode("TEST01")).thenReturn(Optional.of(server));
+    @Test
+    @DisplayName("초대 코드로 서버 조회")
+    void lookupByCode_Success() {
+        // given
+        when(serverRepo.findByInviteCode("TEST01")).thenReturn(Optional.of(inviteServer()));
 
         // when
         ServerDto.Response response = serverService.lookupByCode("TEST01");
@@ -148,6 +174,46 @@ class ServerServiceTest {
         assertThat(response.getName()).isEqualTo("Test Server");
     }
 
+    @Test
+    @DisplayName("초대 코드 조회는 캐시에서 재사용되고, 비우면 다시 조회")
+    void lookupByCode_CachedUntilEvicted() {
+        // given
+        when(serverRepo.findByInviteCode("TEST01")).thenReturn(Optional.of(inviteServer()));
+
+        // when
+        serverService.lookupByCode("TEST01");
+        serverService.lookupByCode("TEST01");
+        inviteCodeCache.evictServer(1L);
+        serverService.lookupByCode("TEST01");
+
+        // then
+        verify(serverRepo, times(2)).findByInviteCode("TEST01");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 비우면 커밋 전까지는 캐시 유지, 커밋 후 비움")
+    void inviteCodeEviction_DeferredUntilCommit() {
+        // given
+        when(serverRepo.findByInviteCode("TEST01")).thenReturn(Optional.of(inviteServer()));
+        serverService.lookupByCode("TEST01");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            inviteCodeCache.evict("TEST01");
+            serverService.lookupByCode("TEST01");
+            verify(serverRepo, times(1)).findByInviteCode("TEST01");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        serverService.lookupByCode("TEST01");
+
+        // then
+        verify(serverRepo, times(2)).findByInviteCode("TEST01");
+    }
+
     @Test
     @DisplayName("초대 코드로 서버 조회 실패 - 서버 없음")
     void lookupByCode_NotFound() {
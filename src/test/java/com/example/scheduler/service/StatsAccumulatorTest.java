@@ -0,0 +1,104 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.dto.StatsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class StatsAccumulatorTest {
+
+    @Test
+    @DisplayName("게임은 건수 내림차순, 동률이면 이름순. 0건 게임은 제외")
+    void topGames_SortedByCountThenName() {
+        StatsAccumulator acc = new StatsAccumulator();
+        acc.addGame("VALORANT", 2L);
+        acc.addGame("LOL", 3L);
+        acc.addGame("APEX", 3L);
+        acc.addGame("PUBG", 0L);
+        acc.addGame("VALORANT", 1L);
+
+        assertThat(acc.topGames()).extracting(StatsDto.NameCount::getName, StatsDto.NameCount::getCount)
+                .containsExactly(tuple("APEX", 3L), tuple("LOL", 3L), tuple("VALORANT", 3L));
+        assertThat(acc.topGame()).isEqualTo("APEX");
+    }
+
+    @Test
+    @DisplayName("시간대 피크/평균 시각, 범위 밖 시간과 null 은 무시")
+    void hours_PeakAndAverage() {
+        StatsAccumulator acc = new StatsAccumulator();
+        acc.addHour(20, 1L, 20 * 60L);
+        acc.addHour(21, 1L, 21 * 60L);
+        acc.addHour(24, 5L, 0L);
+        acc.addHour(null, 5L);
+
+        assertThat(acc.hourTotal()).isEqualTo(2);
+        assertThat(acc.peakHour()).isEqualTo(20);
+        assertThat(acc.peakHourCount()).isEqualTo(1);
+        assertThat(acc.avgMinuteOfDay()).isEqualTo(20 * 60 + 30);
+        assertThat(acc.hourCounts()).hasSize(24);
+    }
+
+    @Test
+    @DisplayName("요일별 평균 시각과 게임 건수")
+    void days_AveragesAndGames() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        StatsAccumulator acc = new StatsAccumulator();
+        acc.addDay(monday, 2L, 2 * 600L);
+        acc.addDay(monday.plusWeeks(1), 2L, 2 * 660L);
+        acc.addDayGame(monday, "LOL", 1L);
+        acc.addDayGame(monday.plusDays(2), "LOL", 2L);
+        // 월요일 배열이 만들어진 뒤에 새 게임이 인터닝되는 경우
+        for (int i = 0; i < 40; i++) acc.addGame("G" + i, 1L);
+        acc.addDayGame(monday, "G39", 4L);
+
+        assertThat(acc.dayAvgs()).hasSize(7);
+        assertThat(acc.dayAvgs().get(0).getAvgMinuteOfDay()).isEqualTo(630);
+        assertThat(acc.dayAvgs().get(0).getSampleCount()).isEqualTo(4);
+        assertThat(acc.dayAvgs().get(1).getSampleCount()).isZero();
+
+        List<StatsDto.DayGames> games = acc.dayGames();
+        assertThat(games.get(0).getItems()).extracting(StatsDto.NameCount::getName).containsExactly("G39", "LOL");
+        assertThat(games.get(1).getItems()).isEmpty();
+        assertThat(games.get(2).getItems()).extracting(StatsDto.NameCount::getCount).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("여러 행을 합산한 결과가 맵 기반 합산과 같음")
+    void aggregate_MatchesMapAggregation() {
+        String[] names = new String[30];
+        for (int i = 0; i < names.length; i++) names[i] = "GAME-" + i;
+        Map<String, Long> expectedGames = new HashMap<>();
+        long[] expectedHours = new long[24];
+
+        StatsAccumulator acc = new StatsAccumulator();
+        for (int d = 0; d < 90; d++) {
+            for (int g = 0; g < names.length; g++) {
+                long cnt = (d * 7L + g) % 5;
+                acc.addGame(names[g], cnt);
+                expectedGames.merge(names[g], cnt, Long::sum);
+            }
+            for (int h = 0; h < 24; h++) {
+                long cnt = (d + h) % 3;
+                acc.addHour(h, cnt);
+                expectedHours[h] += cnt;
+            }
+        }
+
+        Map<String, Long> games = new HashMap<>();
+        acc.topGames().forEach(nc -> games.put(nc.getName(), nc.getCount()));
+        assertThat(games).isEqualTo(expectedGames);
+        assertThat(acc.topGames()).extracting(StatsDto.NameCount::getCount)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(acc.hourCounts()).extracting(StatsDto.HourCount::getCount)
+                .containsExactly(Arrays.stream(expectedHours).boxed().toArray(Long[]::new));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.scheduler.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatsCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatsCache cache = new StatsCache(60_000, 5_000, 100, registry);
+
+    @Test
+    @DisplayName("동시 미스는 한 번만 계산하고 나머지는 결과를 기다림")
+    void get_CoalescesConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = pool.submit(() -> cache.get(1L, "today", "d", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "v1";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> second = pool.submit(() -> cache.get(1L, "today", "d", () -> {
+                loads.incrementAndGet();
+                return "v2";
+            }));
+            // 두 번째 요청이 대기 상태가 될 때까지
+            while (count("coalesced") == 0) Thread.sleep(5);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+            assertThat(loads).hasValue(1);
+            assertThat(cache.get(1L, "today", "d", () -> "v3")).isEqualTo("v1");
+            assertThat(count("hit")).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("서버 무효화 후에는 다시 계산, 다른 서버 항목은 유지")
+    void evictServer_ReloadsOnlyThatServer() {
+        cache.get(1L, "today", "d", () -> "a1");
+        cache.get(2L, "today", "d", () -> "b1");
+
+        cache.evictServer(1L);
+
+        assertThat(cache.get(1L, "today", "d", () -> "a2")).isEqualTo("a2");
+        assertThat(cache.get(2L, "today", "d", () -> "b2")).isEqualTo("b1");
+    }
+
+    @Test
+    @DisplayName("계산 도중 무효화되면 그 결과는 캐시하지 않음")
+    void get_DoesNotStoreResultLoadedBeforeEviction() {
+        String loaded = cache.get(1L, "today", "d", () -> {
+            cache.evictServer(1L);
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get(1L, "today", "d", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("계산이 Error 로 끝나도 기다리던 요청은 같은 예외로 깨어남")
+    void get_WakesWaitersWhenLoaderThrowsError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> cache.<String>get(1L, "today", "d", () -> {
+                started.countDown();
+                await(release);
+                throw new AssertionError("boom");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> second = pool.submit(() -> cache.<String>get(1L, "today", "d", () -> "v2"));
+            while (count("coalesced") == 0) Thread.sleep(5);
+            release.countDown();
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+            assertThat(cache.get(1L, "today", "d", () -> "v3")).isEqualTo("v3");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double count(String result) {
+        return registry.counter("stats.cache.requests", "result", result).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
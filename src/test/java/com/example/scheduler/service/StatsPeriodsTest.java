@@ -0,0 +1,56 @@
+package com.example.scheduler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatsPeriodsTest {
+
+    @Test
+    @DisplayName("7/30/365일 구간의 읽는 버킷 수 비교: 구간이 길어져도 (개월 수 + 경계 일수) 이내")
+    void split_BucketCountStaysFlat() {
+        LocalDate from = LocalDate.of(2025, 1, 15);
+        long week = StatsPeriods.split(from, from.plusDays(6)).bucketCount();
+        long month = StatsPeriods.split(from, from.plusDays(29)).bucketCount();
+        long year = StatsPeriods.split(from, from.plusDays(364)).bucketCount();
+
+        assertThat(week).isEqualTo(7);
+        assertThat(month).isEqualTo(30);
+        // 2025-01-15 ~ 2026-01-14: 1월 17일 + 2~12월 11개 + 1월 14일
+        assertThat(year).isEqualTo(17 + 11 + 14);
+    }
+
+    @Test
+    @DisplayName("월/일 버킷은 구간의 모든 날짜를 겹치지 않게 한 번씩 덮는다")
+    void split_CoversEveryDayOnce() {
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int start = 0; start < 400; start += 13) {
+            for (int len : new int[]{1, 7, 30, 31, 90, 366}) {
+                LocalDate from = base.plusDays(start);
+                LocalDate to = from.plusDays(len - 1);
+                StatsPeriods.Split s = StatsPeriods.split(from, to);
+
+                long covered = days(s.headFrom(), s.headTo()) + days(s.tailFrom(), s.tailTo());
+                for (LocalDate m = s.monthFrom(); !m.isAfter(s.monthTo()); m = m.plusMonths(1)) {
+                    covered += m.lengthOfMonth();
+                }
+                assertThat(covered).as("%s ~ %s", from, to).isEqualTo(len);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("시작이 끝보다 늦으면 빈 구간")
+    void split_Empty() {
+        StatsPeriods.Split s = StatsPeriods.split(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1));
+        assertThat(s.bucketCount()).isZero();
+    }
+
+    private static long days(LocalDate from, LocalDate to) {
+        return from.isAfter(to) ? 0 : ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
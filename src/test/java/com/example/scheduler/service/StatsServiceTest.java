@@ -0,0 +1,174 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.Server;
+import com.example.scheduler.dto.StatsDto;
+import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.StatsPeriodCompactor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private ServerRepository serverRepo;
+
+    @Mock
+    private TimetableEntryRepository entryRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private StatsHourlyGameRepository hourlyGameRepo;
+
+    @Mock
+    private StatsHourlySlotRepository hourlySlotRepo;
+
+    @Mock
+    private StatsUserDayRepository userDayRepo;
+
+    @Mock
+    private StatsPeriodGameRepository periodGameRepo;
+
+    @Mock
+    private StatsPeriodHourRepository periodHourRepo;
+
+    @Mock
+    private StatsPeriodCompactor compactor;
+
+    // TTL 0: 매 호출 계산
+    @Spy
+    private StatsCache statsCache = new StatsCache(0, 0, 100, new SimpleMeterRegistry());
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @Test
+    @DisplayName("주간 집계는 롤업 버킷 합산으로 계산하고 원본 엔트리를 읽지 않음")
+    void aggregate_ReadsRollups() {
+        // given
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(Server.builder().id(1L).build()));
+        when(hourlyGameRepo.sumUserDaysByGame(eq(1L), any(), any()))
+                .thenReturn(List.of(game("VALORANT", 3), game("LOL", 1)));
+        when(userDayRepo.countByEarliestHour(eq(1L), any(), any()))
+                .thenReturn(List.of(hour(20, 2), hour(22, 1)));
+        when(hourlySlotRepo.findFirstBucket(1L)).thenReturn(LocalDateTime.now().minusWeeks(2));
+
+        // when
+        StatsDto.AggregatedResponse res = statsService.aggregate(1L, "weekly", null, null);
+
+        // then
+        assertThat(res.getTopGame()).isEqualTo("VALORANT");
+        assertThat(res.getTopHour()).isEqualTo(20);
+        assertThat(res.getTopHourCount()).isEqualTo(2);
+        assertThat(res.isCollecting()).isFalse();
+        verify(entryRepo, never()).findByServerOrderBySlot(any());
+    }
+
+    @Test
+    @DisplayName("custom 기간은 마감된 날짜를 월/일 버킷에서, 이후 날짜를 시간 롤업에서 읽어 합산")
+    void aggregate_CustomRangeMergesPeriodAndRecentBuckets() {
+        // given: 2025-01-01 ~ 2025-03-10, 3/5 까지 압축 완료
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 10);
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(Server.builder().id(1L).build()));
+        when(compactor.compactedThrough()).thenReturn(LocalDate.of(2025, 3, 5));
+        when(periodGameRepo.sumUserDaysByGame(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1),
+                StatsPeriods.EMPTY_FROM, StatsPeriods.EMPTY_TO,
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)))
+                .thenReturn(List.of(game("LOL", 40), game("VALORANT", 30)));
+        when(periodHourRepo.sumUserDaysByHour(eq(1L), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(hour(21, 50)));
+        when(hourlyGameRepo.sumUserDaysByGame(eq(1L), eq(LocalDate.of(2025, 3, 6).atStartOfDay()), any()))
+                .thenReturn(List.of(game("VALORANT", 15)));
+        when(userDayRepo.countByEarliestHour(1L, LocalDate.of(2025, 3, 6), to))
+                .thenReturn(List.of(hour(21, 5), hour(19, 10)));
+
+        // when
+        StatsDto.AggregatedResponse res = statsService.aggregate(1L, "custom", from, to);
+
+        // then
+        assertThat(res.getRange()).isEqualTo("custom");
+        assertThat(res.getTopGames()).extracting(StatsDto.NameCount::getName, StatsDto.NameCount::getCount)
+                .containsExactly(org.assertj.core.groups.Tuple.tuple("VALORANT", 45L),
+                        org.assertj.core.groups.Tuple.tuple("LOL", 40L));
+        assertThat(res.getTopHour()).isEqualTo(21);
+        assertThat(res.getTopHourCount()).isEqualTo(55);
+        verify(entryRepo, never()).findByServerOrderBySlot(any());
+    }
+
+    @Test
+    @DisplayName("잘못된 기간은 400")
+    void aggregate_InvalidRange() {
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(Server.builder().id(1L).build()));
+
+        assertThatThrownBy(() -> statsService.aggregate(1L, "custom", LocalDate.of(2025, 3, 1), null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> statsService.aggregate(1L, "custom",
+                LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> statsService.aggregate(1L, "yearly", null, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @DisplayName("오늘 평균 시각은 버킷의 분 합계/건수로 계산")
+    void today_AveragesFromBuckets() {
+        // given
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(Server.builder().id(1L).build()));
+        when(hourlyGameRepo.sumRegistrationsByGame(eq(1L), any(), any())).thenReturn(List.of(game("PUBG", 2)));
+        // 20:00, 21:00 두 건 → 평균 20:30
+        when(hourlySlotRepo.sumBySlotHour(eq(1L), any(), any()))
+                .thenReturn(List.of(slotHour(20, 1, 20 * 60), slotHour(21, 1, 21 * 60)));
+
+        // when
+        StatsDto.TodayStatsResponse res = statsService.today(1L);
+
+        // then
+        assertThat(res.getTopGame()).isEqualTo("PUBG");
+        assertThat(res.getAvgMinuteOfDay()).isEqualTo(20 * 60 + 30);
+        assertThat(res.getPeakHour()).isEqualTo(20);
+        assertThat(res.getPeakHourCount()).isEqualTo(1);
+    }
+
+    private static StatsHourlyGameRepository.GameCountRow game(String name, long cnt) {
+        return new StatsHourlyGameRepository.GameCountRow() {
+            public String getGameName() { return name; }
+            public Long getCnt() { return cnt; }
+        };
+    }
+
+    private static StatsUserDayRepository.HourCountRow hour(int h, long cnt) {
+        return new StatsUserDayRepository.HourCountRow() {
+            public Integer getSlotHour() { return h; }
+            public Long getCnt() { return cnt; }
+        };
+    }
+
+    private static StatsHourlySlotRepository.HourCountRow slotHour(int h, long cnt, long minuteSum) {
+        return new StatsHourlySlotRepository.HourCountRow() {
+            public Integer getSlotHour() { return h; }
+            public Long getCnt() { return cnt; }
+            public Long getMinuteSum() { return minuteSum; }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.AuditLog;
+import com.example.scheduler.repository.PartyRepository;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableResetServiceTest {
+
+    @Mock
+    private TimetableEntryRepository entryRepo;
+
+    @Mock
+    private PartyRepository partyRepo;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private TimetableReminderIndex reminderIndex;
+
+    @Mock
+    private TimetableSnapshots snapshots;
+
+    @InjectMocks
+    private TimetableResetService resetService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷은 커밋 이후에 기록하고, 기록 실패는 초기화 결과에 영향 없음")
+    @SuppressWarnings("unchecked")
+    void resetChunk_AuditFailureAfterCommitDoesNotAffectReset() {
+        List<Long> serverIds = List.of(1L);
+        when(entryRepo.findResetRowsByServerIdIn(serverIds)).thenReturn(List.of(row(10L, 1L)));
+        when(entryRepo.deleteAllByServerIdIn(serverIds)).thenReturn(1);
+        when(partyRepo.deleteAllByServerIdIn(serverIds)).thenReturn(2);
+        doThrow(new DataAccessResourceFailureException("db down")).when(auditService).logAll(anyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        TimetableResetService.ChunkResult result = resetService.resetChunk(serverIds);
+
+        // 커밋 전에는 기록하지 않음 (실패가 초기화 트랜잭션을 rollback-only 로 만들 수 없음)
+        verify(auditService, never()).logAll(anyList());
+        assertThat(result).isEqualTo(new TimetableResetService.ChunkResult(1, 1, 2));
+        verify(reminderIndex).unschedule(10L);
+
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        assertThatCode(() -> syncs.forEach(TransactionSynchronization::afterCommit)).doesNotThrowAnyException();
+
+        ArgumentCaptor<List<AuditLog>> logged = ArgumentCaptor.forClass(List.class);
+        verify(auditService).logAll(logged.capture());
+        assertThat(logged.getValue()).extracting(AuditLog::getAction)
+                .containsExactly("TIMETABLE_RESET_DELETE", "PARTY_RESET_DELETE");
+    }
+
+    @Test
+    @DisplayName("롤백되면 스냅샷을 기록하지 않음")
+    void resetChunk_RolledBack_NoSnapshot() {
+        List<Long> serverIds = List.of(1L);
+        when(entryRepo.findResetRowsByServerIdIn(serverIds)).thenReturn(List.of(row(10L, 1L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        resetService.resetChunk(serverIds);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(auditService, never()).logAll(anyList());
+    }
+
+    private static TimetableEntryRepository.ResetRow row(Long entryId, Long serverId) {
+        return new TimetableEntryRepository.ResetRow() {
+            public Long getEntryId() { return entryId; }
+            public Long getServerId() { return serverId; }
+            public Long getUserId() { return 2L; }
+            public LocalDateTime getSlot() { return LocalDateTime.of(2025, 3, 3, 21, 0); }
+            public Long getGameId() { return 3L; }
+            public String getGameName() { return "LOL"; }
+        };
+    }
+}
@@ -3,16 +3,22 @@ package com.example.scheduler.service;
 import com.example.scheduler.domain.*;
 import com.example.scheduler.dto.TimetableDto;
 import com.example.scheduler.repository.*;
+import com.example.scheduler.scheduler.TimetableReminderIndex;
+import com.example.scheduler.security.CurrentUserProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -22,6 +28,7 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +61,23 @@ class TimetableServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private TimetableReminderIndex reminderIndex;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private StatsRollupService statsRollupService;
+
+    @Spy
+    private TimetableStats timetableStats = new TimetableStats(60_000, 100);
+
+    private final StatsCache statsCache = new StatsCache(60_000, 5_000, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private TimetableSnapshots snapshots = new TimetableSnapshots(60_000, 100, timetableStats, statsCache);
+
     @InjectMocks
     private TimetableService timetableService;
 
@@ -68,6 +92,8 @@ class TimetableServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(username);
         SecurityContextHolder.setContext(securityContext);
+        when(currentUserProvider.find()).thenAnswer(inv ->
+                userRepo.findByUsername(SecurityContextHolder.getContext().getAuthentication().getName()));
     }
 
     @Test
@@ -107,6 +133,63 @@ class TimetableServiceTest {
         verify(entryRepo).save(any(TimetableEntry.class));
     }
 
+    @Test
+    @DisplayName("통계 롤업은 등록 트랜잭션이 커밋된 뒤에만 기록")
+    void add_RecordsRollupAfterCommit() {
+        // given
+        setupSecurityContext("testuser");
+
+        User user = User.builder().id(1L).username("testuser").nickname("Test").build();
+        Server server = Server.builder().id(1L).name("Server").members(new HashSet<>(Set.of(user))).build();
+        DefaultGame game = DefaultGame.builder().id(3L).name("VALORANT").build();
+
+        TimetableDto.EntryRequest request = new TimetableDto.EntryRequest();
+        request.setServerId(1L);
+        request.setDefaultGameId(3L);
+        request.setSlot(LocalDateTime.now().plusHours(2));
+
+        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
+        when(partyRepository.existsByServerAndParticipantsContaining(any(), any())).thenReturn(false);
+        when(entryRepo.findByServerAndUser(any(), any())).thenReturn(Optional.empty());
+        when(defaultGameRepo.findById(3L)).thenReturn(Optional.of(game));
+        when(friendshipRepository.findByUser(any())).thenReturn(Collections.emptyList());
+        when(friendshipRepository.findByFriend(any())).thenReturn(Collections.emptyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            timetableService.add(request);
+
+            // then: 커밋 전(롤백될 수 있는 동안)에는 기록하지 않음
+            verify(statsRollupService, never()).recordRegistration(any(), any(), any(), any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(statsRollupService).recordRegistration(eq(1L), eq(1L), eq(3L), eq("VALORANT"), any(), any());
+    }
+
+    @Test
+    @DisplayName("내 스케줄 삭제 후 서버 통계 응답 캐시를 비움")
+    void delete_EvictsStatsCache() {
+        // given
+        setupSecurityContext("testuser");
+        User user = User.builder().id(1L).username("testuser").nickname("Test").build();
+        Server server = Server.builder().id(1L).name("Server").build();
+        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
+        when(entryRepo.findByServerAndUser(server, user)).thenReturn(Optional.empty());
+        assertThat(statsCache.<String>get(1L, "weekly", "today", () -> "stale")).isEqualTo("stale");
+
+        // when
+        timetableService.deleteByServerAndCurrentUser(1L);
+
+        // then
+        assertThat(statsCache.<String>get(1L, "weekly", "today", () -> "fresh")).isEqualTo("fresh");
+    }
+
     @Test
     @DisplayName("스케줄 등록 실패 - 파티 참가 중")
     void add_InParty_ThrowsException() {
@@ -190,7 +273,7 @@ class TimetableServiceTest {
                 .slot(LocalDateTime.now().plusHours(2)).build();
 
         when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
-        when(entryRepo.findByServerOrderBySlot(server)).thenReturn(List.of(entry));
+        when(entryRepo.findByServerAndGameNameOrderBySlot(server, "VALORANT")).thenReturn(List.of(entry));
 
         // when
         List<TimetableDto.EntryResponse> responses = timetableService.list(1L, "VALORANT", false);
@@ -213,10 +296,96 @@ class TimetableServiceTest {
         when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
         when(entryRepo.findByServerOrderBySlot(server)).thenReturn(List.of(entry));
 
-        // when
+        // when: 전체 조회로 스냅샷이 만들어진 뒤의 필터 조회는 메모리에서 처리
+        timetableService.list(1L, null, false);
         List<TimetableDto.EntryResponse> responses = timetableService.list(1L, "LOL", false);
 
         // then
         assertThat(responses).isEmpty();
+        verify(entryRepo, times(1)).findByServerOrderBySlot(server);
+        verify(entryRepo, never()).findByServerAndGameNameOrderBySlot(any(), any());
+    }
+
+    @Test
+    @DisplayName("스냅샷은 등록/삭제를 반영하고, 로드 중 변경이 있으면 설치하지 않음")
+    void snapshot_AppliesChangesAndRejectsStaleLoad() {
+        // given
+        User a = User.builder().id(1L).nickname("A").build();
+        User b = User.builder().id(2L).nickname("B").build();
+        DefaultGame game = DefaultGame.builder().id(1L).name("VALORANT").build();
+        LocalDateTime base = LocalDateTime.now().plusHours(1).withSecond(0).withNano(0);
+        TimetableEntry late = TimetableEntry.builder().id(1L).user(a).defaultGame(game).slot(base.plusHours(2)).build();
+        TimetableEntry early = TimetableEntry.builder().id(2L).user(b).defaultGame(game).slot(base).build();
+
+        long version = snapshots.version(1L);
+        snapshots.install(1L, version, List.of(TimetableSnapshots.EntryView.of(late)));
+
+        // when
+        snapshots.upsert(1L, TimetableSnapshots.EntryView.of(early));
+        List<TimetableDto.EntryResponse> afterAdd = snapshots.get(1L).query(null, false);
+        snapshots.removeUser(1L, 1L);
+        List<TimetableDto.EntryResponse> afterRemove = snapshots.get(1L).query(null, false);
+        snapshots.evict(1L);
+        snapshots.install(1L, version, List.of());
+
+        // then
+        assertThat(afterAdd).extracting(TimetableDto.EntryResponse::getId).containsExactly(2L, 1L);
+        assertThat(afterRemove).extracting(TimetableDto.EntryResponse::getId).containsExactly(2L);
+        assertThat(snapshots.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("빈 서버 통계는 예외 없이 빈 값")
+    void stats_EmptyServer() {
+        // given
+        Server server = Server.builder().id(1L).name("Server").build();
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
+        when(entryRepo.findByServerOrderBySlot(server)).thenReturn(List.of());
+
+        // when
+        TimetableDto.StatsResponse stats = timetableService.stats(1L);
+
+        // then
+        assertThat(stats.getTopGame()).isNull();
+        assertThat(stats.getPeakSlot()).isNull();
+        assertThat(stats.getPeakCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("통계는 한 번만 테이블에서 읽고 이후 등록/삭제는 카운터로 반영")
+    void stats_UpdatedIncrementally() {
+        // given
+        User a = User.builder().id(1L).nickname("A").build();
+        User b = User.builder().id(2L).nickname("B").build();
+        User c = User.builder().id(3L).nickname("C").build();
+        DefaultGame valorant = DefaultGame.builder().id(1L).name("VALORANT").build();
+        DefaultGame lol = DefaultGame.builder().id(2L).name("LOL").build();
+        LocalDateTime base = LocalDateTime.now().withHour(20).withMinute(0).withSecond(0).withNano(0);
+        Server server = Server.builder().id(1L).name("Server").build();
+        TimetableEntry e1 = TimetableEntry.builder().id(1L).user(a).defaultGame(valorant).slot(base).build();
+        TimetableEntry e2 = TimetableEntry.builder().id(2L).user(b).defaultGame(lol).slot(base.plusHours(2)).build();
+
+        when(serverRepo.findById(1L)).thenReturn(Optional.of(server));
+        when(entryRepo.findByServerOrderBySlot(server)).thenReturn(List.of(e1, e2));
+
+        // when
+        TimetableDto.StatsResponse initial = timetableService.stats(1L);
+        snapshots.upsert(1L, TimetableSnapshots.EntryView.of(
+                TimetableEntry.builder().id(3L).user(c).defaultGame(lol).slot(base.plusHours(2)).build()));
+        TimetableDto.StatsResponse afterAdd = timetableService.stats(1L);
+        snapshots.removeUser(1L, 2L);
+        snapshots.removeUser(1L, 3L);
+        TimetableDto.StatsResponse afterRemove = timetableService.stats(1L);
+
+        // then
+        assertThat(initial.getTopGame()).isEqualTo("LOL"); // 동률이면 이름순
+        assertThat(initial.getAvgSlot().getHour()).isEqualTo(21);
+        assertThat(afterAdd.getTopGame()).isEqualTo("LOL");
+        assertThat(afterAdd.getPeakSlot()).isEqualTo(base.plusHours(2));
+        assertThat(afterAdd.getPeakCount()).isEqualTo(2);
+        assertThat(afterRemove.getTopGame()).isEqualTo("VALORANT");
+        assertThat(afterRemove.getPeakSlot()).isEqualTo(base);
+        assertThat(afterRemove.getPeakCount()).isEqualTo(1);
+        verify(entryRepo, times(1)).findByServerOrderBySlot(server);
     }
 }
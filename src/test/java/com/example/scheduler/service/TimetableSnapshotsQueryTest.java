@@ -0,0 +1,95 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.CustomGame;
+import com.example.scheduler.domain.DefaultGame;
+import com.example.scheduler.domain.Server;
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.domain.User;
+import com.example.scheduler.dto.TimetableDto;
+import com.example.scheduler.repository.TimetableEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 메모리 스냅샷(웜)과 SQL 폴백(콜드)이 같은 필터/정렬 결과를 내는지 확인 */
+@DataJpaTest
+class TimetableSnapshotsQueryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TimetableEntryRepository entryRepo;
+
+    private Server server;
+    private TimetableSnapshots.Snapshot warm;
+
+    @BeforeEach
+    void setUp() {
+        User owner = em.persist(User.builder().username("owner").nickname("Owner").build());
+        server = em.persist(Server.builder()
+                .name("Test Server").owner(owner).inviteCode("SNAP01").resetTime(LocalTime.of(5, 0)).build());
+        DefaultGame lol = em.persist(DefaultGame.builder().name("LOL").build());
+        DefaultGame korean = em.persist(DefaultGame.builder().name("배그").build());
+        CustomGame apex = em.persist(CustomGame.builder().name("Apex").server(server).build());
+
+        LocalDateTime base = LocalDateTime.of(2025, 3, 3, 20, 0);
+        String[] names = {"a1", "a2", "a3", "a4", "a5", "a6"};
+        Object[] games = {lol, null, apex, korean, null, lol};
+        for (int i = 0; i < names.length; i++) {
+            User u = em.persist(User.builder().username("user_" + names[i]).nickname(names[i]).build());
+            TimetableEntry.TimetableEntryBuilder b = TimetableEntry.builder()
+                    .server(server).user(u).slot(base.plusMinutes(30L * (names.length - i)));
+            if (games[i] instanceof DefaultGame g) b.defaultGame(g);
+            if (games[i] instanceof CustomGame g) b.customGame(g);
+            em.persist(b.build());
+        }
+        em.flush();
+        em.clear();
+
+        TimetableSnapshots snapshots = new TimetableSnapshots(60_000, 100, new TimetableStats(60_000, 100),
+                new StatsCache(60_000, 5_000, 100, new SimpleMeterRegistry()));
+        List<TimetableSnapshots.EntryView> views = entryRepo.findByServerOrderBySlot(server).stream()
+                .map(TimetableSnapshots.EntryView::of)
+                .toList();
+        warm = snapshots.install(server.getId(), snapshots.version(server.getId()), views);
+    }
+
+    private static List<String> keys(List<TimetableDto.EntryResponse> rows) {
+        return rows.stream().map(r -> r.getId() + ":" + r.getGameName()).toList();
+    }
+
+    private static List<TimetableDto.EntryResponse> cold(List<TimetableEntry> entries) {
+        return entries.stream().map(e -> TimetableSnapshots.EntryView.of(e).toResponse()).toList();
+    }
+
+    @Test
+    @DisplayName("게임명 정렬: 미정 엔트리도 같은 위치에 정렬")
+    void sortByGame_WarmMatchesCold() {
+        List<TimetableDto.EntryResponse> sql = cold(entryRepo.findByServerOrderByGameName(server));
+
+        assertThat(keys(warm.query(null, true))).containsExactlyElementsOf(keys(sql));
+        assertThat(sql).extracting(TimetableDto.EntryResponse::getGameName)
+                .containsExactly("Apex", "LOL", "LOL", "미정", "미정", "배그");
+    }
+
+    @Test
+    @DisplayName("게임명 필터: 미정으로 필터하면 게임 미지정 엔트리만")
+    void filterByGame_WarmMatchesCold() {
+        for (String gameName : List.of(TimetableEntry.NO_GAME_NAME, "LOL", "Apex", "배그", "없는게임")) {
+            List<TimetableDto.EntryResponse> sql = cold(entryRepo.findByServerAndGameNameOrderBySlot(server, gameName));
+            assertThat(keys(warm.query(gameName, false))).as(gameName).containsExactlyElementsOf(keys(sql));
+        }
+        assertThat(warm.query(TimetableEntry.NO_GAME_NAME, false)).hasSize(2);
+    }
+}
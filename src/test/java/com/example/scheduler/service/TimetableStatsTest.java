@@ -0,0 +1,55 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.domain.DefaultGame;
+import com.example.scheduler.domain.TimetableEntry;
+import com.example.scheduler.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableStatsTest {
+
+    private static final List<TimetableSnapshots.EntryView> VIEWS = List.of(TimetableSnapshots.EntryView.of(
+            TimetableEntry.builder().id(1L)
+                    .user(User.builder().id(1L).nickname("A").build())
+                    .defaultGame(DefaultGame.builder().id(1L).name("LOL").build())
+                    .slot(LocalDateTime.of(2025, 3, 3, 21, 0))
+                    .build()));
+
+    @Test
+    @DisplayName("TTL 안에서는 카운터를 그대로 읽음")
+    void get_WithinTtl() {
+        TimetableStats stats = new TimetableStats(60_000, 10);
+        stats.install(1L, stats.version(1L), VIEWS);
+
+        assertThat(stats.get(1L).getTopGame()).isEqualTo("LOL");
+        assertThat(stats.loadedServers()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 다시 읽도록 null, 점검 대상에서도 제외")
+    void get_ExpiredAfterTtl() {
+        TimetableStats stats = new TimetableStats(-1, 10);
+        stats.install(1L, stats.version(1L), VIEWS);
+
+        assertThat(stats.get(1L)).isNull();
+        assertThat(stats.loadedServers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상한을 넘으면 가장 오래 조회되지 않은 서버만 제거")
+    void install_EvictsLeastRecentlyUsedServer() {
+        TimetableStats stats = new TimetableStats(60_000, 2);
+        stats.install(1L, 0, VIEWS);
+        stats.install(2L, 0, VIEWS);
+        stats.get(1L);
+
+        stats.install(3L, 0, VIEWS);
+
+        assertThat(stats.loadedServers()).containsExactlyInAnyOrder(1L, 3L);
+    }
+}